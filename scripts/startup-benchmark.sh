@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request (process start until GET /questions answers 200)
+# for the plain jar and for the fast-start build (Spring AOT + CDS archive).
+#
+#   mvn -Pfast-start package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Both modes use the database configured in application.properties.
+# Environment: PORT (default 8080), JAVA (default java), JAVA_OPTS (extra JVM flags for both modes).
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+JAVA=${JAVA:-java}
+JAVA_OPTS=${JAVA_OPTS:-}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+JAR=$(ls "$ROOT"/target/feud-server-*.jar | grep -v original | head -1)
+FAST_DIR="$ROOT/target/fast-start"
+FAST_JAR="$FAST_DIR/$(basename "$JAR")"
+
+if [[ ! -f "$FAST_JAR" || ! -f "$FAST_DIR/application.jsa" ]]; then
+    echo "Fast-start build not found; run: mvn -Pfast-start package" >&2
+    exit 1
+fi
+
+# Prints milliseconds from launch until the first successful request
+measure() {
+    local dir=$1; shift
+    local start end pid
+    start=$(date +%s%N)
+    (cd "$dir" && exec "$JAVA" $JAVA_OPTS "$@" --server.port="$PORT" >/dev/null 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/questions"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before serving a request" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+run_mode() {
+    local name=$1; shift
+    local times=()
+    for ((i = 1; i <= RUNS; i++)); do
+        times+=("$(measure "$@")")
+    done
+    printf '%-12s median %6s ms   runs: %s\n' "$name" "$(printf '%s\n' "${times[@]}" | median)" "${times[*]}"
+}
+
+run_mode baseline "$ROOT" -jar "$JAR"
+run_mode fast-start "$FAST_DIR" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$(basename "$FAST_JAR")"
@@ -0,0 +1,50 @@
+package com.feud.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write routing, enabled by setting feud.datasource.replica.url.
+ * The primary pool is configured by the usual spring.datasource.* properties and the replica pool
+ * by feud.datasource.replica.* (url, username, password and hikari.*).
+ * Read-only service reads marked with {@link ReplicaStalenessGuard#readYourWrites} go to the replica.
+ */
+@Configuration
+@ConditionalOnProperty("feud.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean(autowireCandidate = false)
+    public HikariDataSource primaryPool(Environment environment) {
+        return pool(Binder.get(environment), "spring.datasource", "feud-primary");
+    }
+
+    @Bean(autowireCandidate = false)
+    public HikariDataSource replicaPool(Environment environment) {
+        return pool(Binder.get(environment), "feud.datasource.replica", "feud-replica");
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(Environment environment) {
+        return ReadWriteRoutingDataSource.create(primaryPool(environment), replicaPool(environment));
+    }
+
+    private static HikariDataSource pool(Binder binder, String prefix, String poolName) {
+        DataSourceProperties properties = binder.bind(prefix, DataSourceProperties.class)
+            .orElseGet(DataSourceProperties::new);
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(prefix + ".hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
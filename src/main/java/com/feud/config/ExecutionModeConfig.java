@@ -0,0 +1,42 @@
+package com.feud.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Execution mode switch. With spring.threads.virtual.enabled=true Spring Boot already runs Tomcat
+ * request handling on virtual threads; this also moves background work (synonym sync) and the
+ * STOMP client channels (see {@link WebSocketConfig}) onto them. Otherwise bounded platform pools are used.
+ */
+@Configuration
+public class ExecutionModeConfig {
+    public static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    /**
+     * Executor for blocking background I/O. In virtual mode the concurrency limit bounds the
+     * number of in-flight calls (callers block when it is reached), not the number of threads.
+     */
+    @Bean
+    public TaskExecutor backgroundExecutor(@Value("${" + VIRTUAL_THREADS_PROPERTY + ":false}") boolean virtualThreads,
+                                           @Value("${feud.threads.background-concurrency:8}") int concurrency) {
+        if (virtualThreads) {
+            return virtualExecutor("background-", concurrency);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("background-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        return executor;
+    }
+
+    static SimpleAsyncTaskExecutor virtualExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        if (concurrencyLimit > 0) executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+}
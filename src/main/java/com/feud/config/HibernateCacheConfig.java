@@ -0,0 +1,35 @@
+package com.feud.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Enables the Hibernate second-level and query caches backed by Caffeine (JCache).
+ * Region sizes and TTLs live in application.conf; explicit spring.jpa.properties win over these defaults.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(@Value("${feud.cache.enabled:true}") boolean enabled) {
+        return properties -> {
+            if (!enabled) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.putIfAbsent(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.putIfAbsent("hibernate.javax.cache.provider", CaffeineCachingProvider.class.getName());
+            properties.putIfAbsent("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, true);
+            // Statistics are for the cache report; don't log metrics for every session
+            properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+}
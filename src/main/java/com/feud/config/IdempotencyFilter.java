@@ -0,0 +1,262 @@
+package com.feud.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.feud.service.GameClosedEvent;
+import com.feud.util.IdempotencyStore;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Makes POSTs under /games safe to retry: a request carrying an Idempotency-Key header runs once,
+ * and repeating it (same key, method, URI and body) returns the stored status and body with
+ * Idempotent-Replayed: true instead of running it again; the same key with a different request
+ * gets 422. A repeat arriving while the first one still runs waits for its response. Keys are
+ * kept per game code, bounded by feud.idempotency.max-keys-per-game, expiring after
+ * feud.idempotency.ttl-seconds and dropped when the game ends or is deleted ({@link GameClosedEvent}).
+ * Failed requests (5xx or an exception) are not stored, so their retries run again.
+ */
+@Component
+@Order(IdempotencyFilter.ORDER)
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final int ORDER = 0;
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String GAMES_PREFIX = "/games";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final boolean enabled;
+    private final IdempotencyStore store;
+    private final long waitMillis;
+
+    public IdempotencyFilter(@Value("${feud.idempotency.enabled:true}") boolean enabled,
+                             @Value("${feud.idempotency.max-keys-per-game:256}") int maxKeysPerGame,
+                             @Value("${feud.idempotency.max-games:10000}") int maxGames,
+                             @Value("${feud.idempotency.ttl-seconds:600}") long ttlSeconds,
+                             @Value("${feud.idempotency.wait-ms:5000}") long waitMillis) {
+        this.enabled = enabled;
+        this.store = new IdempotencyStore(maxKeysPerGame, maxGames, TimeUnit.SECONDS.toNanos(ttlSeconds));
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || request.getHeader(KEY_HEADER) == null
+                || !isGamePath(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), KEY_HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String path = path(request);
+        String scope = scope(path);
+        byte[] body = body(request);
+        if (!isForm(request)) request = new CachedBodyRequest(request, body);
+        String fingerprint = request.getMethod() + " " + path + (request.getQueryString() != null ? "?" + request.getQueryString() : "")
+                + " " + sha256(body);
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(scope, key, fingerprint, System.nanoTime());
+            if (claim.mismatch()) {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), KEY_HEADER + " was already used for another request");
+                return;
+            }
+            if (claim.owner()) {
+                execute(request, response, chain, scope, claim.entry());
+                return;
+            }
+            IdempotencyStore.Response stored;
+            try {
+                stored = claim.entry().response().get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + KEY_HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for an idempotent request", e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            // null: the first request failed and released the key, so claim it again
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String scope, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException | Error e) {
+            store.abandon(scope, entry);
+            throw e;
+        }
+        int status = wrapper.getStatus();
+        if (status < 500) {
+            store.complete(entry, new IdempotencyStore.Response(status, wrapper.getContentType(), wrapper.getContentAsByteArray()));
+        } else {
+            store.abandon(scope, entry);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Drops the stored responses of a game once it has ended or was deleted.
+     */
+    @EventListener
+    public void evict(GameClosedEvent event) {
+        store.evict(event.code());
+    }
+
+    /**
+     * After every game was deleted at once.
+     */
+    public void evictAll() {
+        store.clear();
+    }
+
+    /**
+     * The request body as the handler will see it. Form parameters are read through the
+     * parameter map, which the container parses from the body, so their body stays unread.
+     */
+    private static byte[] body(HttpServletRequest request) throws IOException {
+        if (!isForm(request)) return request.getInputStream().readAllBytes();
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            form.append(param.getKey()).append('=').append(String.join(",", param.getValue())).append('&');
+        }
+        return form.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void replay(IdempotencyStore.Response stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) response.setContentType(stored.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static boolean isGamePath(String path) {
+        return path.equals(GAMES_PREFIX) || path.startsWith(GAMES_PREFIX + "/");
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Serves a body that was already read, so the handler can read it again.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is in memory already: it is all available at once, then all read.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) listener.onDataAvailable();
+                        if (isFinished()) listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+
+    /**
+     * The game code for /games/{code}/..., otherwise the path itself (e.g. game creation).
+     */
+    static String scope(String path) {
+        int start = GAMES_PREFIX.length() + 1;
+        if (path.length() <= start) return path;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+}
@@ -0,0 +1,74 @@
+package com.feud.config;
+
+import java.util.Locale;
+import java.util.Set;
+
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.spi.SchemaFilter;
+import org.hibernate.tool.schema.spi.SchemaFilterProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With feud.partitioning.enabled=true the game tables belong to db/partitioned-games.sql: Hibernate's
+ * schema tooling (ddl-auto) leaves them alone, as if ddl-auto were none for them, instead of trying
+ * to add the unique keys, primary keys and foreign keys a partitioned table cannot have. The other
+ * tables are still managed by ddl-auto.
+ */
+@Configuration
+@ConditionalOnProperty(name = "feud.partitioning.enabled", havingValue = "true")
+public class PartitionedSchemaConfig {
+    static final Set<String> PARTITIONED_TABLES = Set.of("game", "player", "game_revealed_answer_ids");
+
+    @Bean
+    public HibernatePropertiesCustomizer partitionedSchemaCustomizer() {
+        return properties -> properties.put(AvailableSettings.HBM2DDL_FILTER_PROVIDER, new PartitionedTablesFilter());
+    }
+
+    static final class PartitionedTablesFilter implements SchemaFilterProvider, SchemaFilter {
+        @Override
+        public boolean includeNamespace(Namespace namespace) {
+            return true;
+        }
+
+        @Override
+        public boolean includeTable(Table table) {
+            return !PARTITIONED_TABLES.contains(table.getName().toLowerCase(Locale.ROOT));
+        }
+
+        @Override
+        public boolean includeSequence(Sequence sequence) {
+            return true;
+        }
+
+        @Override
+        public SchemaFilter getCreateFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getDropFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getTruncatorFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getMigrateFilter() {
+            return this;
+        }
+
+        @Override
+        public SchemaFilter getValidateFilter() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.feud.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.feud.util.RateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Per-player and per-game rate limits on the game action endpoints. Each endpoint is configured under
+ * feud.ratelimit.endpoints.{name} (path, player-rate, player-burst, game-rate, game-burst); the
+ * defaults below cover guess and steal. feud.ratelimit.enabled=false turns it off.
+ */
+@Configuration
+public class RateLimitConfig {
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RateLimitConfig(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The limits run ahead of {@link IdempotencyFilter}: a throttled request never has its body
+     * buffered and hashed.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter() {
+        Binder binder = Binder.get(environment);
+        int maxKeys = binder.bind("feud.ratelimit.max-keys", Integer.class).orElse(100_000);
+        MeterRegistry registryForMetrics = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(endpoints(binder), new RateLimiter(maxKeys), registryForMetrics));
+        registration.setOrder(IdempotencyFilter.ORDER - 1);
+        registration.setEnabled(binder.bind("feud.ratelimit.enabled", Boolean.class).orElse(true));
+        return registration;
+    }
+
+    static Map<String, Endpoint> endpoints(Binder binder) {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        endpoints.put("guess", new Endpoint("/games/*/guess", 2, 5, 20, 40));
+        endpoints.put("steal", new Endpoint("/games/*/steal", 1, 3, 5, 10));
+        Map<String, Endpoint> configured = binder.bind("feud.ratelimit.endpoints",
+                Bindable.mapOf(String.class, Endpoint.class)).orElse(Map.of());
+        for (String name : configured.keySet()) {
+            // Bind onto the defaults so a property overrides only the fields it sets
+            Endpoint endpoint = endpoints.getOrDefault(name, new Endpoint());
+            binder.bind("feud.ratelimit.endpoints." + name, Bindable.ofInstance(endpoint));
+            endpoints.put(name, endpoint);
+        }
+        endpoints.values().removeIf(e -> e.getPath() == null);
+        return endpoints;
+    }
+
+    /**
+     * Limits of one endpoint. Rates are requests per second, bursts the requests admitted at once.
+     * A rate of 0 disables that key.
+     */
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private String path;
+        private double playerRate;
+        private int playerBurst;
+        private double gameRate;
+        private int gameBurst;
+
+        public Endpoint() {
+        }
+
+        public Endpoint(String path, double playerRate, int playerBurst, double gameRate, int gameBurst) {
+            this.path = path;
+            this.playerRate = playerRate;
+            this.playerBurst = playerBurst;
+            this.gameRate = gameRate;
+            this.gameBurst = gameBurst;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.feud.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.feud.util.RateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects requests over the endpoint's per-player or per-game rate with 429 and Retry-After. Runs
+ * as a servlet filter ordered ahead of {@link IdempotencyFilter}, so a throttled request is not
+ * buffered or hashed, let alone handled. A player is keyed on the client address the server sees:
+ * a client-sent id could be changed on every request. A game is keyed on the code in the path.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final PathPattern GAME_PATH = PathPatternParser.defaultInstance.parse("/games/{code}/**");
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final RateLimiter limiter;
+
+    public RateLimitFilter(Map<String, RateLimitConfig.Endpoint> endpoints, RateLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        for (Map.Entry<String, RateLimitConfig.Endpoint> endpoint : endpoints.entrySet()) {
+            String name = endpoint.getKey();
+            rules.add(new Rule(name, PathPatternParser.defaultInstance.parse(endpoint.getValue().getPath()), endpoint.getValue(),
+                    throttledCounter(meterRegistry, name, "player"), throttledCounter(meterRegistry, name, "game")));
+        }
+    }
+
+    private record Rule(String name, PathPattern pattern, RateLimitConfig.Endpoint limits, Counter playerThrottled, Counter gameThrottled) {}
+
+    private static Counter throttledCounter(MeterRegistry registry, String endpoint, String scope) {
+        return Counter.builder("feud.ratelimit.throttled")
+                .description("Requests rejected with 429 by the action rate limits")
+                .tag("endpoint", endpoint)
+                .tag("scope", scope)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        List<RateLimiter.Bucket> buckets = new ArrayList<>(2);
+        List<Counter> counters = new ArrayList<>(2);
+        String code = null;
+        for (Rule rule : rules) {
+            if (!rule.pattern().matches(path)) continue;
+            RateLimitConfig.Endpoint limits = rule.limits();
+            if (limits.getPlayerRate() > 0) {
+                buckets.add(new RateLimiter.Bucket(rule.name() + "|p|" + request.getRemoteAddr(), limits.getPlayerRate(), limits.getPlayerBurst()));
+                counters.add(rule.playerThrottled());
+            }
+            if (code == null) code = gameCode(path);
+            if (code != null && limits.getGameRate() > 0) {
+                buckets.add(new RateLimiter.Bucket(rule.name() + "|g|" + code, limits.getGameRate(), limits.getGameBurst()));
+                counters.add(rule.gameThrottled());
+            }
+        }
+        // A request rejected by one bucket is not charged to the others
+        RateLimiter.Rejection rejection = buckets.isEmpty() ? null : limiter.tryAcquireAll(buckets, System.nanoTime());
+        if (rejection != null) {
+            reject(response, rejection.waitNanos(), counters.get(rejection.bucket()));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String gameCode(PathContainer path) {
+        PathPattern.PathMatchInfo match = GAME_PATH.matchAndExtract(path);
+        return match != null ? match.getUriVariables().get("code") : null;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos, Counter counter) {
+        counter.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+    }
+}
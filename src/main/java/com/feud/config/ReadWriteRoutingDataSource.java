@@ -0,0 +1,38 @@
+package com.feud.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of the reads marked by {@link ReplicaStalenessGuard#readYourWrites} that run in a
+ * read-only transaction to the replica pool, and everything else to the primary.
+ * The decision is made when a statement first needs a connection, so it must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy} (see {@link #create(DataSource, DataSource)}); otherwise the
+ * connection is fetched before the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    enum Route { PRIMARY, REPLICA }
+
+    private ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static DataSource create(DataSource primary, DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && ReplicaStalenessGuard.isReplicaRead()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,62 @@
+package com.feud.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-your-writes guard for replica routing, and the marker of the reads that may use the replica.
+ * Only a read-only transaction running {@link #readYourWrites} is routed to the replica; every other
+ * read (including the read-only defaults of Spring Data repository methods called from write flows)
+ * stays on the primary. Mutations record the game code; reads of a game written within the replica
+ * lag window are not marked, so they go to the primary. Without a configured replica the marker has
+ * no effect, since every connection already comes from the primary.
+ */
+@Component
+public class ReplicaStalenessGuard {
+    private static final int CLEANUP_THRESHOLD = 10_000;
+    private static final ThreadLocal<Integer> REPLICA_READS = ThreadLocal.withInitial(() -> 0);
+
+    private final long maxLagNanos;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReplicaStalenessGuard(@Value("${feud.datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+    }
+
+    public void recordWrite(String code) {
+        if (code == null) return;
+        long now = System.nanoTime();
+        lastWriteNanos.put(code, now);
+        if (lastWriteNanos.size() > CLEANUP_THRESHOLD) {
+            lastWriteNanos.values().removeIf(at -> now - at > maxLagNanos);
+        }
+    }
+
+    public boolean recentlyWritten(String code) {
+        Long at = code == null ? null : lastWriteNanos.get(code);
+        return at != null && System.nanoTime() - at <= maxLagNanos;
+    }
+
+    /**
+     * Runs a read of the game that may be served by the replica (when it runs in a read-only
+     * transaction), or by the primary if the game was written within the lag window.
+     */
+    public <T> T readYourWrites(String code, Supplier<T> read) {
+        if (recentlyWritten(code)) return read.get();
+        REPLICA_READS.set(REPLICA_READS.get() + 1);
+        try {
+            return read.get();
+        } finally {
+            REPLICA_READS.set(REPLICA_READS.get() - 1);
+        }
+    }
+
+    static boolean isReplicaRead() {
+        return REPLICA_READS.get() > 0;
+    }
+}
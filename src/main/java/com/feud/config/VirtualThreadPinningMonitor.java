@@ -0,0 +1,136 @@
+package com.feud.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Detects virtual threads pinned to their carrier (blocking inside synchronized or native frames,
+ * e.g. in a JDBC driver) through the JFR jdk.VirtualThreadPinned event. Each pinning site is logged
+ * once, counted in the feud.virtual.pinned metrics and listed by the /actuator/pinning endpoint.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = ExecutionModeConfig.VIRTUAL_THREADS_PROPERTY, havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 256;
+    private static final int REPORTED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private final Timer pinnedTimer;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${feud.threads.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.pinnedCounter = Counter.builder("feud.virtual.pinned")
+                .description("Virtual thread pinning events above the threshold")
+                .register(meterRegistry);
+        this.pinnedTimer = Timer.builder("feud.virtual.pinned.duration")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    void record(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        List<String> frames = frames(event.getStackTrace());
+        String key = frames.isEmpty() ? "<unknown>" : String.join(" <- ", frames.subList(0, Math.min(3, frames.size())));
+        pinnedCounter.increment();
+        pinnedTimer.record(duration);
+        Site site = sites.get(key);
+        if (site == null) {
+            if (sites.size() >= MAX_SITES) return;
+            Site added = new Site(frames);
+            site = sites.putIfAbsent(key, added);
+            if (site == null) {
+                site = added;
+                log.warn("Virtual thread pinned for {} ms at:\n  {}", duration.toMillis(), String.join("\n  ", frames));
+            }
+        }
+        site.count.increment();
+        site.maxNanos.accumulateAndGet(duration.toNanos(), Math::max);
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        List<String> frames = new ArrayList<>();
+        if (stackTrace == null) return frames;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) continue;
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber());
+            if (frames.size() == REPORTED_FRAMES) break;
+        }
+        return frames;
+    }
+
+    /**
+     * Pinning sites seen so far, most frequent first.
+     */
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<Map<String, Object>> siteReports = new ArrayList<>();
+        sites.values().stream()
+                .sorted((a, b) -> Long.compare(b.count.sum(), a.count.sum()))
+                .forEach(site -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("count", site.count.sum());
+                    entry.put("maxMillis", site.maxNanos.get() / 1_000_000.0);
+                    entry.put("stack", site.frames);
+                    siteReports.add(entry);
+                });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdMillis", threshold.toMillis());
+        report.put("events", (long) pinnedCounter.count());
+        report.put("sites", siteReports);
+        return report;
+    }
+
+    private static final class Site {
+        final List<String> frames;
+        final LongAdder count = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        Site(List<String> frames) {
+            this.frames = List.copyOf(frames);
+        }
+    }
+}
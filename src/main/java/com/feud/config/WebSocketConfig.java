@@ -1,6 +1,8 @@
 package com.feud.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -9,14 +11,33 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final boolean virtualThreads;
+
+    public WebSocketConfig(@Value("${" + ExecutionModeConfig.VIRTUAL_THREADS_PROPERTY + ":false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
         config.setApplicationDestinationPrefixes("/app");
+        // Virtual-thread channels dispatch every message on its own thread; keep per-session order
+        if (virtualThreads) config.setPreservePublishOrder(true);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
+        if (virtualThreads) registry.setPreserveReceiveOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) registration.executor(ExecutionModeConfig.virtualExecutor("stomp-inbound-", 0));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) registration.executor(ExecutionModeConfig.virtualExecutor("stomp-outbound-", 0));
     }
 }
@@ -1,9 +1,12 @@
 package com.feud.controller;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +15,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.feud.config.IdempotencyFilter;
 import com.feud.model.Answer;
+import com.feud.model.Difficulty;
 import com.feud.model.Game;
 import com.feud.model.Player;
 import com.feud.model.Question;
@@ -23,6 +30,15 @@ import com.feud.repository.GameRepository;
 import com.feud.repository.PlayerRepository;
 import com.feud.repository.QuestionRepository;
 import com.feud.repository.SynonymDictionaryRepository;
+import com.feud.service.AnswerCheckerService;
+import com.feud.service.EntityCacheService;
+import com.feud.service.GameService;
+import com.feud.service.GameTelemetry;
+import com.feud.service.GuessLog;
+import com.feud.service.GuessLogAggregator;
+import com.feud.service.QuestionCatalog;
+import com.feud.service.LobbyRoster;
+import com.feud.service.QuestionPoolIndex;
 import com.feud.service.SynonymService;
 
 @RestController
@@ -34,33 +50,63 @@ public class AdminController {
     private final QuestionRepository questionRepository;
     private final SynonymService synonymService;
     private final SynonymDictionaryRepository synonymDictionaryRepository;
-
-    public AdminController(GameRepository gameRepository, PlayerRepository playerRepository, QuestionRepository questionRepository, SynonymService synonymService, SynonymDictionaryRepository synonymDictionaryRepository) {
+    private final AnswerCheckerService answerCheckerService;
+    private final LobbyRoster lobbyRoster;
+    private final EntityCacheService entityCacheService;
+    private final GuessLog guessLog;
+    private final QuestionPoolIndex questionPoolIndex;
+    private final GameTelemetry gameTelemetry;
+    private final QuestionCatalog questionCatalog;
+    private final IdempotencyFilter idempotencyFilter;
+    private final GameService gameService;
+
+    public AdminController(GameRepository gameRepository, PlayerRepository playerRepository, QuestionRepository questionRepository, SynonymService synonymService, SynonymDictionaryRepository synonymDictionaryRepository, AnswerCheckerService answerCheckerService, LobbyRoster lobbyRoster, EntityCacheService entityCacheService, GuessLog guessLog, QuestionPoolIndex questionPoolIndex, GameTelemetry gameTelemetry, QuestionCatalog questionCatalog, IdempotencyFilter idempotencyFilter, GameService gameService) {
         this.gameRepository = gameRepository;
         this.playerRepository = playerRepository;
         this.questionRepository = questionRepository;
         this.synonymService = synonymService;
         this.synonymDictionaryRepository = synonymDictionaryRepository;
+        this.answerCheckerService = answerCheckerService;
+        this.lobbyRoster = lobbyRoster;
+        this.entityCacheService = entityCacheService;
+        this.guessLog = guessLog;
+        this.questionPoolIndex = questionPoolIndex;
+        this.gameTelemetry = gameTelemetry;
+        this.questionCatalog = questionCatalog;
+        this.idempotencyFilter = idempotencyFilter;
+        this.gameService = gameService;
     }
 
     @DeleteMapping("/games")
     public void deleteAllGames() {
         gameRepository.deleteAll();
+        lobbyRoster.clear();
+        gameTelemetry.gamesCleared();
+        idempotencyFilter.evictAll();
+        questionCatalog.releaseAll();
     }
 
     @DeleteMapping("/players")
     public void deleteAllPlayers() {
         playerRepository.deleteAll();
+        lobbyRoster.clear();
+        gameTelemetry.playersCleared();
     }
 
     @DeleteMapping("/questions")
     public void deleteAllQuestions() {
         questionRepository.deleteAll();
+        questionPoolIndex.clear();
+        questionCatalog.reload();
+        entityCacheService.evictQuestions();
+        answerCheckerService.evictAll();
     }
 
     @DeleteMapping("/synonyms")
     public void deleteAllSynonyms() {
         synonymDictionaryRepository.deleteAll();
+        entityCacheService.evictSynonyms();
+        answerCheckerService.evictAll();
     }
 
     @GetMapping("/synonyms")
@@ -68,9 +114,17 @@ public class AdminController {
         return synonymDictionaryRepository.findAll();
     }
 
+    /**
+     * Live server aggregates as Server-Sent Events ("telemetry" events, one per interval), instead of polling the lists below.
+     */
+    @GetMapping(value = "/telemetry", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter telemetry() {
+        return gameTelemetry.subscribe();
+    }
+
     @GetMapping("/games")
     public List<Game> getGames() {
-        return gameRepository.findAll();
+        return gameService.getAllGames();
     }
 
     @GetMapping("/players")
@@ -80,16 +134,23 @@ public class AdminController {
 
     @GetMapping("/questions")
     public List<Question> getQuestions() {
-        return questionRepository.findAll();
+        return questionCatalog.current().list();
     }
 
     @PostMapping("/questions")
     public Question addQuestion(@RequestBody Map<String, Object> body) {
-        String questionText = (String) body.get("question");
+        Question question = new Question();
+        applyTopicAndDifficulty(question, body);
+        return questionCatalog.add(fromBody(question, body));
+    }
+
+    /**
+     * Fills a new question (version) with the text and answers of the request body.
+     */
+    private static Question fromBody(Question question, Map<String, Object> body) {
         List<Map<String, Object>> answersList = (List<Map<String, Object>>) body.get("answers");
         List<Answer> answers = new ArrayList<>();
-        Question question = new Question();
-        question.setText(questionText);
+        question.setText((String) body.get("question"));
         for (Map<String, Object> ans : answersList) {
             String text = (String) ans.get("text");
             int points = (int) ans.get("points");
@@ -101,38 +162,55 @@ public class AdminController {
             answers.add(answer);
         }
         question.setAnswers(answers);
-        return questionRepository.save(question);
+        return question;
+    }
+
+    private static void applyTopicAndDifficulty(Question question, Map<String, Object> body) {
+        if (body.containsKey("topic")) question.setTopic((String) body.get("topic"));
+        if (body.get("difficulty") != null) question.setDifficulty(Difficulty.valueOf((String) body.get("difficulty")));
     }
 
     @DeleteMapping("/questions/{id}")
-    public void deleteQuestionById(@PathVariable Long id) {
-        questionRepository.deleteById(id);
+    public ResponseEntity<Void> deleteQuestionById(@PathVariable Long id) {
+        return questionCatalog.delete(id) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Saves the edit as the next version of the question, under the same id; games in a round of
+     * the previous version finish it unchanged.
+     */
     @PutMapping("/questions/{id}")
-    public Question updateQuestion(@PathVariable Long id, @RequestBody Map<String, Object> body) {
-        Question question = questionRepository.findById(id).orElseThrow();
-        String questionText = (String) body.get("question");
-        List<Map<String, Object>> answersList = (List<Map<String, Object>>) body.get("answers");
-        // Clear and repopulate the existing answers list
-        question.getAnswers().clear();
-        for (Map<String, Object> ans : answersList) {
-            String text = (String) ans.get("text");
-            int points = (int) ans.get("points");
-            Answer answer = new Answer();
-            answer.setText(text);
-            answer.setPoints(points);
-            answer.setRevealed(false);
-            answer.setQuestion(question);
-            question.getAnswers().add(answer);
-        }
-        question.setText(questionText);
-        return questionRepository.save(question);
+    public ResponseEntity<Question> updateQuestion(@PathVariable Long id, @RequestBody Map<String, Object> body) {
+        Question current = questionCatalog.current().get(id);
+        if (current == null) return ResponseEntity.notFound().build();
+        Question next = new Question();
+        next.setTopic(current.getTopic());
+        next.setDifficulty(current.getDifficulty());
+        applyTopicAndDifficulty(next, body);
+        Question saved = questionCatalog.replace(id, fromBody(next, body));
+        return saved != null ? ResponseEntity.ok(saved) : ResponseEntity.notFound().build();
     }
 
     @PutMapping("synonyms/{canonical}")
     public SynonymDictionary updateSynonym(@PathVariable String canonical, @RequestBody SynonymDictionary entry) {
         entry.setCanonical(canonical);
-        return synonymDictionaryRepository.save(entry);
+        SynonymDictionary saved = synonymDictionaryRepository.save(entry);
+        entityCacheService.evictSynonyms();
+        answerCheckerService.evictAll();
+        return saved;
+    }
+
+    @GetMapping("/cache/stats")
+    public Map<String, Object> getCacheStats() {
+        return entityCacheService.statistics();
+    }
+
+    /**
+     * Synonym suggestions mined from the guess log segments written so far:
+     * misses that were followed by a hit on the same answer, most frequent first.
+     */
+    @GetMapping("/guess-log/suggestions")
+    public List<GuessLogAggregator.Suggestion> getSynonymSuggestions(@RequestParam(defaultValue = "2") int minCount) throws IOException {
+        return GuessLogAggregator.suggestSynonyms(guessLog.directory(), minCount, GuessLogAggregator.DEFAULT_WINDOW_MILLIS);
     }
 }
@@ -3,6 +3,7 @@ package com.feud.controller;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,20 +16,64 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.feud.dto.CreateGameRequest;
 import com.feud.dto.JoinGameRequest;
+import com.feud.dto.ResumeResponse;
 import com.feud.model.Answer;
 import com.feud.model.Game;
 import com.feud.model.Player;
 import com.feud.model.Team;
 import com.feud.service.GameService;
+import com.feud.websocket.GameEventLog;
+import com.feud.websocket.SpectatorFeed;
 
 @RestController
 @RequestMapping("/games")
 @CrossOrigin(origins = "*") // Allow all origins for simplicity; adjust as needed
 public class GameController {
     private final GameService gameService;
+    private final SpectatorFeed spectatorFeed;
+    private final GameEventLog eventLog;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, SpectatorFeed spectatorFeed, GameEventLog eventLog) {
         this.gameService = gameService;
+        this.spectatorFeed = spectatorFeed;
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Resume after a reconnect: the frames sent on /topic/game/{code} after the given version.
+     * Falls back to a full snapshot when the client fell off the in-memory event buffer.
+     * @param code Game code
+     * @param since Last "version" header the client received (0 if none)
+     * @return The missed frames, a snapshot, or 404 if the game does not exist
+     */
+    @GetMapping("/{code}/events")
+    public ResponseEntity<ResumeResponse> getEventsSince(@PathVariable String code, @RequestParam long since) {
+        GameEventLog.Resume resume = eventLog.since(code, since);
+        if (resume != null) {
+            List<ResumeResponse.Event> events = resume.events().stream()
+                    .map(e -> new ResumeResponse.Event(e.version(), e.type(), e.payloadJson()))
+                    .toList();
+            return ResponseEntity.ok(ResumeResponse.missed(code, resume.version(), events));
+        }
+        // Read the version first: frames sent while the snapshot loads are replayed on the next resume
+        long version = eventLog.latestVersion(code);
+        try {
+            return ResponseEntity.ok(ResumeResponse.snapshot(code, version, gameService.getGameByCode(code)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * Latest spectator frame of a game, so a new spectator can render before the next update.
+     * @param code Game code
+     * @return The same serialized frame sent on /topic/game/{code}/spectate, or 404 if none was sent yet
+     */
+    @GetMapping(value = "/{code}/spectate", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getSpectatorFrame(@PathVariable String code) {
+        SpectatorFeed.Frame frame = spectatorFeed.latestFrame(code);
+        if (frame == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok().header("X-Frame-Version", Long.toString(frame.version())).body(frame.payload());
     }
 
     /**
@@ -113,7 +158,8 @@ public class GameController {
     }
 
     /**
-     * Submit a faceoff answer for a team.
+     * Submit a faceoff answer (buzz) for a team. The first buzz is arbitrated server-side;
+     * the faceoff resolves as soon as the first buzzer names the top answer or both teams answered.
      * @param code Game code
      * @param team Team (RED or BLUE)
      * @param answer The answer string
@@ -121,7 +167,9 @@ public class GameController {
      */
     @PostMapping("/{code}/faceoff/answer")
     public ResponseEntity<Game> submitFaceoffAnswer(@PathVariable String code, @RequestParam Team team, @RequestParam String answer) {
-        Game game = gameService.submitFaceoffAnswer(code, team, answer);
+        // Stamped on entry: the buzz order must not depend on how long the game takes to load
+        long arrivedNanos = System.nanoTime();
+        Game game = gameService.submitFaceoffAnswer(code, team, answer, arrivedNanos);
         return ResponseEntity.ok(game);
     }
 
@@ -133,8 +181,7 @@ public class GameController {
      */
     @PostMapping("/{code}/faceoff/resolve")
     public ResponseEntity<Team> resolveFaceoff(@PathVariable String code, @RequestBody List<Answer> answers) {
-        Game game = gameService.getGameByCode(code);
-        Team winner = gameService.resolveFaceoffAndSetTurn(game, answers);
+        Team winner = gameService.resolveFaceoff(code, answers);
         return ResponseEntity.ok(winner);
     }
 
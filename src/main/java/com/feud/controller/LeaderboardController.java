@@ -0,0 +1,56 @@
+package com.feud.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.feud.model.PlayerProfile;
+import com.feud.service.Leaderboard;
+import com.feud.service.PlayerNotFoundException;
+import com.feud.service.PlayerStatsService;
+
+@RestController
+@RequestMapping("/leaderboard")
+@CrossOrigin(origins = "*")
+public class LeaderboardController {
+    private static final int MAX_LIMIT = 100;
+
+    private final PlayerStatsService playerStatsService;
+
+    public LeaderboardController(PlayerStatsService playerStatsService) {
+        this.playerStatsService = playerStatsService;
+    }
+
+    /**
+     * Top players by points contributed.
+     * @param topic Optional topic; the global leaderboard when omitted
+     * @param limit Number of entries (at most 100)
+     * @return Player ids, names and points, best first
+     */
+    @GetMapping
+    public List<Leaderboard.Entry> getLeaderboard(@RequestParam(required = false) String topic,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return playerStatsService.top(topic, Math.max(0, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Aggregated statistics of a player across all finished games.
+     * @param id The player's profile id (the profileId returned on join)
+     * @return The profile, or 404 if the player never finished a game
+     */
+    @GetMapping("/players/{id}")
+    public ResponseEntity<PlayerProfile> getPlayerStats(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(playerStatsService.getProfile(id));
+        } catch (PlayerNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.feud.model.SynonymDictionary;
 import com.feud.repository.SynonymDictionaryRepository;
+import com.feud.service.AnswerCheckerService;
+import com.feud.service.EntityCacheService;
 import com.feud.service.SynonymSyncService;
 
 @RestController
@@ -24,11 +26,17 @@ import com.feud.service.SynonymSyncService;
 public class SynonymDictionaryController {
     private final SynonymDictionaryRepository synonymDictionaryRepository;
     private final SynonymSyncService synonymSyncService;
+    private final AnswerCheckerService answerCheckerService;
+    private final EntityCacheService entityCacheService;
 
     public SynonymDictionaryController(SynonymDictionaryRepository synonymDictionaryRepository,
-                                      SynonymSyncService synonymSyncService) {
+                                      SynonymSyncService synonymSyncService,
+                                      AnswerCheckerService answerCheckerService,
+                                      EntityCacheService entityCacheService) {
         this.synonymDictionaryRepository = synonymDictionaryRepository;
         this.synonymSyncService = synonymSyncService;
+        this.answerCheckerService = answerCheckerService;
+        this.entityCacheService = entityCacheService;
     }
     /**
      * Sync all answer synonyms from questions, skipping words already present in the dictionary.
@@ -39,6 +47,8 @@ public class SynonymDictionaryController {
         int before = synonymDictionaryRepository.findAll().size();
         int added = synonymSyncService.syncAllAnswerSynonyms().size();
         int after = synonymDictionaryRepository.findAll().size();
+        entityCacheService.evictSynonyms();
+        answerCheckerService.evictAll();
         int newEntries = after - before;
         return ResponseEntity.ok("Synonym sync complete. New entries added: " + newEntries);
     }
@@ -51,6 +61,8 @@ public class SynonymDictionaryController {
     @PostMapping
     public ResponseEntity<SynonymDictionary> createOrUpdate(@RequestBody SynonymDictionary entry) {
         SynonymDictionary saved = synonymDictionaryRepository.save(entry);
+        entityCacheService.evictSynonyms();
+        answerCheckerService.evictAll();
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
@@ -83,6 +95,8 @@ public class SynonymDictionaryController {
     public ResponseEntity<Void> delete(@PathVariable String canonical) {
         if (synonymDictionaryRepository.existsById(canonical)) {
             synonymDictionaryRepository.deleteById(canonical);
+            entityCacheService.evictSynonyms();
+            answerCheckerService.evictAll();
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
@@ -1,26 +1,58 @@
 package com.feud.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.feud.service.AnswerCheckerService;
+import com.feud.service.EntityCacheService;
+import com.feud.service.SynonymImportService;
 import com.feud.service.SynonymSyncService;
+import com.feud.util.ThesaurusReader;
 
 @RestController
 @RequestMapping("/synonyms")
 @CrossOrigin(origins = "*") // Allow CORS for all origins
 public class SynonymSyncController {
     private final SynonymSyncService synonymSyncService;
+    private final AnswerCheckerService answerCheckerService;
+    private final EntityCacheService entityCacheService;
+    private final SynonymImportService synonymImportService;
 
-    public SynonymSyncController(SynonymSyncService synonymSyncService) {
+    public SynonymSyncController(SynonymSyncService synonymSyncService, AnswerCheckerService answerCheckerService,
+                                 EntityCacheService entityCacheService, SynonymImportService synonymImportService) {
         this.synonymSyncService = synonymSyncService;
+        this.answerCheckerService = answerCheckerService;
+        this.entityCacheService = entityCacheService;
+        this.synonymImportService = synonymImportService;
     }
 
     @PostMapping("/sync")
     public Map<String, String> syncAll() {
-        return synonymSyncService.syncAllAnswerSynonyms();
+        Map<String, String> added = synonymSyncService.syncAllAnswerSynonyms();
+        entityCacheService.evictSynonyms();
+        answerCheckerService.evictAll();
+        return added;
+    }
+
+    /**
+     * Bulk-imports a local thesaurus file sent as the request body, e.g.
+     * {@code curl --data-binary @th_en_US_v2.dat -H 'Content-Type: text/plain' 'localhost:8080/synonyms/import?format=MYTHES'}.
+     * @param format TSV (word, tab, comma-separated synonyms) or MYTHES (OpenOffice .dat)
+     * @return Pairs read, dictionary entries inserted or updated, and milliseconds taken
+     */
+    @PostMapping("/import")
+    public SynonymImportService.ImportResult importThesaurus(@RequestParam(defaultValue = "TSV") ThesaurusReader.Format format,
+                                                             InputStream body) throws IOException {
+        SynonymImportService.ImportResult result = synonymImportService.importThesaurus(body, format);
+        entityCacheService.evictSynonyms();
+        answerCheckerService.evictAll();
+        return result;
     }
 }
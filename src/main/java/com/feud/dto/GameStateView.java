@@ -0,0 +1,64 @@
+package com.feud.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.feud.model.Answer;
+import com.feud.model.Difficulty;
+import com.feud.model.Game;
+import com.feud.model.GameStatus;
+import com.feud.model.Player;
+import com.feud.model.Question;
+import com.feud.model.Team;
+
+/**
+ * Immutable copy of a game as its state frame shows it: the same JSON as the Game entity, taken
+ * on the thread that changed the game so that broadcast threads never read the entity.
+ */
+public record GameStateView(Long id, String code, String topic, GameStatus status, List<PlayerView> players,
+                            QuestionView currentQuestion, int roundNumber, int maxRounds, Team currentTeam,
+                            int strikes, int redScore, int blueScore, Set<Long> revealedAnswerIds, Team winner,
+                            Long redFaceoffPlayerId, Long blueFaceoffPlayerId, String redFaceoffAnswer,
+                            String blueFaceoffAnswer, boolean faceoffInProgress) {
+
+    public record PlayerView(Long id, String name, String profileId, Team team) {
+        public static PlayerView of(Player player) {
+            return new PlayerView(player.getId(), player.getName(), player.getProfileId(), player.getTeam());
+        }
+
+        public static List<PlayerView> of(List<Player> players) {
+            if (players == null) return null;
+            List<PlayerView> views = new ArrayList<>(players.size());
+            for (Player p : players) views.add(of(p));
+            return List.copyOf(views);
+        }
+    }
+
+    public record QuestionView(Long id, int version, String text, String topic, Difficulty difficulty,
+                               List<AnswerView> answers, boolean retired) {
+        static QuestionView of(Question question) {
+            if (question == null) return null;
+            List<AnswerView> answers = null;
+            if (question.getAnswers() != null) {
+                answers = new ArrayList<>(question.getAnswers().size());
+                for (Answer a : question.getAnswers()) answers.add(new AnswerView(a.getId(), a.getText(), a.getPoints(), a.isRevealed()));
+                answers = List.copyOf(answers);
+            }
+            return new QuestionView(question.getLogicalId(), question.getVersion(), question.getText(),
+                    question.getTopic(), question.getDifficulty(), answers, question.isRetired());
+        }
+    }
+
+    public record AnswerView(Long id, String text, int points, boolean revealed) {}
+
+    public static GameStateView of(Game game) {
+        Set<Long> revealed = game.getRevealedAnswerIds() != null ? Set.copyOf(game.getRevealedAnswerIds()) : null;
+        return new GameStateView(game.getId(), game.getCode(), game.getTopic(), game.getStatus(),
+                PlayerView.of(game.getPlayers()), QuestionView.of(game.getCurrentQuestion()),
+                game.getRoundNumber(), game.getMaxRounds(), game.getCurrentTeam(), game.getStrikes(),
+                game.getRedScore(), game.getBlueScore(), revealed, game.getWinner(),
+                game.getRedFaceoffPlayerId(), game.getBlueFaceoffPlayerId(), game.getRedFaceoffAnswer(),
+                game.getBlueFaceoffAnswer(), game.isFaceoffInProgress());
+    }
+}
@@ -2,4 +2,13 @@ package com.feud.dto;
 
 import com.feud.model.Team;
 
-public record JoinGameRequest(String name, Team team) {}
+/**
+ * @param profileToken The token returned by an earlier join, to keep playing as the same profile; when
+ *                     absent (or not issued by this server) a new profile is assigned
+ */
+public record JoinGameRequest(String name, Team team, String profileToken) {
+
+    public JoinGameRequest(String name, Team team) {
+        this(name, team, null);
+    }
+}
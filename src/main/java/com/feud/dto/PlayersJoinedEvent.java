@@ -0,0 +1,14 @@
+package com.feud.dto;
+
+import java.util.List;
+
+/**
+ * Lobby event carrying the players who joined since the previous batch.
+ */
+public record PlayersJoinedEvent(String type, String code, List<GameStateView.PlayerView> players) {
+    public static final String TYPE = "PLAYERS_JOINED";
+
+    public PlayersJoinedEvent(String code, List<GameStateView.PlayerView> players) {
+        this(TYPE, code, players);
+    }
+}
@@ -0,0 +1,23 @@
+package com.feud.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.feud.model.Game;
+
+/**
+ * Reply to a reconnecting client: the frames it missed since its last version, or a full
+ * snapshot ({@code snapshot = true}, {@code state} set) when it fell off the event buffer.
+ */
+public record ResumeResponse(String code, long version, boolean snapshot, Game state, List<Event> events) {
+
+    public record Event(long version, String type, @JsonRawValue String payload) {}
+
+    public static ResumeResponse missed(String code, long version, List<Event> events) {
+        return new ResumeResponse(code, version, false, null, events);
+    }
+
+    public static ResumeResponse snapshot(String code, long version, Game state) {
+        return new ResumeResponse(code, version, true, state, List.of());
+    }
+}
@@ -0,0 +1,52 @@
+package com.feud.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.feud.model.GameStatus;
+import com.feud.model.Team;
+
+/**
+ * Reduced game state for spectators: the board and scores as the audience sees them,
+ * without player ids, unrevealed answers or faceoff answers. Built from the {@link GameStateView}
+ * copy of the game, so it can be built on any thread and never loads anything.
+ */
+public record SpectatorView(String code, long version, String topic, GameStatus status,
+                            int roundNumber, int maxRounds, String question, int answerCount,
+                            List<RevealedAnswer> revealedAnswers, Team currentTeam, int strikes,
+                            int redScore, int blueScore, Team winner, boolean faceoffInProgress,
+                            List<String> redTeam, List<String> blueTeam) {
+
+    public record RevealedAnswer(int position, String text, int points) {}
+
+    public static SpectatorView of(GameStateView game, long version) {
+        String question = null;
+        int answerCount = 0;
+        List<RevealedAnswer> revealed = new ArrayList<>();
+        if (game.currentQuestion() != null) {
+            question = game.currentQuestion().text();
+            List<GameStateView.AnswerView> answers = game.currentQuestion().answers();
+            if (answers != null) {
+                answerCount = answers.size();
+                for (int i = 0; i < answers.size(); i++) {
+                    GameStateView.AnswerView a = answers.get(i);
+                    if (game.revealedAnswerIds() != null && game.revealedAnswerIds().contains(a.id())) {
+                        revealed.add(new RevealedAnswer(i + 1, a.text(), a.points()));
+                    }
+                }
+            }
+        }
+        List<String> red = new ArrayList<>();
+        List<String> blue = new ArrayList<>();
+        if (game.players() != null) {
+            for (GameStateView.PlayerView p : game.players()) {
+                if (p.team() == Team.RED) red.add(p.name());
+                else if (p.team() == Team.BLUE) blue.add(p.name());
+            }
+        }
+        return new SpectatorView(game.code(), version, game.topic(), game.status(),
+                game.roundNumber(), game.maxRounds(), question, answerCount, revealed,
+                game.currentTeam(), game.strikes(), game.redScore(), game.blueScore(),
+                game.winner(), game.faceoffInProgress(), red, blue);
+    }
+}
@@ -0,0 +1,16 @@
+package com.feud.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.feud.model.GameStatus;
+
+/**
+ * Server-wide aggregates pushed to the admin dashboard. {@code recentGuesses} of a game is its
+ * guess count over roughly the last rate window, decayed rather than windowed.
+ */
+public record TelemetrySnapshot(long timestamp, Map<GameStatus, Long> games, long playersOnline,
+                                double guessesPerSecond, int broadcastBacklog, List<ActiveGame> topGames) {
+
+    public record ActiveGame(String code, GameStatus status, int players, double recentGuesses) {}
+}
@@ -0,0 +1,7 @@
+package com.feud.model;
+
+public enum Difficulty {
+    EASY,
+    MEDIUM,
+    HARD
+}
@@ -1,6 +1,7 @@
 package com.feud.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,6 +11,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,6 +21,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_player_game_name", columnNames = {"game_id", "name"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +34,14 @@ public class Player {
 
     private String name;
 
+    // Stable identity of the person behind the name, keys their profile across games
+    private String profileId;
+
+    // Proof of the profile, only set on the player's own join response
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String profileToken;
+
     @Enumerated(EnumType.STRING)
     private Team team;
 
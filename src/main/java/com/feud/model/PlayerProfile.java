@@ -0,0 +1,68 @@
+package com.feud.model;
+
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cross-game aggregates of a player, keyed by the player's stable id; the name is the one the
+ * player last played under. Counters are only ever incremented in place when a game ends;
+ * history is not kept.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerProfile implements Persistable<String> {
+    @Id
+    private String id;
+
+    private String name;
+
+    private int gamesPlayed;
+    private int wins;
+    private long pointsContributed;
+
+    // Guesses of the player's team while the player was in it
+    private int guesses;
+    private int correctGuesses;
+
+    // Most points won by the player's team in a single steal
+    private int bestSteal;
+
+    // The id is assigned, so tell Spring Data to insert rather than merge over a concurrent insert
+    @Transient
+    @JsonIgnore
+    @Builder.Default
+    private boolean newProfile = true;
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newProfile = false;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newProfile;
+    }
+
+    @Transient
+    public double getCorrectGuessRate() {
+        return guesses == 0 ? 0 : (double) correctGuesses / guesses;
+    }
+}
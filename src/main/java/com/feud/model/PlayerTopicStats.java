@@ -0,0 +1,37 @@
+package com.feud.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Per-topic aggregates of a player, backing the per-topic leaderboards.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_player_topic", columnNames = {"player_id", "topic"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerTopicStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String playerId;
+    // Lowercased, like the question pool's topics
+    private String topic;
+
+    private int gamesPlayed;
+    private int wins;
+    private long points;
+}
@@ -2,35 +2,84 @@ package com.feud.model;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 public class Question {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // The question's id across edits: the row id of its first version (null on that first version)
+    @Column(name = "logical_id")
+    private Long logicalId;
+
+    // Version of the question this row holds, from 1; a game's current question is one version
+    @ColumnDefault("1")
+    private int version = 1;
+
     private String text;
 
+    // Games draw questions of their topic (any question when null)
+    private String topic;
+
+    @Enumerated(EnumType.STRING)
+    private Difficulty difficulty;
+
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference("answers")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question-answers")
     private List<Answer> answers;
 
+    // Set when the question is edited or deleted: the row is kept, unchanged, while games still point to it
+    @ColumnDefault("false")
+    private boolean retired;
+
 
     // Getters and setters
+    // Row id of this version; clients only see the logical id
+    @JsonIgnore
     public Long getId() { return id; }
+    @JsonIgnore
     public void setId(Long id) { this.id = id; }
 
+    @JsonProperty(value = "id", access = JsonProperty.Access.READ_ONLY)
+    public Long getLogicalId() { return logicalId != null ? logicalId : id; }
+    public void setLogicalId(Long logicalId) { this.logicalId = logicalId; }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
     public String getText() { return text; }
     public void setText(String text) { this.text = text; }
 
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(Difficulty difficulty) { this.difficulty = difficulty; }
+
     public List<Answer> getAnswers() { return answers; }
     public void setAnswers(List<Answer> answers) { this.answers = answers; }
+
+    public boolean isRetired() { return retired; }
+    public void setRetired(boolean retired) { this.retired = retired; }
 }
@@ -1,12 +1,20 @@
 package com.feud.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "synonym")
 public class SynonymDictionary {
+    public static final int SYNONYMS_MAX_LENGTH = 8192;
+
     @Id
     private String canonical; // e.g., "car"
+    @Column(length = SYNONYMS_MAX_LENGTH)
     private String synonyms;  // e.g., "automobile,vehicle,auto"
 
     public String getCanonical() { return canonical; }
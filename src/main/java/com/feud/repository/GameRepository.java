@@ -1,12 +1,64 @@
 package com.feud.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.feud.model.Game;
+import com.feud.model.GameStatus;
+import com.feud.model.Team;
+
 
 public interface GameRepository extends JpaRepository<Game, Long>{
     Optional<Game> findByCode(String code);
     boolean existsByCode(String code);
+    long countByStatus(GameStatus status);
+    boolean existsByCurrentQuestionIdAndStatusNot(Long questionId, GameStatus status);
+
+    // Ended games let go of a retired question version so that it can be deleted
+    @Modifying
+    @Query("update Game g set g.currentQuestion = null where g.currentQuestion.id = :questionId and g.status = com.feud.model.GameStatus.ENDED")
+    int clearEndedGamesQuestion(@Param("questionId") Long questionId);
+
+    // Code, status and player count of every running game: the starting point of the admin telemetry
+    @Query("select g.code, g.status, size(g.players) from Game g where g.status <> com.feud.model.GameStatus.ENDED")
+    List<Object[]> findLiveGameSummaries();
+
+    // Conditional writes of the timeouts, fired from timer threads: each changes only its own columns
+    // and only while the game is still as the timer read it, so a host action that got in first wins
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.strikes = g.strikes + 1 where g.code = :code and g.strikes = :strikes"
+        + " and g.status = com.feud.model.GameStatus.IN_PROGRESS and g.faceoffInProgress = false")
+    int addStrikeIfUnchanged(@Param("code") String code, @Param("strikes") int strikes);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.currentTeam = :winner, g.faceoffInProgress = false, g.redFaceoffPlayerId = null,"
+        + " g.blueFaceoffPlayerId = null, g.redFaceoffAnswer = null, g.blueFaceoffAnswer = null"
+        + " where g.code = :code and g.faceoffInProgress = true")
+    int endFaceoff(@Param("code") String code, @Param("winner") Team winner);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.status = com.feud.model.GameStatus.ENDED, g.winner = null"
+        + " where g.code = :code and g.status = com.feud.model.GameStatus.LOBBY")
+    int endLobby(@Param("code") String code);
+
+    // Single-column faceoff writes, so the two teams' answers never overwrite each other. They clear
+    // the persistence context: a game loaded before must be read again
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.redFaceoffAnswer = :answer where g.code = :code and g.faceoffInProgress = true")
+    int updateRedFaceoffAnswer(@Param("code") String code, @Param("answer") String answer);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.blueFaceoffAnswer = :answer where g.code = :code and g.faceoffInProgress = true")
+    int updateBlueFaceoffAnswer(@Param("code") String code, @Param("answer") String answer);
 }
@@ -0,0 +1,39 @@
+package com.feud.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feud.model.PlayerProfile;
+
+
+public interface PlayerProfileRepository extends JpaRepository<PlayerProfile, String> {
+    @Query("select p.id from PlayerProfile p where p.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    // Applied in place by the database, so two games ending at once never lose an update.
+    // One statement per team: its players all get the same increments.
+    @Transactional
+    @Modifying
+    @Query("update PlayerProfile p set p.gamesPlayed = p.gamesPlayed + 1, p.wins = p.wins + :wins,"
+            + " p.pointsContributed = p.pointsContributed + :points, p.guesses = p.guesses + :guesses,"
+            + " p.correctGuesses = p.correctGuesses + :correct,"
+            + " p.bestSteal = case when p.bestSteal < :steal then :steal else p.bestSteal end"
+            + " where p.id in :ids")
+    int addGame(@Param("ids") Collection<String> ids, @Param("wins") int wins, @Param("points") long points,
+                @Param("guesses") int guesses, @Param("correct") int correct, @Param("steal") int steal);
+
+    @Transactional
+    @Modifying
+    @Query("update PlayerProfile p set p.name = :name where p.id = :id")
+    int rename(@Param("id") String id, @Param("name") String name);
+
+    // Rows of id, name and points, read from the database rather than the persistence context
+    @Query("select p.id, p.name, p.pointsContributed from PlayerProfile p where p.id in :ids")
+    List<Object[]> findPoints(@Param("ids") Collection<String> ids);
+}
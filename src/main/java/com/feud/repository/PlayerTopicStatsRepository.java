@@ -0,0 +1,29 @@
+package com.feud.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feud.model.PlayerTopicStats;
+
+
+public interface PlayerTopicStatsRepository extends JpaRepository<PlayerTopicStats, Long> {
+    @Query("select s.playerId from PlayerTopicStats s where s.topic = :topic and s.playerId in :ids")
+    List<String> findExistingPlayerIds(@Param("topic") String topic, @Param("ids") Collection<String> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update PlayerTopicStats s set s.gamesPlayed = s.gamesPlayed + 1, s.wins = s.wins + :wins,"
+            + " s.points = s.points + :points where s.topic = :topic and s.playerId in :ids")
+    int addGame(@Param("ids") Collection<String> ids, @Param("topic") String topic,
+                @Param("wins") int wins, @Param("points") long points);
+
+    // Rows of player id and points
+    @Query("select s.playerId, s.points from PlayerTopicStats s where s.topic = :topic and s.playerId in :ids")
+    List<Object[]> findPoints(@Param("topic") String topic, @Param("ids") Collection<String> ids);
+}
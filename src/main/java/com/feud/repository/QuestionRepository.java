@@ -1,9 +1,18 @@
 // filepath: src/main/java/com/feud/repository/QuestionRepository.java
 package com.feud.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.feud.model.Question;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
-}
\ No newline at end of file
+    // The current version of every question, answers included, in one query
+    @Query("select distinct q from Question q left join fetch q.answers where q.retired = false")
+    List<Question> findCurrentWithAnswers();
+
+    @Query("select q.id from Question q where q.retired = true")
+    List<Long> findRetiredIds();
+}
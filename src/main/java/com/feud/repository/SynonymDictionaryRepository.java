@@ -2,10 +2,13 @@ package com.feud.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.feud.model.SynonymDictionary;
 
 public interface SynonymDictionaryRepository extends JpaRepository<SynonymDictionary, String> {
+    @QueryHints(@jakarta.persistence.QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SynonymDictionary> findByCanonical(String canonical);
 }
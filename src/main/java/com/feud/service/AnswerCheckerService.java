@@ -1,15 +1,31 @@
 package com.feud.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.feud.model.Answer;
+import com.feud.model.Question;
+import com.feud.repository.QuestionRepository;
+import com.feud.util.GuessNormalizer;
 
 @Service
 public class AnswerCheckerService {
     private final SynonymService synonymService;
+    private final QuestionRepository questionRepository;
+    private final double tokenThreshold;
+    private final Map<Long, AnswerIndex> questionIndexes = new ConcurrentHashMap<>();
+    private volatile TokenWeights tokenWeights;
 
-    public AnswerCheckerService(SynonymService synonymService) {
+    public AnswerCheckerService(SynonymService synonymService, QuestionRepository questionRepository,
+                                @Value("${feud.matching.token-threshold:0.75}") double tokenThreshold) {
         this.synonymService = synonymService;
+        this.questionRepository = questionRepository;
+        this.tokenThreshold = tokenThreshold;
     }
 
     /**
@@ -19,4 +35,103 @@ public class AnswerCheckerService {
         if (guess == null || answer == null || answer.getText() == null) return false;
         return synonymService.areSynonyms(answer.getText(), guess);
     }
+
+    /**
+     * Returns the precomputed index for a question, building it on first use.
+     */
+    public AnswerIndex indexFor(Question question) {
+        if (question.getId() == null) return index(question.getAnswers());
+        return questionIndexes.computeIfAbsent(question.getId(), id -> index(question.getAnswers()));
+    }
+
+    /**
+     * Builds an index for an ad-hoc answer list (not cached).
+     */
+    public AnswerIndex index(List<Answer> answers) {
+        List<Answer> source = answers == null ? List.of() : answers;
+        AnswerIndex.Builder builder = new AnswerIndex.Builder(source, tokenWeights());
+        for (int i = 0; i < source.size(); i++) {
+            String text = source.get(i).getText();
+            if (text == null) continue;
+            String normalized = GuessNormalizer.normalize(text);
+            builder.add(i, List.of(normalized));
+            builder.add(i, synonymService.getAllSynonyms(text));
+            builder.addTokens(i, normalized);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns every answer in the index matched by the guess, either directly
+     * or through one of the guess's synonyms.
+     */
+    public List<Answer> findMatches(AnswerIndex index, String guess) {
+        if (guess == null || index.answers().isEmpty()) return List.of();
+        return findMatches(index, guess, GuessNormalizer.normalize(guess));
+    }
+
+    /**
+     * Matches a guess for scoring: unrevealed exact or synonym hits first; when there are none,
+     * the best unrevealed multi-word answer by weighted token overlap above the threshold.
+     */
+    public List<Answer> matchGuess(AnswerIndex index, String guess, Set<Long> revealedIds) {
+        if (guess == null || index.answers().isEmpty()) return List.of();
+        String normalized = GuessNormalizer.normalize(guess);
+        List<Answer> matches = findMatches(index, guess, normalized);
+        for (Answer a : matches) {
+            if (!revealedIds.contains(a.getId())) return matches;
+        }
+        Answer tokenMatch = index.bestTokenMatch(normalized, revealedIds, tokenThreshold);
+        return tokenMatch != null ? List.of(tokenMatch) : matches;
+    }
+
+    private List<Answer> findMatches(AnswerIndex index, String guess, String normalized) {
+        boolean[] hits = new boolean[index.answers().size()];
+        if (!index.mark(normalized, hits)) {
+            Set<String> guessForms = synonymService.getAllSynonyms(guess);
+            for (String form : guessForms) {
+                index.mark(form, hits);
+            }
+        }
+        return index.collect(hits);
+    }
+
+    /**
+     * Token IDF weights over the question bank, computed on first use.
+     */
+    TokenWeights tokenWeights() {
+        TokenWeights weights = tokenWeights;
+        if (weights == null) {
+            weights = TokenWeights.of(questionRepository.findAll());
+            tokenWeights = weights;
+        }
+        return weights;
+    }
+
+    /**
+     * Computes token weights from the given questions and builds each question's index up front.
+     * Used by the startup warm-up so the first guesses don't pay for it.
+     */
+    public void preload(List<Question> questions) {
+        tokenWeights = TokenWeights.of(questions);
+        for (Question question : questions) {
+            indexFor(question);
+        }
+    }
+
+    /**
+     * Drops the cached index of one question (after it was edited or deleted).
+     * Token weights are bank-wide statistics and are only refreshed by {@link #evictAll()}.
+     */
+    public void evict(Long questionId) {
+        if (questionId != null) questionIndexes.remove(questionId);
+    }
+
+    /**
+     * Drops all cached indexes (after the question bank or the synonym dictionary changed).
+     */
+    public void evictAll() {
+        tokenWeights = null;
+        questionIndexes.clear();
+    }
 }
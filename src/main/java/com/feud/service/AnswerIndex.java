@@ -0,0 +1,150 @@
+package com.feud.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.feud.model.Answer;
+
+/**
+ * Precomputed, read-only lookup of normalized answer forms (answer text plus its synonyms)
+ * for one question, plus an inverted token index for multi-word answers.
+ * Built once per question by {@link AnswerCheckerService}.
+ */
+public final class AnswerIndex {
+    private final List<Answer> answers;
+    private final Map<String, int[]> positionsByForm;
+    private final Map<String, Postings> postingsByToken;
+    private final double[] answerWeights;
+    private final TokenWeights weights;
+
+    private AnswerIndex(Builder builder) {
+        this.answers = builder.answers;
+        this.positionsByForm = builder.positionsByForm;
+        this.postingsByToken = builder.postingsByToken;
+        this.answerWeights = builder.answerWeights;
+        this.weights = builder.weights;
+    }
+
+    public List<Answer> answers() {
+        return answers;
+    }
+
+    /**
+     * Marks every answer whose normalized forms contain the given form.
+     * @return true if at least one answer was marked
+     */
+    boolean mark(String normalizedForm, boolean[] hits) {
+        int[] positions = positionsByForm.get(normalizedForm);
+        if (positions == null) return false;
+        for (int p : positions) hits[p] = true;
+        return true;
+    }
+
+    List<Answer> collect(boolean[] hits) {
+        List<Answer> result = new ArrayList<>(1);
+        for (int i = 0; i < hits.length; i++) {
+            if (hits[i]) result.add(answers.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Scores the normalized guess against every answer sharing a token with it, using an
+     * IDF-weighted Dice coefficient. Only answers reached through the guess tokens' postings
+     * are touched, so the cost is O(guess tokens). Ties go to the answer worth more points.
+     * @return the best unrevealed answer scoring at least the threshold, or null
+     */
+    Answer bestTokenMatch(String normalizedGuess, Set<Long> excludedIds, double threshold) {
+        String[] tokens = TokenWeights.tokens(normalizedGuess);
+        if (tokens.length == 0 || answers.isEmpty()) return null;
+        double[] overlap = new double[answers.size()];
+        int[] touched = new int[answers.size()];
+        int touchedCount = 0;
+        double guessWeight = 0;
+        for (String token : tokens) {
+            Postings postings = postingsByToken.get(token);
+            double idf = postings != null ? postings.idf : weights.idf(token);
+            guessWeight += idf;
+            if (postings == null) continue;
+            for (int p : postings.positions) {
+                if (overlap[p] == 0) touched[touchedCount++] = p;
+                overlap[p] += idf;
+            }
+        }
+        Answer best = null;
+        double bestScore = threshold;
+        for (int i = 0; i < touchedCount; i++) {
+            int p = touched[i];
+            Answer candidate = answers.get(p);
+            if (excludedIds.contains(candidate.getId())) continue;
+            double score = 2 * overlap[p] / (answerWeights[p] + guessWeight);
+            if (score > bestScore || (score == bestScore && (best == null || candidate.getPoints() > best.getPoints()))) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private record Postings(double idf, int[] positions) {}
+
+    static final class Builder {
+        private final List<Answer> answers;
+        private final TokenWeights weights;
+        private final Map<String, int[]> positionsByForm = new HashMap<>();
+        private final Map<String, Postings> postingsByToken = new HashMap<>();
+        private final double[] answerWeights;
+
+        Builder(List<Answer> answers, TokenWeights weights) {
+            this.answers = List.copyOf(answers);
+            this.weights = weights;
+            this.answerWeights = new double[answers.size()];
+        }
+
+        Builder add(int position, Collection<String> normalizedForms) {
+            for (String form : normalizedForms) {
+                if (form.isEmpty()) continue;
+                positionsByForm.merge(form, new int[] { position }, Builder::append);
+            }
+            return this;
+        }
+
+        /**
+         * Adds the tokens of the answer's own normalized text to the inverted index.
+         */
+        Builder addTokens(int position, String normalizedText) {
+            for (String token : TokenWeights.tokens(normalizedText)) {
+                Postings existing = postingsByToken.get(token);
+                if (existing == null) {
+                    double idf = weights.idf(token);
+                    postingsByToken.put(token, new Postings(idf, new int[] { position }));
+                    answerWeights[position] += idf;
+                } else {
+                    int[] merged = append(existing.positions, new int[] { position });
+                    if (merged != existing.positions) {
+                        postingsByToken.put(token, new Postings(existing.idf, merged));
+                        answerWeights[position] += existing.idf;
+                    }
+                }
+            }
+            return this;
+        }
+
+        private static int[] append(int[] existing, int[] added) {
+            for (int p : existing) {
+                if (p == added[0]) return existing;
+            }
+            int[] merged = java.util.Arrays.copyOf(existing, existing.length + 1);
+            merged[existing.length] = added[0];
+            return merged;
+        }
+
+        AnswerIndex build() {
+            return new AnswerIndex(this);
+        }
+    }
+}
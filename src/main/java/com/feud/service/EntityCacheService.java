@@ -0,0 +1,95 @@
+package com.feud.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import com.feud.model.Answer;
+import com.feud.model.Question;
+import com.feud.model.SynonymDictionary;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Explicit invalidation and statistics for the Hibernate second-level cache.
+ * Hibernate keeps the cache in sync for writes it performs itself; admin writes evict
+ * explicitly as well, so bulk deletes and cached findByCanonical results never outlive them.
+ */
+@Service
+public class EntityCacheService {
+    private static final String QUESTION_ANSWERS = Question.class.getName() + ".answers";
+
+    private final SessionFactory sessionFactory;
+    private final ObjectProvider<SynonymSnapshotService> synonymSnapshots;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory, ObjectProvider<SynonymSnapshotService> synonymSnapshots) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.synonymSnapshots = synonymSnapshots;
+    }
+
+    public void evictQuestion(Long questionId) {
+        if (questionId == null) return;
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Question.class, questionId);
+        cache.evictCollectionData(QUESTION_ANSWERS, questionId);
+        // Answers are keyed by their own id, which the caller no longer knows after an edit
+        cache.evictEntityData(Answer.class);
+    }
+
+    public void evictQuestions() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Question.class);
+        cache.evictEntityData(Answer.class);
+        cache.evictCollectionData(QUESTION_ANSWERS);
+    }
+
+    /**
+     * Also drops the memory-mapped synonym snapshot, which is rebuilt in the background.
+     */
+    public void evictSynonyms() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(SynonymDictionary.class);
+        cache.evictDefaultQueryRegion();
+        synonymSnapshots.ifAvailable(SynonymSnapshotService::invalidate);
+    }
+
+    /**
+     * Hit/miss/put counters per cache region plus totals for the second-level and query caches.
+     */
+    public Map<String, Object> statistics() {
+        Statistics stats = sessionFactory.getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", stats.isStatisticsEnabled());
+        result.put("secondLevel", counters(stats.getSecondLevelCacheHitCount(),
+                stats.getSecondLevelCacheMissCount(), stats.getSecondLevelCachePutCount()));
+        result.put("query", counters(stats.getQueryCacheHitCount(),
+                stats.getQueryCacheMissCount(), stats.getQueryCachePutCount()));
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = stats.getCacheRegionStatistics(region);
+            if (regionStats == null) continue;
+            Map<String, Object> counters = counters(regionStats.getHitCount(),
+                    regionStats.getMissCount(), regionStats.getPutCount());
+            counters.put("elements", regionStats.getElementCountInMemory());
+            regions.put(region, counters);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    private static Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        long lookups = hits + misses;
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        counters.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return counters;
+    }
+}
@@ -0,0 +1,92 @@
+package com.feud.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.stereotype.Component;
+
+import com.feud.model.Team;
+
+/**
+ * Lock-free faceoff buzzer arbitration. Each game has one in-memory round slot holding one buzz per
+ * team, claimed with a compare-and-set so concurrent faceoff requests never block or overwrite each
+ * other. Buzzes carry the server-side monotonic {@link System#nanoTime()} stamp taken when the request
+ * came in, and the first buzz is the one with the smallest stamp, whatever order the requests
+ * reached the buzzer in.
+ */
+@Component
+public class FaceoffBuzzer {
+    private final Map<String, Round> rounds = new ConcurrentHashMap<>();
+
+    /**
+     * Opens a fresh round for the game, discarding any previous buzzes.
+     */
+    public Round arm(String code) {
+        Round round = new Round();
+        rounds.put(code, round);
+        return round;
+    }
+
+    /**
+     * Returns the current round, opening one if the game has none (e.g. after a restart).
+     */
+    public Round roundFor(String code) {
+        return rounds.computeIfAbsent(code, c -> new Round());
+    }
+
+    /**
+     * Returns the current round or null if no faceoff is armed for the game.
+     */
+    public Round currentRound(String code) {
+        return code == null ? null : rounds.get(code);
+    }
+
+    public void clear(String code) {
+        if (code != null) rounds.remove(code);
+    }
+
+    public record Buzz(Team team, String answer, long nanos) {}
+
+    public static final class Round {
+        private final AtomicReferenceArray<Buzz> byTeam = new AtomicReferenceArray<>(Team.values().length);
+        private final AtomicBoolean resolved = new AtomicBoolean();
+
+        /**
+         * Records the team's buzz with the {@link System#nanoTime()} stamp of the request's arrival.
+         * @return the recorded buzz, or null if the team already buzzed in this round
+         */
+        public Buzz buzz(Team team, String answer, long arrivedNanos) {
+            Buzz buzz = new Buzz(team, answer, arrivedNanos);
+            return byTeam.compareAndSet(team.ordinal(), null, buzz) ? buzz : null;
+        }
+
+        /**
+         * The buzz that arrived first so far, or null if nobody buzzed.
+         */
+        public Buzz first() {
+            Buzz first = null;
+            for (int i = 0; i < byTeam.length(); i++) {
+                Buzz buzz = byTeam.get(i);
+                if (buzz != null && (first == null || buzz.nanos() - first.nanos() < 0)) first = buzz;
+            }
+            return first;
+        }
+
+        public Buzz of(Team team) {
+            return byTeam.get(team.ordinal());
+        }
+
+        public boolean bothAnswered() {
+            return of(Team.RED) != null && of(Team.BLUE) != null;
+        }
+
+        /**
+         * Claims the right to resolve this round; only one caller ever gets true.
+         */
+        public boolean tryResolve() {
+            return resolved.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.feud.service;
+
+/**
+ * Published when a game ends or is deleted, for the web layer to drop what it keeps per game
+ * (the idempotent responses) without the game flows depending on it.
+ */
+public record GameClosedEvent(String code) {}
@@ -0,0 +1,78 @@
+package com.feud.service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Housekeeping of the partitioned game tables (db/partitioned-games.sql), enabled by
+ * feud.partitioning.enabled=true. Every check interval it starts the partitions of a new month and
+ * drops the partitions of months older than feud.partitioning.retention-months, so old games go
+ * away with a DROP TABLE per month instead of row-level DELETEs. Both steps are SQL functions and
+ * can be scheduled in the database instead (e.g. pg_cron) with the check interval set to 0.
+ */
+@Component
+@ConditionalOnProperty(name = "feud.partitioning.enabled", havingValue = "true")
+public class GamePartitionMaintenance {
+    private static final Logger log = LoggerFactory.getLogger(GamePartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionMonths;
+    private final long checkMinutes;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "game-partitions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GamePartitionMaintenance(DataSource dataSource,
+                                    @Value("${feud.partitioning.retention-months:6}") int retentionMonths,
+                                    @Value("${feud.partitioning.check-minutes:60}") long checkMinutes) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.retentionMonths = retentionMonths;
+        this.checkMinutes = checkMinutes;
+    }
+
+    @PostConstruct
+    void start() {
+        if (checkMinutes <= 0) return;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.warn("Game partition maintenance failed: {}", e.getMessage());
+            }
+        }, 0, checkMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Rolls to the current month's partitions, then applies the retention.
+     * @return the month partitions dropped (by suffix, e.g. p202604)
+     */
+    public List<String> run() {
+        String opened = jdbcTemplate.queryForObject("SELECT feud_roll_game_partitions()", String.class);
+        if (opened != null) log.info("Opened game partitions {}", opened);
+        if (retentionMonths <= 0) return List.of();
+        List<String> dropped = jdbcTemplate.queryForList("SELECT feud_drop_game_partitions(?)", String.class, retentionMonths);
+        if (!dropped.isEmpty()) log.info("Dropped game partitions {} (retention {} months)", dropped, retentionMonths);
+        return dropped;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,10 +1,14 @@
 package com.feud.service;
 
 import java.util.List;
-import java.util.Optional;
 
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.feud.config.ReplicaStalenessGuard;
 import com.feud.dto.JoinGameRequest;
 import com.feud.model.Game;
 import com.feud.model.GameStatus;
@@ -17,42 +21,106 @@ import com.feud.repository.QuestionRepository;
 import com.feud.util.CodeGenerator;
 import com.feud.websocket.GameWebSocketBroadcaster;
 
-import jakarta.transaction.Transactional;
-
 @Service
 public class GameService {
     private final GameRepository gameRepository;
     private final PlayerRepository playerRepository;
     private final GameWebSocketBroadcaster webSocketBroadcaster;
     private final QuestionRepository questionRepository;
-    private final SynonymService synonymService;
-
-    public GameService(GameRepository gameRepository, PlayerRepository playerRepository, GameWebSocketBroadcaster webSocketBroadcaster, QuestionRepository questionRepository, SynonymService synonymService){
+    private final AnswerCheckerService answerCheckerService;
+    private final FaceoffBuzzer faceoffBuzzer;
+    private final LobbyRoster lobbyRoster;
+    private final ReplicaStalenessGuard stalenessGuard;
+    private final PlayerStatsService playerStatsService;
+    private final GuessLog guessLog;
+    private final QuestionPoolIndex questionPoolIndex;
+    private final GameTimers gameTimers;
+    private final GameTelemetry telemetry;
+    private final QuestionCatalog questionCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public GameService(GameRepository gameRepository, PlayerRepository playerRepository, GameWebSocketBroadcaster webSocketBroadcaster, QuestionRepository questionRepository, AnswerCheckerService answerCheckerService, FaceoffBuzzer faceoffBuzzer, LobbyRoster lobbyRoster, ReplicaStalenessGuard stalenessGuard, PlayerStatsService playerStatsService, GuessLog guessLog, QuestionPoolIndex questionPoolIndex, GameTimers gameTimers, GameTelemetry telemetry, QuestionCatalog questionCatalog, ApplicationEventPublisher eventPublisher){
         this.gameRepository = gameRepository;
         this.playerRepository = playerRepository;
         this.webSocketBroadcaster = webSocketBroadcaster;
         this.questionRepository = questionRepository;
-        this.synonymService = synonymService;
+        this.answerCheckerService = answerCheckerService;
+        this.faceoffBuzzer = faceoffBuzzer;
+        this.lobbyRoster = lobbyRoster;
+        this.stalenessGuard = stalenessGuard;
+        this.playerStatsService = playerStatsService;
+        this.guessLog = guessLog;
+        this.questionPoolIndex = questionPoolIndex;
+        this.gameTimers = gameTimers;
+        this.telemetry = telemetry;
+        this.questionCatalog = questionCatalog;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Joins a player. The name is reserved atomically in the in-memory roster, the player is
+     * inserted once, and the join is broadcast from the roster without reloading the game.
+     * Not one transaction: the insert is the only write, and a taken name must not roll back more.
+     * Players can join a lobby or a running game (late joiners get a full state frame), not an ended one.
+     */
     public Player joinGame(String code, JoinGameRequest request) {
-        Game game = gameRepository.findByCode(code)
-            .orElseThrow(() -> new RuntimeException("Game not found"));
-        Optional<Player> existing = playerRepository.findByNameAndGameCode(request.name(), code);
-        if (existing.isPresent()) {
+        if (request.name() == null || request.name().isBlank()) {
+            throw new RuntimeException("Player name is required");
+        }
+        LobbyRoster.Roster roster = rosterFor(code);
+        if (roster.status() == GameStatus.ENDED) {
+            // Loaded just before the game ended, after its roster was released
+            lobbyRoster.evict(code);
+            throw new RuntimeException("This game has ended");
+        }
+        if (!roster.reserve(request.name())) {
             throw new RuntimeException("This player name is already taken in this lobby");
         }
+        String profileId = playerStatsService.claimProfile(request.profileToken());
         Player player = Player.builder()
             .name(request.name())
+            .profileId(profileId)
             .team(request.team())
-            .game(game)
+            .game(gameRepository.getReferenceById(roster.gameId()))
             .build();
-        Player saved = playerRepository.save(player);
-        // Broadcast updated game state after player joins
-        webSocketBroadcaster.broadcastGameState(gameRepository.findByCode(code).orElse(game));
-        return saved;
+        Player saved;
+        try {
+            saved = playerRepository.save(player);
+            stalenessGuard.recordWrite(code);
+        } catch (DataIntegrityViolationException e) {
+            // Taken through another instance (or the game is gone): resync the roster on next join
+            roster.release(request.name());
+            lobbyRoster.evict(code);
+            throw new RuntimeException("This player name is already taken in this lobby");
+        }
+        roster.add(saved);
+        telemetry.playerJoined(code);
+        if (roster.status() == GameStatus.LOBBY) gameTimers.arm(code, GameTimers.Kind.LOBBY);
+        // Lobby joins are batched into PLAYERS_JOINED events; late joiners get a full state frame
+        if (roster.status() == GameStatus.LOBBY) {
+            webSocketBroadcaster.broadcastPlayerJoined(code, saved);
+        } else {
+            webSocketBroadcaster.broadcastGameState(getGameByCode(code));
+        }
+        // The roster's copy is shared with other readers; only this response carries the token
+        return Player.builder().id(saved.getId()).name(saved.getName()).profileId(profileId)
+            .profileToken(playerStatsService.profileToken(profileId)).team(saved.getTeam()).game(saved.getGame()).build();
     }
 
+    /**
+     * The game's roster, loaded on the first join. Ended games get none: their roster is released
+     * when they end and nothing would evict one loaded later.
+     */
+    private LobbyRoster.Roster rosterFor(String code) {
+        LobbyRoster.Roster roster = lobbyRoster.get(code);
+        if (roster != null) return roster;
+        Game game = gameRepository.findByCode(code)
+            .orElseThrow(() -> new RuntimeException("Game not found"));
+        if (game.getStatus() == GameStatus.ENDED) throw new RuntimeException("This game has ended");
+        return lobbyRoster.load(game, playerRepository.findByGameCode(code));
+    }
+
+    @Transactional
     public Game createGame(String topic) {
         String code;
         do { 
@@ -64,24 +132,36 @@ public class GameService {
             .status(GameStatus.LOBBY)
             .topic(topic)
             .build();
-        Game saved = gameRepository.save(game);
+        Game saved = save(game);
+        telemetry.gameCreated(code);
+        gameTimers.arm(code, GameTimers.Kind.LOBBY);
         // Broadcast new game state after creation
         webSocketBroadcaster.broadcastGameState(saved);
         return saved;
     }
 
+    /**
+     * Served from the lobby roster when the game has one, otherwise a read-only (replica) query.
+     */
+    @Transactional(readOnly = true)
     public List<Player> getPlayersInGame(String code) {
-        Game game = gameRepository.findByCode(code)
-            .orElseThrow(() -> new RuntimeException("Game not found"));
-        return playerRepository.findByGameCode(game.getCode());
+        LobbyRoster.Roster roster = lobbyRoster.get(code);
+        if (roster != null) return roster.players();
+        return stalenessGuard.readYourWrites(code, () -> {
+            Game game = gameRepository.findByCode(code)
+                .orElseThrow(() -> new RuntimeException("Game not found"));
+            return playerRepository.findByGameCode(game.getCode());
+        });
     }
 
+    @Transactional
     public Game startGame(String code) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
 
         // 1. Set status
         game.setStatus(GameStatus.IN_PROGRESS);
+        lobbyRoster.updateStatus(code, GameStatus.IN_PROGRESS);
         // 2. Set round number
         game.setRoundNumber(1);
         // 3. Set strikes
@@ -91,21 +171,49 @@ public class GameService {
         game.setBlueScore(0);
         // 5. Set starting team (randomly)
         game.setCurrentTeam(Math.random() < 0.5 ? Team.RED : Team.BLUE);
-        // 6. Select and persist a random question for the round
-        java.util.List<Question> allQuestions = questionRepository.findAll();
-        if (!allQuestions.isEmpty()) {
-            Question selected = allQuestions.get((int)(Math.random() * allQuestions.size()));
-            game.setCurrentQuestion(selected);
+        // 6. Select and persist a question of the game's topic for the round
+        Long previousQuestionId = currentQuestionId(game);
+        Question selected = drawQuestion(game);
+        game.setCurrentQuestion(selected);
+        if (selected != null) {
             System.out.println("Selected question for game " + code + ": " + selected.getText());
-        } else {
-            game.setCurrentQuestion(null);
         }
         // 7. Broadcast updated state
-        Game saved = gameRepository.save(game);
+        Game saved = save(game);
+        questionCatalog.release(previousQuestionId);
+        telemetry.gameStarted(code);
+        gameTimers.cancel(code, GameTimers.Kind.LOBBY);
+        armTurnClock(saved);
+        webSocketBroadcaster.closeLobby(code);
         webSocketBroadcaster.broadcastGameState(saved);
         return saved;
     }
 
+    /**
+     * Draws the round's question from the topic pools (less-played questions first) and loads it
+     * by id, which the second-level cache usually serves. A question deleted behind the index's
+     * back (or retired by an edit) is dropped from it and another one is drawn.
+     */
+    private Question drawQuestion(Game game) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Long id = questionPoolIndex.draw(game.getTopic());
+            if (id == null) return null;
+            // Pinned until the game's transaction completes, so the row cannot be deleted under it
+            if (!questionCatalog.pin(id)) {
+                questionPoolIndex.remove(id);
+                continue;
+            }
+            java.util.Optional<Question> question = questionRepository.findById(id);
+            if (question.isPresent() && !question.get().isRetired()) return question.get();
+            questionPoolIndex.remove(id);
+        }
+        return null;
+    }
+
+    private static Long currentQuestionId(Game game) {
+        return game.getCurrentQuestion() != null ? game.getCurrentQuestion().getId() : null;
+    }
+
     @Transactional
     public void endGame(String code) {
         Game game = gameRepository.findByCode(code)
@@ -113,9 +221,17 @@ public class GameService {
 
         // Delete all players first (if cascade is not set up)
         playerRepository.deleteAll(game.getPlayers());
+        lobbyRoster.evict(code);
+        playerStatsService.discard(code);
+        gameTimers.cancelAll(code);
+        eventPublisher.publishEvent(new GameClosedEvent(code));
+        telemetry.gameDeleted(code, game.getStatus());
+        webSocketBroadcaster.closeGame(code);
 
         // Then delete game
         gameRepository.delete(game);
+        stalenessGuard.recordWrite(code);
+        questionCatalog.release(currentQuestionId(game));
     }
 
 
@@ -142,6 +258,7 @@ public class GameService {
     /**
      * Reveal an answer for the current question by ID. Adds to revealedAnswerIds.
      */
+    @Transactional
     public Game revealAnswer(String code, Long answerId) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -151,27 +268,19 @@ public class GameService {
             game.setRevealedAnswerIds(new java.util.HashSet<>());
         }
         game.getRevealedAnswerIds().add(answerId);
-        return gameRepository.save(game);
+        return save(game);
     }
 
     /**
      * Move to the next round: increment round, reset strikes, select new question, clear revealed answers.
      * If maxRounds reached, set status to ENDED and winner.
      */
+    @Transactional
     public Game advanceToNextRound(String code) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
         if (game.getRoundNumber() >= game.getMaxRounds()) {
-            // End game
-            game.setStatus(GameStatus.ENDED);
-            if (game.getRedScore() > game.getBlueScore()) {
-                game.setWinner(Team.RED);
-            } else if (game.getBlueScore() > game.getRedScore()) {
-                game.setWinner(Team.BLUE);
-            } else {
-                game.setWinner(null); // Tie
-            }
-            return gameRepository.save(game);
+            return finish(game);
         }
         game.setRoundNumber(game.getRoundNumber() + 1);
         game.setStrikes(0);
@@ -181,26 +290,41 @@ public class GameService {
         } else {
             game.setCurrentTeam(Team.BLUE);
         }
-        // Select a new random question
-        java.util.List<Question> allQuestions = questionRepository.findAll();
-        if (!allQuestions.isEmpty()) {
-            Question selected = allQuestions.get((int)(Math.random() * allQuestions.size()));
-            game.setCurrentQuestion(selected);
-        } else {
-            game.setCurrentQuestion(null);
-        }
+        // Select a new question of the game's topic
+        Long previousQuestionId = currentQuestionId(game);
+        game.setCurrentQuestion(drawQuestion(game));
         // Clear revealed answers
         game.setRevealedAnswerIds(new java.util.HashSet<>());
-        return gameRepository.save(game);
+        Game saved = save(game);
+        questionCatalog.release(previousQuestionId);
+        armTurnClock(saved);
+        return saved;
     }
 
     /**
      * End the game immediately and set the winner.
      */
+    @Transactional
     public Game endGameAndSetWinner(String code) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
+        return finish(game);
+    }
+
+    /**
+     * Ends the game, sets the winner and, the first time a started game ends, folds it into
+     * the players' profiles and leaderboards.
+     */
+    private Game finish(Game game) {
+        String code = game.getCode();
+        boolean alreadyEnded = game.getStatus() == GameStatus.ENDED;
+        boolean started = game.getStatus() == GameStatus.IN_PROGRESS;
+        // Read the players before the roster is dropped
+        LobbyRoster.Roster roster = lobbyRoster.get(code);
+        List<Player> players = !started ? List.of()
+            : roster != null ? roster.players() : playerRepository.findByGameCode(code);
         game.setStatus(GameStatus.ENDED);
+        release(code);
         if (game.getRedScore() > game.getBlueScore()) {
             game.setWinner(Team.RED);
         } else if (game.getBlueScore() > game.getRedScore()) {
@@ -208,17 +332,43 @@ public class GameService {
         } else {
             game.setWinner(null); // Tie
         }
-        return gameRepository.save(game);
+        // An edited or deleted question version is not kept for games that are over
+        Long questionId = currentQuestionId(game);
+        if (questionCatalog.isRetired(questionId)) game.setCurrentQuestion(null);
+        Game saved = save(game);
+        if (!alreadyEnded) {
+            telemetry.gameEnded(code);
+            // A lobby closed before it started is not a game played
+            if (started) playerStatsService.recordGameEnd(saved, players);
+            else playerStatsService.discard(code);
+        }
+        questionCatalog.release(questionId);
+        return saved;
+    }
+
+    /**
+     * Drops what an ended game held in memory: its roster, timers and idempotency records.
+     */
+    private void release(String code) {
+        // A join still holding the roster sees the game ended
+        lobbyRoster.updateStatus(code, GameStatus.ENDED);
+        lobbyRoster.evict(code);
+        gameTimers.cancelAll(code);
+        eventPublisher.publishEvent(new GameClosedEvent(code));
     }
 
 
+    @Transactional
     public Game addStrike(String code) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
         game.setStrikes(game.getStrikes() + 1);
-        return gameRepository.save(game);
+        Game saved = save(game);
+        armTurnClock(saved);
+        return saved;
     }
 
+    @Transactional
     public Game switchTeam(String code) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -228,10 +378,13 @@ public class GameService {
             game.setCurrentTeam(Team.BLUE);
         }
         game.setStrikes(0);
-        return gameRepository.save(game);
+        Game saved = save(game);
+        armTurnClock(saved);
+        return saved;
     }
 
 
+    @Transactional
     public Game addScore(String code, Team team, int points, int multiplier) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -241,25 +394,27 @@ public class GameService {
         } else if (team == Team.BLUE) {
             game.setBlueScore(game.getBlueScore() + totalPoints);
         }
-        return gameRepository.save(game);
+        return save(game);
     }
 
     // --- Turn Management, Strikes, and Steal Mechanic ---
 
     /**
-     * Checks if guess matches answer text or any synonym.
+     * Returns the answer index for the round: the cached index of the game's current question
+     * when there is one, otherwise an index over the supplied answers.
      */
-    private boolean isCorrectGuess(String guess, String answerText) {
-        if (guess == null || answerText == null) return false;
-        if (guess.equalsIgnoreCase(answerText)) return true;
-        return synonymService.areSynonyms(guess, answerText);
+    private AnswerIndex answerIndexFor(Game game, java.util.List<com.feud.model.Answer> answers) {
+        if (game.getCurrentQuestion() != null) {
+            return answerCheckerService.indexFor(game.getCurrentQuestion());
+        }
+        return answerCheckerService.index(answers);
     }
 
     /**
      * Awards points for revealed answers to the current team.
      * Only unrevealed answers are scored on correct guess or steal.
      */
-    private void awardPointsForRevealedAnswers(Game game, java.util.List<com.feud.model.Answer> answers, Team team) {
+    private int awardPointsForRevealedAnswers(Game game, java.util.List<com.feud.model.Answer> answers, Team team) {
         int points = 0;
         for (com.feud.model.Answer a : answers) {
             if (game.getRevealedAnswerIds().contains(a.getId())) {
@@ -271,24 +426,31 @@ public class GameService {
         } else if (team == Team.BLUE) {
             game.setBlueScore(game.getBlueScore() + points);
         }
+        return points;
     }
 
     /**
      * Submit a guess for the current team. Reveals answer if correct (by text or synonym), awards points, advances round if all answers revealed.
      */
+    @Transactional
     public boolean submitGuess(String code, String guess, java.util.List<com.feud.model.Answer> answers) {
+        long started = System.nanoTime();
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
         validateGameInProgress(game);
+        AnswerIndex index = answerIndexFor(game, answers);
         boolean correct = false;
         int pointsAwarded = 0;
-        for (com.feud.model.Answer a : answers) {
-            if (isCorrectGuess(guess, a.getText()) && !game.getRevealedAnswerIds().contains(a.getId())) {
+        Long matchedId = null;
+        for (com.feud.model.Answer a : answerCheckerService.matchGuess(index, guess, game.getRevealedAnswerIds())) {
+            if (!game.getRevealedAnswerIds().contains(a.getId())) {
                 correct = true;
                 game.getRevealedAnswerIds().add(a.getId()); // reveal answer automatically
                 pointsAwarded += a.getPoints();
+                if (matchedId == null) matchedId = a.getId();
             }
         }
+        logGuess(game, guess, matchedId, started);
         if (correct) {
             game.setStrikes(0); // reset strikes on correct guess
             // Award points for this guess to current team
@@ -302,19 +464,30 @@ public class GameService {
         } else {
             game.setStrikes(game.getStrikes() + 1);
         }
+        playerStatsService.recordGuess(code, game.getCurrentTeam(), correct);
         // If all answers revealed, advance round automatically
-        boolean allRevealed = answers.stream().allMatch(ans -> game.getRevealedAnswerIds().contains(ans.getId()));
+        boolean allRevealed = index.answers().stream().allMatch(ans -> game.getRevealedAnswerIds().contains(ans.getId()));
         if (allRevealed) {
             advanceToNextRound(code);
         }
-        gameRepository.save(game);
+        save(game);
+        armTurnClock(game);
         webSocketBroadcaster.broadcastGameState(game);
         return correct;
     }
 
+    /**
+     * Hands the scored guess to the guess log; misses are what the synonym suggestions are built from.
+     */
+    private void logGuess(Game game, String guess, Long matchedId, long started) {
+        guessLog.record(game.getCode(), currentQuestionId(game), guess, matchedId, System.nanoTime() - started);
+        telemetry.guessScored(game.getCode());
+    }
+
     /**
      * Switches the turn to the other team and resets strikes.
      */
+    @Transactional
     public Game switchTurn(String code) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -324,39 +497,51 @@ public class GameService {
             game.setCurrentTeam(Team.RED);
         }
         game.setStrikes(0);
-        return gameRepository.save(game);
+        Game saved = save(game);
+        armTurnClock(saved);
+        return saved;
     }
 
     /**
      * Attempt a steal after 3 strikes. Awards points for all revealed answers to stealing team.
      */
+    @Transactional
     public boolean attemptSteal(String code, String guess, java.util.List<com.feud.model.Answer> answers) {
+        long started = System.nanoTime();
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
         validateGameInProgress(game);
         if (game.getStrikes() < 3) throw new RuntimeException("Steal not allowed yet");
+        AnswerIndex index = answerIndexFor(game, answers);
         boolean correct = false;
         int pointsAwarded = 0;
-        for (com.feud.model.Answer a : answers) {
-            if (isCorrectGuess(guess, a.getText()) && !game.getRevealedAnswerIds().contains(a.getId())) {
+        Long matchedId = null;
+        for (com.feud.model.Answer a : answerCheckerService.matchGuess(index, guess, game.getRevealedAnswerIds())) {
+            if (!game.getRevealedAnswerIds().contains(a.getId())) {
                 correct = true;
                 game.getRevealedAnswerIds().add(a.getId());
                 pointsAwarded += a.getPoints();
+                if (matchedId == null) matchedId = a.getId();
             }
         }
+        logGuess(game, guess, matchedId, started);
         // Award all revealed answer points to stealing team
         Team stealingTeam = (game.getCurrentTeam() == Team.RED) ? Team.BLUE : Team.RED;
-        awardPointsForRevealedAnswers(game, answers, stealingTeam);
-        // Reset strikes and switch turn after steal attempt
+        int stolen = awardPointsForRevealedAnswers(game, index.answers(), stealingTeam);
+        if (correct) playerStatsService.recordSteal(code, stealingTeam, stolen);
+        // Reset strikes and switch turn after steal attempt (inline: switchTurn's own lookup
+        // would flush the game half-updated)
+        game.setCurrentTeam(stealingTeam);
         game.setStrikes(0);
-        switchTurn(code);
-        gameRepository.save(game);
+        game = save(game);
+        armTurnClock(game);
         webSocketBroadcaster.broadcastGameState(game);
         return correct;
     }
 
     // --- Faceoff Logic ---
 
+    @Transactional
     public Game startFaceoff(String code, Long redPlayerId, Long bluePlayerId) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -365,35 +550,88 @@ public class GameService {
         game.setRedFaceoffAnswer(null);
         game.setBlueFaceoffAnswer(null);
         game.setFaceoffInProgress(true);
-        return gameRepository.save(game);
+        faceoffBuzzer.arm(code);
+        Game saved = save(game);
+        gameTimers.cancel(code, GameTimers.Kind.TURN);
+        gameTimers.arm(code, GameTimers.Kind.FACEOFF);
+        return saved;
     }
 
-    public Game submitFaceoffAnswer(String code, Team team, String answer) {
+    /**
+     * Records a team's faceoff buzz, stamped with the request's arrival time ({@link System#nanoTime()})
+     * so the team that answered first wins ties however long loading the game took. Who buzzed first
+     * is arbitrated in memory by FaceoffBuzzer and only the team's own answer column is written, so
+     * concurrent buzzes never clobber each other. The faceoff resolves and is broadcast once both
+     * teams have answered, or when the first buzzer named the top answer and the buzz grace window
+     * past its stamp has closed: a buzz stamped earlier but processed later still counts.
+     */
+    @Transactional
+    public Game submitFaceoffAnswer(String code, Team team, String answer, long arrivedNanos) {
         Game game = gameRepository.findByCode(code)
             .orElseThrow(() -> new RuntimeException("Game not found"));
         if (!game.isFaceoffInProgress()) throw new RuntimeException("No faceoff in progress");
+        if (team == null) throw new RuntimeException("Team is required");
+        FaceoffBuzzer.Round round = faceoffBuzzer.roundFor(code);
+        if (round.buzz(team, answer, arrivedNanos) == null) {
+            throw new RuntimeException("This team already answered the faceoff");
+        }
+        // The update clears the persistence context: the game read again below is not dirty, so
+        // the rest of its row is never written back over the other team's buzz
         if (team == Team.RED) {
-            game.setRedFaceoffAnswer(answer);
-        } else if (team == Team.BLUE) {
-            game.setBlueFaceoffAnswer(answer);
+            gameRepository.updateRedFaceoffAnswer(code, answer);
+        } else {
+            gameRepository.updateBlueFaceoffAnswer(code, answer);
+        }
+        stalenessGuard.recordWrite(code);
+        game = gameRepository.findByCode(code).orElseThrow(() -> new RuntimeException("Game not found"));
+        // Without the round's question the host resolves manually via resolveFaceoffAndSetTurn
+        if (game.getCurrentQuestion() == null) return initialized(game);
+        AnswerIndex index = answerCheckerService.indexFor(game.getCurrentQuestion());
+        FaceoffBuzzer.Buzz first = round.first();
+        // Within the grace window the timer resolves the faceoff when it closes
+        boolean decided = round.bothAnswered()
+            || isTopAnswer(first.answer(), index) && !gameTimers.armFaceoffGrace(code, first.nanos());
+        if (decided && round.tryResolve()) {
+            applyBuzzes(game, round);
+            resolveFaceoffAndSetTurn(game, index.answers());
+            webSocketBroadcaster.broadcastGameState(game);
         }
-        return gameRepository.save(game);
+        return initialized(game);
     }
 
+    private void applyBuzzes(Game game, FaceoffBuzzer.Round round) {
+        FaceoffBuzzer.Buzz red = round.of(Team.RED);
+        FaceoffBuzzer.Buzz blue = round.of(Team.BLUE);
+        if (red != null) game.setRedFaceoffAnswer(red.answer());
+        if (blue != null) game.setBlueFaceoffAnswer(blue.answer());
+    }
+
+    private boolean isTopAnswer(String guess, AnswerIndex index) {
+        if (index.answers().isEmpty()) return false;
+        int top = index.answers().stream().mapToInt(com.feud.model.Answer::getPoints).max().getAsInt();
+        return getAnswerPoints(guess, index) == top;
+    }
+
+
+    /**
+     * Resolves the faceoff of a game the host decides by hand; the game is read (from the primary)
+     * and saved in one transaction.
+     */
+    @Transactional
+    public Team resolveFaceoff(String code, java.util.List<com.feud.model.Answer> answers) {
+        Game game = gameRepository.findByCode(code)
+            .orElseThrow(() -> new RuntimeException("Game not found"));
+        return resolveFaceoffAndSetTurn(game, answers);
+    }
 
     /**
      * Resolves the faceoff, sets the starting team for the round, and resets faceoff state.
+     * The higher-scoring answer wins; equal scores go to whichever team buzzed first.
      * Returns the winning team (or null for tie/invalid).
      */
     public Team resolveFaceoffAndSetTurn(Game game, java.util.List<com.feud.model.Answer> answers) {
         if (!game.isFaceoffInProgress()) return null;
-        String redAns = game.getRedFaceoffAnswer();
-        String blueAns = game.getBlueFaceoffAnswer();
-        int redPoints = getAnswerPoints(redAns, answers);
-        int bluePoints = getAnswerPoints(blueAns, answers);
-        Team winner = null;
-        if (redPoints > bluePoints) winner = Team.RED;
-        else if (bluePoints > redPoints) winner = Team.BLUE;
+        Team winner = faceoffWinner(game, answers);
         // Set the starting team for the round
         game.setCurrentTeam(winner);
         // Reset faceoff state
@@ -402,26 +640,151 @@ public class GameService {
         game.setBlueFaceoffPlayerId(null);
         game.setRedFaceoffAnswer(null);
         game.setBlueFaceoffAnswer(null);
-        gameRepository.save(game);
+        faceoffBuzzer.clear(game.getCode());
+        save(game);
+        gameTimers.cancel(game.getCode(), GameTimers.Kind.FACEOFF);
+        armTurnClock(game);
         return winner;
     }
 
-    private int getAnswerPoints(String guess, java.util.List<com.feud.model.Answer> answers) {
+    /**
+     * The higher-scoring answer wins; equal scores go to whichever team buzzed first, and
+     * nobody wins when neither team answered.
+     */
+    private Team faceoffWinner(Game game, java.util.List<com.feud.model.Answer> answers) {
+        AnswerIndex index = answerIndexFor(game, answers);
+        int redPoints = getAnswerPoints(game.getRedFaceoffAnswer(), index);
+        int bluePoints = getAnswerPoints(game.getBlueFaceoffAnswer(), index);
+        if (redPoints > bluePoints) return Team.RED;
+        if (bluePoints > redPoints) return Team.BLUE;
+        FaceoffBuzzer.Round round = faceoffBuzzer.currentRound(game.getCode());
+        if (redPoints >= 0 && round != null && round.first() != null) return round.first().team();
+        return null;
+    }
+
+    private int getAnswerPoints(String guess, AnswerIndex index) {
         if (guess == null) return -1;
-        for (com.feud.model.Answer a : answers) {
-            // Use your answer checking logic here (e.g., AnswerCheckerService)
-            if (a.getText() != null && a.getText().equalsIgnoreCase(guess)) {
-                return a.getPoints();
-            }
+        int points = -1;
+        for (com.feud.model.Answer a : answerCheckerService.matchGuess(index, guess, java.util.Collections.emptySet())) {
+            points = Math.max(points, a.getPoints());
         }
-        return -1;
+        return points;
+    }
+
+    // --- Timeouts (fired by GameTimers) ---
+
+    /**
+     * Restarts the turn clock while a team is guessing; stops it during faceoffs, steals
+     * (three strikes, the host resolves the steal) and once the game is no longer in progress.
+     */
+    private void armTurnClock(Game game) {
+        if (game.getStatus() == GameStatus.IN_PROGRESS && !game.isFaceoffInProgress() && game.getStrikes() < 3) {
+            gameTimers.arm(game.getCode(), GameTimers.Kind.TURN);
+        } else {
+            gameTimers.cancel(game.getCode(), GameTimers.Kind.TURN);
+        }
+    }
+
+    /**
+     * The current team let its turn clock run out: counts as a strike. Timers fire on their own
+     * threads, so the strike is a conditional update that loses to any strike, steal or faceoff
+     * that changed the game after it was read here.
+     */
+    @Transactional
+    public void expireTurn(String code) {
+        Game game = gameRepository.findByCode(code).orElse(null);
+        if (game == null || game.getStatus() != GameStatus.IN_PROGRESS || game.isFaceoffInProgress() || game.getStrikes() >= 3) return;
+        if (gameRepository.addStrikeIfUnchanged(code, game.getStrikes()) == 0) return;
+        expired(code);
+    }
+
+    /**
+     * The faceoff answer deadline passed: resolves it with the buzzes received so far, so a team
+     * that did not answer loses it (and nobody gets the round when neither answered). Only the
+     * faceoff columns are written, and only while the faceoff is still open.
+     */
+    @Transactional
+    public void expireFaceoff(String code) {
+        Game game = gameRepository.findByCode(code).orElse(null);
+        if (game == null || !game.isFaceoffInProgress()) return;
+        FaceoffBuzzer.Round round = faceoffBuzzer.currentRound(code);
+        if (round != null && !round.tryResolve()) return;
+        if (round != null) applyBuzzes(game, round);
+        java.util.List<com.feud.model.Answer> answers = game.getCurrentQuestion() != null
+            ? game.getCurrentQuestion().getAnswers() : java.util.List.of();
+        Team winner = faceoffWinner(game, answers);
+        faceoffBuzzer.clear(code);
+        if (gameRepository.endFaceoff(code, winner) == 0) return;
+        gameTimers.cancel(code, GameTimers.Kind.FACEOFF);
+        expired(code);
+    }
+
+    /**
+     * Nobody joined the lobby for the idle timeout: ends it. The game is kept (as ENDED, without
+     * a winner and not counted in player stats) for the host to see; deleting it stays explicit.
+     * A start that got in first keeps the game going.
+     */
+    @Transactional
+    public void expireLobby(String code) {
+        if (gameRepository.endLobby(code) == 0) return;
+        release(code);
+        telemetry.gameEnded(code);
+        playerStatsService.discard(code);
+        expired(code);
+    }
+
+    /**
+     * After a timeout's conditional update: reads the game back (the update cleared the
+     * persistence context), re-arms the turn clock and broadcasts.
+     */
+    private void expired(String code) {
+        stalenessGuard.recordWrite(code);
+        Game game = gameRepository.findByCode(code).map(GameService::initialized).orElse(null);
+        if (game == null) return;
+        armTurnClock(game);
+        webSocketBroadcaster.broadcastGameState(game);
     }
 
+    /**
+     * Every game, loaded for the admin listing (from the primary).
+     */
+    @Transactional(readOnly = true)
+    public List<Game> getAllGames() {
+        List<Game> games = gameRepository.findAll();
+        games.forEach(GameService::initialized);
+        return games;
+    }
+
+    /**
+     * Read-only lookup; served by the replica when one is configured, unless the game
+     * was written within the replica lag window.
+     */
+    @Transactional(readOnly = true)
     public Game getGameByCode(String code) {
-        return gameRepository.findByCode(code)
+        return stalenessGuard.readYourWrites(code, () -> gameRepository.findByCode(code).map(GameService::initialized))
             .orElseThrow(() -> new RuntimeException("Game not found"));
     }
 
+    /**
+     * Saves the game and records the write for read-your-writes routing.
+     */
+    private Game save(Game game) {
+        Game saved = gameRepository.save(game);
+        stalenessGuard.recordWrite(saved.getCode());
+        return initialized(saved);
+    }
+
+    /**
+     * Loads the collections the game's JSON shows: responses are written after the service's
+     * transaction has ended (open-in-view is off).
+     */
+    private static Game initialized(Game game) {
+        Hibernate.initialize(game.getPlayers());
+        Hibernate.initialize(game.getRevealedAnswerIds());
+        if (game.getCurrentQuestion() != null) Hibernate.initialize(game.getCurrentQuestion().getAnswers());
+        return game;
+    }
+
     public GameWebSocketBroadcaster getWebSocketBroadcaster() {
         return webSocketBroadcaster;
     }
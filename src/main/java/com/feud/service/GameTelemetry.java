@@ -0,0 +1,373 @@
+package com.feud.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.dto.TelemetrySnapshot;
+import com.feud.model.GameStatus;
+import com.feud.repository.GameRepository;
+import com.feud.websocket.GameWebSocketBroadcaster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Live aggregates for the admin dashboard, kept up to date by {@link GameService} as games are
+ * created, started, ended and deleted, players join and guesses are scored. The database is read
+ * once at startup for the games already running. One publisher thread builds a snapshot every
+ * interval, serializes it once and hands the same JSON to every open stream, so the cost per tick
+ * does not depend on how many dashboards are connected. Each stream is written on a sender thread,
+ * one snapshot at a time: a stream still busy with the previous snapshot skips this one, and one
+ * busy for longer than feud.telemetry.send-timeout-ms is dropped, so a slow dashboard never holds
+ * up the others or the publisher.
+ */
+@Component
+public class GameTelemetry {
+    private static final Logger log = LoggerFactory.getLogger(GameTelemetry.class);
+    public static final String EVENT = "telemetry";
+
+    private final GameRepository gameRepository;
+    private final GameWebSocketBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+    private final long intervalMillis;
+    private final long streamTimeoutMillis;
+    private final long sendTimeoutMillis;
+    private final int topGames;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final RateWindow guesses;
+    private final Map<String, LiveGame> live = new ConcurrentHashMap<>();
+    private final AtomicLong endedGames = new AtomicLong();
+    private final Map<SseEmitter, Stream> streams = new ConcurrentHashMap<>();
+    private final Executor sender;
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "admin-telemetry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public GameTelemetry(GameRepository gameRepository, GameWebSocketBroadcaster broadcaster, ObjectMapper objectMapper,
+                         @Value("${feud.telemetry.interval-ms:1000}") long intervalMillis,
+                         @Value("${feud.telemetry.stream-timeout-minutes:30}") long streamTimeoutMinutes,
+                         @Value("${feud.telemetry.send-timeout-ms:5000}") long sendTimeoutMillis,
+                         @Value("${feud.telemetry.rate-window-seconds:10}") int rateWindowSeconds,
+                         @Value("${feud.telemetry.top-games:10}") int topGames) {
+        this(gameRepository, broadcaster, objectMapper, intervalMillis, TimeUnit.MINUTES.toMillis(streamTimeoutMinutes),
+            sendTimeoutMillis, rateWindowSeconds, topGames, System::currentTimeMillis, Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "admin-telemetry-send");
+                thread.setDaemon(true);
+                return thread;
+            }));
+    }
+
+    GameTelemetry(GameRepository gameRepository, GameWebSocketBroadcaster broadcaster, ObjectMapper objectMapper,
+                  long intervalMillis, long streamTimeoutMillis, long sendTimeoutMillis, int rateWindowSeconds, int topGames,
+                  LongSupplier clock, Executor sender) {
+        this.gameRepository = gameRepository;
+        this.broadcaster = broadcaster;
+        this.objectMapper = objectMapper;
+        this.intervalMillis = Math.max(100, intervalMillis);
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.sendTimeoutMillis = Math.max(1, sendTimeoutMillis);
+        this.sender = sender;
+        this.topGames = Math.max(0, topGames);
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1, rateWindowSeconds));
+        this.clock = clock;
+        this.guesses = new RateWindow(Math.max(1, rateWindowSeconds));
+    }
+
+    @PostConstruct
+    void start() {
+        load();
+        publisher.scheduleAtFixedRate(this::publish, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads the running games and the number of ended ones, the only time the aggregates are queried.
+     */
+    void load() {
+        try {
+            for (Object[] row : gameRepository.findLiveGameSummaries()) {
+                LiveGame game = new LiveGame((GameStatus) row[1]);
+                game.players.set(((Number) row[2]).intValue());
+                live.putIfAbsent((String) row[0], game);
+            }
+            endedGames.set(gameRepository.countByStatus(GameStatus.ENDED));
+        } catch (RuntimeException e) {
+            log.warn("Could not load the running games for telemetry: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        publisher.shutdownNow();
+        for (SseEmitter stream : streams.keySet()) stream.complete();
+        if (sender instanceof ExecutorService executor) executor.shutdownNow();
+    }
+
+    // --- Game events ---
+
+    public void gameCreated(String code) {
+        live.put(code, new LiveGame(GameStatus.LOBBY));
+    }
+
+    public void gameStarted(String code) {
+        live.computeIfAbsent(code, c -> new LiveGame(GameStatus.IN_PROGRESS)).status = GameStatus.IN_PROGRESS;
+    }
+
+    /**
+     * Called once per game, the first time it ends.
+     */
+    public void gameEnded(String code) {
+        live.remove(code);
+        endedGames.incrementAndGet();
+    }
+
+    public void gameDeleted(String code, GameStatus status) {
+        if (status == GameStatus.ENDED) {
+            endedGames.updateAndGet(n -> Math.max(0, n - 1));
+        } else {
+            live.remove(code);
+        }
+    }
+
+    public void playerJoined(String code) {
+        LiveGame game = live.get(code);
+        if (game != null) game.players.incrementAndGet();
+    }
+
+    public void guessScored(String code) {
+        long now = clock.getAsLong();
+        guesses.record(now);
+        LiveGame game = live.get(code);
+        if (game != null) game.guess(now, windowMillis);
+    }
+
+    /**
+     * After every game was deleted at once.
+     */
+    public void gamesCleared() {
+        live.clear();
+        endedGames.set(0);
+    }
+
+    /**
+     * After every player was deleted at once.
+     */
+    public void playersCleared() {
+        for (LiveGame game : live.values()) game.players.set(0);
+    }
+
+    // --- Dashboard streams ---
+
+    /**
+     * Opens a dashboard stream. The current snapshot is sent right away, then one per interval.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(streamTimeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        emitter.onCompletion(() -> streams.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> streams.remove(emitter));
+        Stream stream = new Stream(emitter);
+        streams.put(emitter, stream);
+        String json = serialize(snapshot());
+        if (json != null) stream.offer(json, clock.getAsLong());
+        return emitter;
+    }
+
+    int streamCount() {
+        return streams.size();
+    }
+
+    void publish() {
+        if (streams.isEmpty()) return;
+        try {
+            String json = serialize(snapshot());
+            if (json == null) return;
+            long now = clock.getAsLong();
+            for (Stream stream : streams.values()) stream.offer(json, now);
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule
+            log.warn("Telemetry publish failed: {}", e.getMessage());
+        }
+    }
+
+    private String serialize(TelemetrySnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize telemetry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * A dashboard stream and the snapshot being written to it, if any.
+     */
+    private final class Stream {
+        private static final long IDLE = Long.MIN_VALUE;
+        private final SseEmitter emitter;
+        // When the snapshot being written was handed over, IDLE when none is
+        private final AtomicLong sendingSince = new AtomicLong(IDLE);
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(String json, long now) {
+            long since = sendingSince.get();
+            if (since != IDLE) {
+                if (now - since >= sendTimeoutMillis) drop();
+                return;
+            }
+            if (!sendingSince.compareAndSet(IDLE, now)) return;
+            try {
+                sender.execute(() -> {
+                    try {
+                        emitter.send(SseEmitter.event().name(EVENT).data(json, MediaType.APPLICATION_JSON));
+                    } catch (IOException | IllegalStateException e) {
+                        // Dashboard went away; the container completes the emitter
+                        streams.remove(emitter);
+                    } finally {
+                        sendingSince.set(IDLE);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Sender shut down
+                sendingSince.set(IDLE);
+            }
+        }
+
+        /**
+         * Stops sending to a stream stuck in a write. Completing it waits for that write, so it is
+         * done on a sender thread.
+         */
+        private void drop() {
+            if (streams.remove(emitter, this)) {
+                log.debug("Dropping a telemetry stream stuck in a write for over {} ms", sendTimeoutMillis);
+                try {
+                    sender.execute(emitter::complete);
+                } catch (RuntimeException e) {
+                    // Sender shut down
+                }
+            }
+        }
+    }
+
+    /**
+     * Current aggregates. Walks the running games only; ended games are a counter.
+     */
+    public TelemetrySnapshot snapshot() {
+        long now = clock.getAsLong();
+        Map<GameStatus, Long> games = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : GameStatus.values()) games.put(status, 0L);
+        games.put(GameStatus.ENDED, endedGames.get());
+        long players = 0;
+        List<TelemetrySnapshot.ActiveGame> active = new ArrayList<>();
+        for (Map.Entry<String, LiveGame> entry : live.entrySet()) {
+            LiveGame game = entry.getValue();
+            GameStatus status = game.status;
+            int count = game.players.get();
+            games.merge(status, 1L, Long::sum);
+            players += count;
+            double recent = game.recentGuesses(now, windowMillis);
+            if (recent >= 0.01) {
+                active.add(new TelemetrySnapshot.ActiveGame(entry.getKey(), status, count, Math.round(recent * 100) / 100.0));
+            }
+        }
+        active.sort(Comparator.comparingDouble(TelemetrySnapshot.ActiveGame::recentGuesses).reversed());
+        List<TelemetrySnapshot.ActiveGame> top = List.copyOf(active.subList(0, Math.min(topGames, active.size())));
+        return new TelemetrySnapshot(now, games, players, guesses.perSecond(now), broadcaster.backlog(), top);
+    }
+
+    private static final class LiveGame {
+        volatile GameStatus status;
+        final AtomicInteger players = new AtomicInteger();
+        private double recentGuesses;
+        private long updatedAt;
+
+        LiveGame(GameStatus status) {
+            this.status = status;
+        }
+
+        /**
+         * Exponentially decayed guess count: with a time constant of the rate window it settles
+         * at about the number of guesses made over the last window.
+         */
+        synchronized void guess(long now, long windowMillis) {
+            recentGuesses = recentGuesses(now, windowMillis) + 1;
+            updatedAt = now;
+        }
+
+        synchronized double recentGuesses(long now, long windowMillis) {
+            if (recentGuesses == 0) return 0;
+            return recentGuesses * Math.exp(-(double) Math.max(0, now - updatedAt) / windowMillis);
+        }
+    }
+
+    /**
+     * Guesses per second over the last complete seconds: one counter per second in a ring. Each slot
+     * packs its second (high 32 bits) and count (low 32 bits) in one long, so a guess is one CAS
+     * that also resets a slot left over from an older second, and guesses never share a lock.
+     */
+    private static final class RateWindow {
+        private static final long COUNT = 0xffffffffL;
+        private final AtomicLongArray slots;
+
+        RateWindow(int windowSeconds) {
+            // One extra slot for the second in progress
+            slots = new AtomicLongArray(windowSeconds + 1);
+        }
+
+        void record(long nowMillis) {
+            long second = (nowMillis / 1000) & COUNT;
+            int slot = (int) Math.floorMod(second, (long) slots.length());
+            long packed;
+            long next;
+            do {
+                packed = slots.get(slot);
+                next = packed >>> 32 == second ? packed + 1 : second << 32 | 1;
+            } while (!slots.compareAndSet(slot, packed, next));
+        }
+
+        double perSecond(long nowMillis) {
+            long second = (nowMillis / 1000) & COUNT;
+            int window = slots.length() - 1;
+            long total = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                long packed = slots.get(i);
+                long age = second - (packed >>> 32);
+                if (age > 0 && age <= window) total += packed & COUNT;
+            }
+            return Math.round(total * 100.0 / window) / 100.0;
+        }
+    }
+}
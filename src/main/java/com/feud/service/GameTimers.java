@@ -0,0 +1,145 @@
+package com.feud.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.feud.util.TimingWheel;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-side game clocks on one shared {@link TimingWheel}: the turn clock (a missed turn counts
+ * as a strike), the faceoff answer deadline (the faceoff resolves with whatever was buzzed) and the
+ * lobby idle timeout (the lobby is ended, not deleted). Each game holds at most one timer per kind;
+ * arming a kind cancels the previous one. Expired timers call back into {@link GameService} on the
+ * background executor. A duration of 0 disables that kind; all kinds are off unless configured.
+ * The faceoff buzz grace window is the exception: it is on by default, because early faceoff
+ * resolution waits for it.
+ */
+@Component
+public class GameTimers {
+    private static final Logger log = LoggerFactory.getLogger(GameTimers.class);
+
+    public enum Kind { TURN, FACEOFF, LOBBY }
+
+    private final TimingWheel wheel;
+    private final ObjectProvider<GameService> gameService;
+    private final long[] durationsMillis = new long[Kind.values().length];
+    private final long faceoffGraceNanos;
+    private final Map<String, AtomicReferenceArray<TimingWheel.Timeout>> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameTimers(@Value("${feud.timers.tick-ms:100}") long tickMillis,
+                      @Value("${feud.timers.wheel-size:512}") int wheelSize,
+                      @Value("${feud.timers.turn-seconds:0}") long turnSeconds,
+                      @Value("${feud.timers.faceoff-seconds:0}") long faceoffSeconds,
+                      @Value("${feud.timers.lobby-idle-seconds:0}") long lobbyIdleSeconds,
+                      @Value("${feud.timers.faceoff-grace-ms:150}") long faceoffGraceMillis,
+                      @Qualifier("backgroundExecutor") Executor backgroundExecutor,
+                      ObjectProvider<GameService> gameService) {
+        this(new TimingWheel("game-timers", tickMillis, TimeUnit.MILLISECONDS, wheelSize, backgroundExecutor),
+            TimeUnit.SECONDS.toMillis(turnSeconds), TimeUnit.SECONDS.toMillis(faceoffSeconds),
+            TimeUnit.SECONDS.toMillis(lobbyIdleSeconds), faceoffGraceMillis, gameService);
+    }
+
+    GameTimers(TimingWheel wheel, long turnMillis, long faceoffMillis, long lobbyIdleMillis, long faceoffGraceMillis,
+               ObjectProvider<GameService> gameService) {
+        this.wheel = wheel;
+        this.gameService = gameService;
+        this.faceoffGraceNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, faceoffGraceMillis));
+        durationsMillis[Kind.TURN.ordinal()] = turnMillis;
+        durationsMillis[Kind.FACEOFF.ordinal()] = faceoffMillis;
+        durationsMillis[Kind.LOBBY.ordinal()] = lobbyIdleMillis;
+    }
+
+    /**
+     * (Re)starts the game's timer of this kind, or just cancels it when the kind is disabled.
+     */
+    public void arm(String code, Kind kind) {
+        long millis = durationsMillis[kind.ordinal()];
+        if (millis <= 0) {
+            cancel(code, kind);
+            return;
+        }
+        schedule(code, kind, millis);
+    }
+
+    /**
+     * Moves the faceoff deadline to the end of the buzz grace window opened by the earliest buzz
+     * (stamped with {@link System#nanoTime()}), so that a buzz stamped earlier but processed later
+     * still counts. The faceoff resolves when the window closes, unless both teams answer first.
+     * @return false if the window has already closed: the caller resolves right away
+     */
+    public boolean armFaceoffGrace(String code, long firstBuzzNanos) {
+        long remaining = faceoffGraceNanos - (System.nanoTime() - firstBuzzNanos);
+        if (remaining <= 0) return false;
+        schedule(code, Kind.FACEOFF, TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+        return true;
+    }
+
+    private void schedule(String code, Kind kind, long millis) {
+        AtomicReferenceArray<TimingWheel.Timeout> slots =
+            timers.computeIfAbsent(code, c -> new AtomicReferenceArray<>(Kind.values().length));
+        TimingWheel.Timeout[] self = new TimingWheel.Timeout[1];
+        self[0] = wheel.schedule(() -> fire(code, kind, slots, self[0]), millis, TimeUnit.MILLISECONDS);
+        TimingWheel.Timeout previous = slots.getAndSet(kind.ordinal(), self[0]);
+        if (previous != null) previous.cancel();
+    }
+
+    public void cancel(String code, Kind kind) {
+        AtomicReferenceArray<TimingWheel.Timeout> slots = timers.get(code);
+        if (slots == null) return;
+        TimingWheel.Timeout previous = slots.getAndSet(kind.ordinal(), null);
+        if (previous != null) previous.cancel();
+    }
+
+    /**
+     * Cancels every timer of the game (it ended or was deleted).
+     */
+    public void cancelAll(String code) {
+        AtomicReferenceArray<TimingWheel.Timeout> slots = timers.remove(code);
+        if (slots == null) return;
+        for (int i = 0; i < slots.length(); i++) {
+            TimingWheel.Timeout timeout = slots.getAndSet(i, null);
+            if (timeout != null) timeout.cancel();
+        }
+    }
+
+    private void fire(String code, Kind kind, AtomicReferenceArray<TimingWheel.Timeout> slots, TimingWheel.Timeout timeout) {
+        // Re-armed or cancelled in the meantime
+        if (!slots.compareAndSet(kind.ordinal(), timeout, null)) return;
+        try {
+            GameService games = gameService.getObject();
+            switch (kind) {
+                case TURN -> games.expireTurn(code);
+                case FACEOFF -> games.expireFaceoff(code);
+                case LOBBY -> games.expireLobby(code);
+            }
+        } catch (RuntimeException e) {
+            log.warn("{} timeout of game {} failed: {}", kind, code, e.getMessage());
+        }
+    }
+
+    /**
+     * Timers currently armed across all games.
+     */
+    public int pending() {
+        return wheel.pending();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        wheel.stop();
+    }
+}
@@ -0,0 +1,230 @@
+package com.feud.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only log of every scored guess (hit or miss), used offline to find missing synonyms.
+ * The request thread only allocates an entry and adds it to a lock-free queue, unparking the
+ * background writer if it is asleep; the writer drains the queue into memory-mapped segment files
+ * of fixed size, forces them to disk every fsync interval and rolls to a new file when a segment
+ * is full. When the queue is full (writer behind or disk gone) entries are dropped and counted,
+ * never blocking a guess.
+ *
+ * Off unless feud.guesslog.enabled is set together with feud.guesslog.dir.
+ *
+ * Segment lines are tab-separated: epoch millis, game code, question id, matched answer id
+ * ("-" for a miss), latency in microseconds, guess. See {@link GuessLogAggregator}.
+ */
+@Component
+public class GuessLog {
+    private static final Logger log = LoggerFactory.getLogger(GuessLog.class);
+    private static final int MAX_GUESS_CHARS = 200;
+    // Longest park of an idle writer with nothing to force; entries unpark it sooner
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long fsyncNanos;
+    private final int capacity;
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // Set by the writer before it parks; the first record after that unparks it
+    private final AtomicBoolean parked = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentSeq;
+    private long lastSyncNanos;
+    private boolean dirty;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public GuessLog(@Value("${feud.guesslog.enabled:false}") boolean enabled,
+                    @Value("${feud.guesslog.dir:}") String directory,
+                    @Value("${feud.guesslog.segment-bytes:16777216}") int segmentBytes,
+                    @Value("${feud.guesslog.fsync-ms:1000}") long fsyncMillis,
+                    @Value("${feud.guesslog.queue-capacity:65536}") int capacity) {
+        boolean configured = directory != null && !directory.isBlank();
+        if (enabled && !configured) log.warn("Guess log disabled: feud.guesslog.dir is not set");
+        this.enabled = enabled && configured;
+        this.directory = configured ? Paths.get(directory) : null;
+        this.segmentBytes = Math.max(4096, segmentBytes);
+        this.fsyncNanos = TimeUnit.MILLISECONDS.toNanos(fsyncMillis);
+        this.capacity = capacity;
+        this.writer = new Thread(this::drain, "guess-log-writer");
+        this.writer.setDaemon(true);
+        if (this.enabled) writer.start();
+    }
+
+    /**
+     * Records a scored guess. Called on the request thread: no I/O, no locks.
+     * @param answerId the answer the guess revealed, or null for a miss
+     */
+    public void record(String code, Long questionId, String guess, Long answerId, long latencyNanos) {
+        if (!enabled || guess == null) return;
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(new Entry(System.currentTimeMillis(), code, questionId, guess, answerId, latencyNanos));
+        if (parked.get() && parked.compareAndSet(true, false)) LockSupport.unpark(writer);
+    }
+
+    /**
+     * @return the segment directory, or null if the log is not configured
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    private void drain() {
+        lastSyncNanos = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            Entry entry = queue.poll();
+            if (entry == null) {
+                park();
+                sync(false);
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                append(entry);
+                written.incrementAndGet();
+            } catch (IOException e) {
+                dropped.incrementAndGet();
+                log.warn("Could not write guess log segment in {}: {}", directory, e.getMessage());
+                closeSegment();
+            }
+            sync(false);
+        }
+        sync(true);
+        closeSegment();
+    }
+
+    /**
+     * Sleeps until a record unparks the writer, or until the next fsync is due (nothing left to
+     * force: the idle park). The flag is set before the queue is checked again, so an entry added
+     * in between is either seen here or unparks the writer.
+     */
+    private void park() {
+        parked.set(true);
+        if (queue.isEmpty() && running) {
+            long nanos = dirty ? lastSyncNanos + fsyncNanos - System.nanoTime() : IDLE_PARK_NANOS;
+            if (nanos > 0) LockSupport.parkNanos(this, nanos);
+        }
+        parked.set(false);
+    }
+
+    private void append(Entry entry) throws IOException {
+        byte[] bytes = encode(entry);
+        if (segment == null || segment.remaining() < bytes.length) {
+            closeSegment();
+            openSegment();
+        }
+        segment.put(bytes);
+        dirty = true;
+    }
+
+    private byte[] encode(Entry e) {
+        line.setLength(0);
+        line.append(e.timestamp()).append('\t')
+            .append(e.code()).append('\t')
+            .append(e.questionId() == null ? "-" : e.questionId()).append('\t')
+            .append(e.answerId() == null ? "-" : e.answerId()).append('\t')
+            .append(TimeUnit.NANOSECONDS.toMicros(e.latencyNanos())).append('\t');
+        String guess = e.guess();
+        for (int i = 0; i < guess.length() && i < MAX_GUESS_CHARS; i++) {
+            char c = guess.charAt(i);
+            line.append(c == '\t' || c == '\n' || c == '\r' || c == 0 ? ' ' : c);
+        }
+        line.append('\n');
+        return line.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(directory);
+        Path path = directory.resolve(String.format("guesses-%013d-%04d.log", System.currentTimeMillis(), segmentSeq++));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private void sync(boolean force) {
+        if (segment == null) return;
+        long now = System.nanoTime();
+        if (!force && now - lastSyncNanos < fsyncNanos) return;
+        segment.force();
+        lastSyncNanos = now;
+        dirty = false;
+    }
+
+    /**
+     * Forces the segment and cuts the file to the bytes written. A segment left by a crash keeps
+     * its zero padding, which readers treat as the end of the data.
+     */
+    private void closeSegment() {
+        if (channel == null) return;
+        try {
+            int length = segment.position();
+            segment.force();
+            channel.truncate(length);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not close guess log segment: {}", e.getMessage());
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing left to flush
+            }
+            channel = null;
+            segment = null;
+            dirty = false;
+        }
+    }
+
+    /**
+     * Stops the writer after it has written everything queued so far.
+     */
+    @PreDestroy
+    void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        if (writer.isAlive()) writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    record Entry(long timestamp, String code, Long questionId, String guess, Long answerId, long latencyNanos) {}
+}
@@ -0,0 +1,112 @@
+package com.feud.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.feud.util.GuessNormalizer;
+
+/**
+ * Offline pass over the {@link GuessLog} segments that turns misses into synonym suggestions.
+ * A miss is attributed to the answer revealed next in the same game and question, if that
+ * happens within the window: players who miss tend to rephrase until they hit the answer they
+ * meant. Per answer, the most frequent such misses are the suggested synonyms.
+ *
+ * Can be run outside the application: {@code java -cp <app classpath> com.feud.service.GuessLogAggregator <dir> [minCount]}
+ */
+public final class GuessLogAggregator {
+    public static final long DEFAULT_WINDOW_MILLIS = 30_000;
+    private static final int MAX_PER_ANSWER = 10;
+
+    private GuessLogAggregator() {
+    }
+
+    /**
+     * @return suggestions with at least {@code minCount} occurrences, grouped by answer, most frequent first
+     */
+    public static List<Suggestion> suggestSynonyms(Path directory, int minCount, long windowMillis) throws IOException {
+        Map<String, List<Miss>> pendingByRound = new HashMap<>();
+        Map<Key, Integer> counts = new HashMap<>();
+        for (Path segment : segments(directory)) {
+            for (String line : lines(segment)) {
+                String[] f = line.split("\t", 6);
+                if (f.length < 6 || "-".equals(f[2])) continue;
+                long timestamp = Long.parseLong(f[0]);
+                long questionId = Long.parseLong(f[2]);
+                String round = f[1] + '/' + f[2];
+                if ("-".equals(f[3])) {
+                    String guess = GuessNormalizer.normalize(f[5]);
+                    if (!guess.isEmpty()) pendingByRound.computeIfAbsent(round, r -> new ArrayList<>()).add(new Miss(guess, timestamp));
+                    continue;
+                }
+                List<Miss> misses = pendingByRound.remove(round);
+                if (misses == null) continue;
+                long answerId = Long.parseLong(f[3]);
+                for (Miss miss : misses) {
+                    if (timestamp - miss.timestamp() <= windowMillis) {
+                        counts.merge(new Key(questionId, answerId, miss.guess()), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        Map<Long, List<Suggestion>> byAnswer = new HashMap<>();
+        counts.forEach((key, count) -> {
+            if (count >= minCount) {
+                byAnswer.computeIfAbsent(key.answerId(), a -> new ArrayList<>())
+                    .add(new Suggestion(key.questionId(), key.answerId(), key.guess(), count));
+            }
+        });
+        List<Suggestion> result = new ArrayList<>();
+        byAnswer.keySet().stream().sorted().forEach(answerId -> {
+            List<Suggestion> ranked = byAnswer.get(answerId);
+            ranked.sort(Comparator.comparingInt(Suggestion::count).reversed().thenComparing(Suggestion::guess));
+            result.addAll(ranked.subList(0, Math.min(MAX_PER_ANSWER, ranked.size())));
+        });
+        return result;
+    }
+
+    /**
+     * Segment files in write order (their names start with the creation time).
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("guesses-")).sorted().toList();
+        }
+    }
+
+    /**
+     * Lines of one segment, ignoring the zero padding of a segment that was not closed.
+     */
+    static List<String> lines(Path segment) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int end = 0;
+        while (end < bytes.length && bytes[end] != 0) end++;
+        String text = new String(bytes, 0, end, StandardCharsets.UTF_8);
+        // Drop a trailing partial line
+        int lastNewline = text.lastIndexOf('\n');
+        return lastNewline < 0 ? List.of() : List.of(text.substring(0, lastNewline).split("\n"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "guess-log");
+        int minCount = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        for (Suggestion s : suggestSynonyms(directory, minCount, DEFAULT_WINDOW_MILLIS)) {
+            System.out.println(s.questionId() + "\t" + s.answerId() + "\t" + s.count() + "\t" + s.guess());
+        }
+    }
+
+    private record Miss(String guess, long timestamp) {}
+
+    private record Key(long questionId, long answerId, String guess) {}
+
+    public record Suggestion(long questionId, long answerId, String guess, int count) {}
+}
@@ -0,0 +1,61 @@
+package com.feud.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory ranking of players by score. Entries live in a concurrent skip list ordered by
+ * score (highest first, then id and name), so a score change is one O(log n) insert plus remove
+ * and the top N is read straight off the head of the list. The new entry goes in before the old
+ * one comes out, so a reader never misses the player; for that instant it may see both, and
+ * keeps the first (the higher score).
+ */
+public final class Leaderboard {
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparing(Entry::id).thenComparing(Entry::name, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the player's score if it is higher than the current one, and their name unless the
+     * score is lower. Scores only grow, so an update applied late (two games of the same player
+     * ending at once) never moves it back.
+     */
+    public void raise(String id, String name, long score) {
+        byId.compute(id, (i, current) -> {
+            if (current != null) {
+                if (current.score() > score) return current;
+                if (current.score() == score && Objects.equals(current.name(), name)) return current;
+            }
+            Entry entry = new Entry(i, name, score);
+            ranking.add(entry);
+            if (current != null) ranking.remove(current);
+            return entry;
+        });
+    }
+
+    public List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, byId.size()));
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : ranking) {
+            if (result.size() >= limit) break;
+            if (seen.add(entry.id())) result.add(entry);
+        }
+        return result;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public record Entry(String id, String name, long score) {}
+}
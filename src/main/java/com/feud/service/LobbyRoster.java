@@ -0,0 +1,93 @@
+package com.feud.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.stereotype.Component;
+
+import com.feud.model.Game;
+import com.feud.model.GameStatus;
+import com.feud.model.Player;
+
+/**
+ * Per-game in-memory roster used by joins. Names are reserved atomically in a concurrent set,
+ * so a burst of joins needs one insert each and no check-then-insert query; the
+ * (game_id, name) unique constraint on Player backs this up across instances.
+ */
+@Component
+public class LobbyRoster {
+    private final Map<String, Roster> rosters = new ConcurrentHashMap<>();
+
+    public Roster get(String code) {
+        return rosters.get(code);
+    }
+
+    /**
+     * Registers the roster of a freshly loaded game. If another thread loaded it first, that roster wins.
+     */
+    public Roster load(Game game, List<Player> players) {
+        Roster loaded = new Roster(game, players);
+        Roster existing = rosters.putIfAbsent(game.getCode(), loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    public void updateStatus(String code, GameStatus status) {
+        Roster roster = rosters.get(code);
+        if (roster != null) roster.status = status;
+    }
+
+    public void evict(String code) {
+        if (code != null) rosters.remove(code);
+    }
+
+    public void clear() {
+        rosters.clear();
+    }
+
+    public static final class Roster {
+        private final Long gameId;
+        private volatile GameStatus status;
+        private final Set<String> names = ConcurrentHashMap.newKeySet();
+        private final List<Player> players = new CopyOnWriteArrayList<>();
+
+        private Roster(Game game, List<Player> existing) {
+            this.gameId = game.getId();
+            this.status = game.getStatus();
+            for (Player p : existing) {
+                names.add(p.getName());
+                players.add(p);
+            }
+        }
+
+        public Long gameId() {
+            return gameId;
+        }
+
+        public GameStatus status() {
+            return status;
+        }
+
+        /**
+         * Atomically reserves the name. Returns false if it is already taken in this game.
+         */
+        public boolean reserve(String name) {
+            return names.add(name);
+        }
+
+        public void release(String name) {
+            names.remove(name);
+        }
+
+        public void add(Player player) {
+            players.add(player);
+        }
+
+        public List<Player> players() {
+            return Collections.unmodifiableList(players);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.feud.service;
+
+/**
+ * No profile under the id: the player never finished a game.
+ */
+public class PlayerNotFoundException extends RuntimeException {
+    public PlayerNotFoundException(String id) {
+        super("Player profile not found: " + id);
+    }
+}
@@ -0,0 +1,293 @@
+package com.feud.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.feud.model.Game;
+import com.feud.model.Player;
+import com.feud.model.PlayerProfile;
+import com.feud.model.PlayerTopicStats;
+import com.feud.model.Team;
+import com.feud.repository.PlayerProfileRepository;
+import com.feud.repository.PlayerTopicStatsRepository;
+import com.feud.util.ProfileTokens;
+
+/**
+ * Maintains player profiles and leaderboards incrementally. Profiles are keyed by the player's
+ * stable id (see {@link Player#getProfileId()}), not the display name; the ids are issued here and
+ * a player keeps theirs across games by presenting the signed token of their first join. Guesses and steals of a
+ * running game are tallied per team in memory; when the game ends its players' profiles (and
+ * topic stats) are bumped by that game's totals with in-place updates on the background executor,
+ * and the leaderboards are adjusted from the new totals. Nothing is ever recomputed from history.
+ */
+@Service
+public class PlayerStatsService {
+    private static final Logger log = LoggerFactory.getLogger(PlayerStatsService.class);
+
+    private final PlayerProfileRepository profileRepository;
+    private final PlayerTopicStatsRepository topicStatsRepository;
+    private final TransactionTemplate transaction;
+    private final Executor backgroundExecutor;
+    private final ProfileTokens tokens;
+    private final Map<String, GameTally> tallies = new ConcurrentHashMap<>();
+    private final Leaderboard global = new Leaderboard();
+    private final Map<String, Leaderboard> byTopic = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public PlayerStatsService(PlayerProfileRepository profileRepository, PlayerTopicStatsRepository topicStatsRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("backgroundExecutor") Executor backgroundExecutor,
+                              @Value("${feud.profiles.secret:}") String secret) {
+        this.profileRepository = profileRepository;
+        this.topicStatsRepository = topicStatsRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.backgroundExecutor = backgroundExecutor;
+        this.tokens = new ProfileTokens(secret(secret));
+    }
+
+    private static byte[] secret(String configured) {
+        if (configured != null && !configured.isBlank()) return configured.getBytes(StandardCharsets.UTF_8);
+        // Tokens issued under a per-boot secret stop proving their profile on restart
+        log.warn("feud.profiles.secret is not set; profile tokens will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    /**
+     * The profile id a joining player plays as: the one their token was issued for, or a new one
+     * when the token is absent or not ours.
+     */
+    public String claimProfile(String token) {
+        String id = tokens.verify(token);
+        return id != null ? id : tokens.issue();
+    }
+
+    /**
+     * The token that proves ownership of the profile on later joins; only its player should see it.
+     */
+    public String profileToken(String profileId) {
+        return tokens.token(profileId);
+    }
+
+    public void recordGuess(String code, Team team, boolean correct) {
+        if (team == null) return;
+        GameTally tally = tallies.computeIfAbsent(code, c -> new GameTally());
+        tally.guesses.incrementAndGet(team.ordinal());
+        if (correct) tally.correct.incrementAndGet(team.ordinal());
+    }
+
+    public void recordSteal(String code, Team team, int points) {
+        if (team == null) return;
+        GameTally tally = tallies.computeIfAbsent(code, c -> new GameTally());
+        tally.bestSteal.accumulateAndGet(team.ordinal(), points, Math::max);
+    }
+
+    /**
+     * Folds a finished game into its players' profiles and the leaderboards, once the caller's
+     * transaction has committed and off the request thread. A team's score is split evenly between
+     * its players and its guess counts are credited to each of them, since guesses are made per
+     * team. Must be called once per game.
+     */
+    public void recordGameEnd(Game game, List<Player> players) {
+        GameTally tally = tallies.remove(game.getCode());
+        // Copied now: the entities belong to the request's persistence context
+        GameResult result = GameResult.of(game, players, tally);
+        if (result.names().isEmpty()) return;
+        Runnable fold = () -> backgroundExecutor.execute(() -> {
+            try {
+                fold(result);
+            } catch (RuntimeException e) {
+                log.warn("Could not record game {} in player stats: {}", result.code(), e.getMessage());
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fold.run();
+                }
+            });
+        } else {
+            fold.run();
+        }
+    }
+
+    /**
+     * Players with the same credit (in practice, the same team) are updated with one statement,
+     * so a game costs a handful of queries whatever its number of players.
+     */
+    private void fold(GameResult result) {
+        ensureLoaded();
+        Map<String, String> names = result.names();
+        Set<String> ids = names.keySet();
+        Set<String> existing = new HashSet<>(profileRepository.findExistingIds(ids));
+        for (String id : ids) {
+            if (!existing.contains(id)) insertProfile(id, names.get(id));
+        }
+        List<Object[]> totals = transaction.execute(status -> {
+            result.credits().forEach((credit, players) -> profileRepository.addGame(players, credit.wins(),
+                credit.points(), credit.guesses(), credit.correct(), credit.steal()));
+            return profileRepository.findPoints(ids);
+        });
+        for (Object[] row : totals) {
+            String id = (String) row[0];
+            String name = names.get(id);
+            if (!name.equals(row[1])) profileRepository.rename(id, name);
+            global.raise(id, name, ((Number) row[2]).longValue());
+        }
+
+        String topic = result.topic();
+        if (topic == null) return;
+        Set<String> withStats = new HashSet<>(topicStatsRepository.findExistingPlayerIds(topic, ids));
+        for (String id : ids) {
+            if (!withStats.contains(id)) insertTopicStats(id, topic);
+        }
+        List<Object[]> topicTotals = transaction.execute(status -> {
+            result.credits().forEach((credit, players) ->
+                topicStatsRepository.addGame(players, topic, credit.wins(), credit.points()));
+            return topicStatsRepository.findPoints(topic, ids);
+        });
+        Leaderboard board = topicBoard(topic);
+        for (Object[] row : topicTotals) {
+            String id = (String) row[0];
+            board.raise(id, names.get(id), ((Number) row[1]).longValue());
+        }
+    }
+
+    /**
+     * Drops the running tally of a game that was deleted without finishing.
+     */
+    public void discard(String code) {
+        if (code != null) tallies.remove(code);
+    }
+
+    /**
+     * Top players by points, across all games or within one topic.
+     */
+    public List<Leaderboard.Entry> top(String topic, int limit) {
+        ensureLoaded();
+        String key = topicKey(topic);
+        if (key == null) return global.top(limit);
+        Leaderboard board = byTopic.get(key);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    public PlayerProfile getProfile(String id) {
+        return profileRepository.findById(id)
+            .orElseThrow(() -> new PlayerNotFoundException(id));
+    }
+
+    private static int teamScore(Game game, Team team) {
+        return team == Team.RED ? game.getRedScore() : game.getBlueScore();
+    }
+
+    /**
+     * Topics are compared like the question pool does, so "Food" and "food " share a board.
+     */
+    private static String topicKey(String topic) {
+        return topic == null || topic.isBlank() ? null : topic.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Leaderboard topicBoard(String topic) {
+        return byTopic.computeIfAbsent(topic, t -> new Leaderboard());
+    }
+
+    private void insertProfile(String id, String name) {
+        try {
+            profileRepository.save(PlayerProfile.builder().id(id).name(name).build());
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another game ending
+        }
+    }
+
+    private void insertTopicStats(String id, String topic) {
+        try {
+            topicStatsRepository.save(PlayerTopicStats.builder().playerId(id).topic(topic).build());
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another game ending
+        }
+    }
+
+    /**
+     * Builds the leaderboards from the stored aggregates once, on first use.
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            Map<String, String> names = new HashMap<>();
+            for (PlayerProfile profile : profileRepository.findAll()) {
+                names.put(profile.getId(), profile.getName());
+                global.raise(profile.getId(), profile.getName(), profile.getPointsContributed());
+            }
+            for (PlayerTopicStats stats : topicStatsRepository.findAll()) {
+                topicBoard(stats.getTopic()).raise(stats.getPlayerId(), names.get(stats.getPlayerId()), stats.getPoints());
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * What a game adds to one player's totals.
+     */
+    private record Credit(int wins, long points, int guesses, int correct, int steal) {}
+
+    /**
+     * A finished game as the stats need it: the players' names by profile id and the players
+     * grouped by credit.
+     */
+    private record GameResult(String code, String topic, Map<String, String> names, Map<Credit, List<String>> credits) {
+
+        static GameResult of(Game game, List<Player> players, GameTally tally) {
+            Map<Team, Integer> teamSizes = new EnumMap<>(Team.class);
+            for (Player p : players) {
+                if (p.getTeam() != null) teamSizes.merge(p.getTeam(), 1, Integer::sum);
+            }
+            Map<String, String> names = new HashMap<>();
+            Map<Credit, List<String>> credits = new HashMap<>();
+            for (Player p : players) {
+                // Players that joined before profile ids existed have nothing to be keyed on
+                if (p.getProfileId() == null || p.getName() == null) continue;
+                if (names.putIfAbsent(p.getProfileId(), p.getName()) != null) continue;
+                Team team = p.getTeam();
+                Credit credit = team == null ? new Credit(0, 0, 0, 0, 0) : new Credit(
+                    team == game.getWinner() ? 1 : 0,
+                    teamScore(game, team) / teamSizes.get(team),
+                    tally == null ? 0 : tally.guesses.get(team.ordinal()),
+                    tally == null ? 0 : tally.correct.get(team.ordinal()),
+                    tally == null ? 0 : tally.bestSteal.get(team.ordinal()));
+                credits.computeIfAbsent(credit, c -> new ArrayList<>()).add(p.getProfileId());
+            }
+            return new GameResult(game.getCode(), topicKey(game.getTopic()), names, credits);
+        }
+    }
+
+    private static final class GameTally {
+        final AtomicIntegerArray guesses = new AtomicIntegerArray(Team.values().length);
+        final AtomicIntegerArray correct = new AtomicIntegerArray(Team.values().length);
+        final AtomicIntegerArray bestSteal = new AtomicIntegerArray(Team.values().length);
+    }
+}
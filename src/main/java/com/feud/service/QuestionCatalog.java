@@ -0,0 +1,306 @@
+package com.feud.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.feud.model.Answer;
+import com.feud.model.GameStatus;
+import com.feud.model.Question;
+import com.feud.repository.GameRepository;
+import com.feud.repository.QuestionRepository;
+
+/**
+ * Copy-on-write question catalog. A question row never changes once saved: an edit saves the new
+ * text and answers as the next version of the question (a new row with the same logical id, which
+ * is what clients see as the question's id) and retires the old row, a delete only retires it. A
+ * game's current question is the version its round started with, so its answers and answer ids
+ * stay valid for the whole round whatever the admins do. Retired versions are deleted once no
+ * running game points to them (checked after the edit and whenever a game leaves a question);
+ * ended games let go of them.
+ *
+ * The current versions are kept in an immutable {@link Snapshot} (loaded on first use, answers
+ * included) of detached copies that edits replace as a whole, so listing the catalog is a volatile
+ * read. Edits are serialized on the catalog. A game drawing a question pins it until the game's
+ * transaction completes: until then the game is invisible to the check before a delete.
+ */
+@Service
+public class QuestionCatalog {
+    private static final Logger log = LoggerFactory.getLogger(QuestionCatalog.class);
+
+    private final QuestionRepository questionRepository;
+    private final GameRepository gameRepository;
+    private final QuestionPoolIndex questionPoolIndex;
+    private final AnswerCheckerService answerCheckerService;
+    private final EntityCacheService entityCacheService;
+    private final TransactionTemplate transaction;
+    private volatile Snapshot snapshot;
+    // Question row ids drawn by games whose transaction has not completed yet, with a count per row
+    private final Map<Long, Integer> pins = new HashMap<>();
+
+    public QuestionCatalog(QuestionRepository questionRepository, GameRepository gameRepository,
+                           QuestionPoolIndex questionPoolIndex, AnswerCheckerService answerCheckerService,
+                           EntityCacheService entityCacheService, PlatformTransactionManager transactionManager) {
+        this.questionRepository = questionRepository;
+        this.gameRepository = gameRepository;
+        this.questionPoolIndex = questionPoolIndex;
+        this.answerCheckerService = answerCheckerService;
+        this.entityCacheService = entityCacheService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // Also used after a game's transaction has committed, when its resources are still bound
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * One version of the catalog: the current version of each question by logical id and the
+     * row ids of the retired versions still kept for games.
+     */
+    public record Snapshot(long version, Map<Long, Question> questions, Set<Long> retained) {
+
+        public List<Question> list() {
+            List<Question> list = new ArrayList<>(questions.values());
+            list.sort(Comparator.comparing(Question::getLogicalId));
+            return list;
+        }
+
+        /**
+         * The current version of a question, or null if there is no such question (or it was deleted).
+         */
+        public Question get(Long logicalId) {
+            return logicalId == null ? null : questions.get(logicalId);
+        }
+
+        Snapshot with(Question question) {
+            Map<Long, Question> next = new HashMap<>(questions);
+            next.put(question.getLogicalId(), question);
+            return new Snapshot(version + 1, Map.copyOf(next), retained);
+        }
+
+        Snapshot retire(Question question) {
+            Map<Long, Question> next = new HashMap<>(questions);
+            next.remove(question.getLogicalId());
+            Set<Long> kept = new HashSet<>(retained);
+            kept.add(question.getId());
+            return new Snapshot(version + 1, Map.copyOf(next), Set.copyOf(kept));
+        }
+
+        /**
+         * Whether the row is still in the database: a current version or a retained one.
+         */
+        boolean holds(Long id) {
+            if (retained.contains(id)) return true;
+            for (Question question : questions.values()) {
+                if (id.equals(question.getId())) return true;
+            }
+            return false;
+        }
+
+        Snapshot release(Long id) {
+            Set<Long> kept = new HashSet<>(retained);
+            kept.remove(id);
+            return new Snapshot(version + 1, questions, Set.copyOf(kept));
+        }
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private synchronized Snapshot load() {
+        if (snapshot != null) return snapshot;
+        Map<Long, Question> questions = new HashMap<>();
+        Set<Long> retained = new HashSet<>();
+        transaction.executeWithoutResult(status -> {
+            for (Question question : questionRepository.findCurrentWithAnswers()) {
+                questions.put(question.getLogicalId(), detached(question));
+            }
+            retained.addAll(questionRepository.findRetiredIds());
+        });
+        snapshot = new Snapshot(1, Map.copyOf(questions), Set.copyOf(retained));
+        // Games that pinned a retired version may have ended or been deleted since
+        for (Long id : retained) release(id);
+        return snapshot;
+    }
+
+    /**
+     * Drops the snapshot after a bulk change; the next read loads it again.
+     */
+    public synchronized void reload() {
+        snapshot = null;
+    }
+
+    public synchronized Question add(Question question) {
+        question.setLogicalId(null);
+        question.setVersion(1);
+        Question saved = questionRepository.save(question);
+        // Not loaded yet: the first read picks the new question up from the database
+        if (snapshot != null) snapshot = snapshot.with(detached(saved));
+        questionPoolIndex.put(saved);
+        return saved;
+    }
+
+    /**
+     * Saves the next version of a question and retires the current one. Games playing the current
+     * version keep it until they move on; new rounds draw the new one.
+     * @return the new version, or null if there is no such question
+     */
+    public synchronized Question replace(Long logicalId, Question next) {
+        Snapshot current = current();
+        Question previous = current.get(logicalId);
+        if (previous == null) return null;
+        next.setId(null);
+        next.setLogicalId(previous.getLogicalId());
+        next.setVersion(previous.getVersion() + 1);
+        Question saved = transaction.execute(status -> {
+            retireRow(previous.getId());
+            return questionRepository.save(next);
+        });
+        snapshot = current.retire(previous).with(detached(saved));
+        questionPoolIndex.replace(previous.getId(), saved);
+        release(previous.getId());
+        return saved;
+    }
+
+    /**
+     * Retires the current version of a question; the row goes away as soon as no game points to it.
+     * @return false if there is no such question
+     */
+    public synchronized boolean delete(Long logicalId) {
+        Snapshot current = current();
+        Question previous = current.get(logicalId);
+        if (previous == null) return false;
+        transaction.executeWithoutResult(status -> retireRow(previous.getId()));
+        snapshot = current.retire(previous);
+        questionPoolIndex.remove(previous.getId());
+        release(previous.getId());
+        return true;
+    }
+
+    /**
+     * Whether a question row is a retired version, i.e. one a game ending on it should let go of.
+     */
+    public boolean isRetired(Long questionId) {
+        return questionId != null && current().retained().contains(questionId);
+    }
+
+    /**
+     * Keeps a question row a game is about to point to from being deleted until the caller's
+     * transaction has completed; a release skipped meanwhile is retried then.
+     * @return false if the row is already deleted: the game draws another question
+     */
+    public boolean pin(Long questionId) {
+        synchronized (this) {
+            if (!current().holds(questionId)) return false;
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) return true;
+            pins.merge(questionId, 1, Integer::sum);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unpin(questionId);
+            }
+        });
+        return true;
+    }
+
+    private void unpin(Long questionId) {
+        synchronized (this) {
+            pins.computeIfPresent(questionId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+        release(questionId);
+    }
+
+    /**
+     * A copy of a question and its answers that is no entity instance: snapshots are shared
+     * across threads and outlive the persistence context the question was read in.
+     */
+    private static Question detached(Question question) {
+        Question copy = new Question();
+        copy.setId(question.getId());
+        copy.setLogicalId(question.getLogicalId());
+        copy.setVersion(question.getVersion());
+        copy.setText(question.getText());
+        copy.setTopic(question.getTopic());
+        copy.setDifficulty(question.getDifficulty());
+        copy.setRetired(question.isRetired());
+        if (question.getAnswers() != null) {
+            List<Answer> answers = new ArrayList<>(question.getAnswers().size());
+            for (Answer answer : question.getAnswers()) {
+                answers.add(Answer.builder().id(answer.getId()).text(answer.getText()).points(answer.getPoints())
+                    .revealed(answer.isRevealed()).question(copy).build());
+            }
+            copy.setAnswers(List.copyOf(answers));
+        }
+        return copy;
+    }
+
+    private void retireRow(Long id) {
+        Question question = questionRepository.findById(id).orElseThrow(() -> new RuntimeException("Question not found"));
+        question.setRetired(true);
+        questionRepository.save(question);
+    }
+
+    /**
+     * Deletes a retired question version once no running game points to it; ended games still on
+     * it let go of it. Called when a game leaves a question; questions that are not retired return
+     * at once, without a query.
+     */
+    public void release(Long questionId) {
+        Snapshot current = snapshot;
+        if (questionId == null || current == null || !current.retained().contains(questionId)) return;
+        // Called from a game's transaction: the game has only left the question once it commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseRetired(questionId);
+                }
+            });
+            return;
+        }
+        releaseRetired(questionId);
+    }
+
+    private void releaseRetired(Long questionId) {
+        synchronized (this) {
+            if (!snapshot.retained().contains(questionId) || pins.containsKey(questionId)
+                || gameRepository.existsByCurrentQuestionIdAndStatusNot(questionId, GameStatus.ENDED)) return;
+            try {
+                transaction.executeWithoutResult(status -> {
+                    gameRepository.clearEndedGamesQuestion(questionId);
+                    questionRepository.deleteById(questionId);
+                });
+            } catch (RuntimeException e) {
+                // Picked up again by the next release or the next load
+                log.warn("Could not delete retired question {}: {}", questionId, e.getMessage());
+                return;
+            }
+            snapshot = snapshot.release(questionId);
+        }
+        entityCacheService.evictQuestion(questionId);
+        answerCheckerService.evict(questionId);
+    }
+
+    /**
+     * Releases every retired question no game points to any more, e.g. after games were deleted in bulk.
+     */
+    public void releaseAll() {
+        Snapshot current = snapshot;
+        if (current == null) return;
+        for (Long id : current.retained()) release(id);
+    }
+}
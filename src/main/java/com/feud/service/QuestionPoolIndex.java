@@ -0,0 +1,245 @@
+package com.feud.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.feud.model.Question;
+import com.feud.repository.QuestionRepository;
+
+/**
+ * In-memory question pools keyed by topic, used to draw each round's question without scanning
+ * the question table. Each pool keeps its questions' weights in a Fenwick tree, so a draw and a
+ * weight change are both O(log n). A question's weight is 1 / (1 + times drawn), which favors
+ * less-played questions; drawing a question lowers its weight in every pool it is in.
+ *
+ * The pools are built from the repository on first use and then kept up to date through
+ * {@link #put(Question)}, {@link #replace(Long, Question)} and {@link #remove(Long)} when questions
+ * are added, edited or deleted. Retired question versions are never drawn.
+ */
+@Component
+public class QuestionPoolIndex {
+    private final QuestionRepository questionRepository;
+    private final Pool all = new Pool();
+    private final Map<String, Pool> byTopic = new HashMap<>();
+    private final Map<Long, String> topicById = new HashMap<>();
+    private final Map<Long, Integer> plays = new HashMap<>();
+    private boolean loaded;
+
+    public QuestionPoolIndex(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * Draws a question id for a game of the given topic, falling back to the whole bank when the
+     * topic is null or has no questions.
+     * @return the drawn question id, or null if there are no questions at all
+     */
+    public Long draw(String topic) {
+        return draw(topic, ThreadLocalRandom.current().nextDouble());
+    }
+
+    synchronized Long draw(String topic, double u) {
+        ensureLoaded();
+        Pool pool = topic == null ? null : byTopic.get(key(topic));
+        if (pool == null || pool.total() <= 0) pool = all;
+        Long id = pool.sample(u);
+        if (id != null) {
+            int played = plays.merge(id, 1, Integer::sum);
+            setWeight(id, weight(played));
+        }
+        return id;
+    }
+
+    /**
+     * Adds a question or applies an edit (e.g. a changed topic).
+     */
+    public synchronized void put(Question question) {
+        if (question.getId() == null) return;
+        ensureLoaded();
+        add(question);
+    }
+
+    /**
+     * Swaps a question for its new version, which keeps the play count of the old one.
+     */
+    public synchronized void replace(Long previousId, Question question) {
+        if (previousId == null || question.getId() == null) return;
+        ensureLoaded();
+        Integer played = plays.get(previousId);
+        remove(previousId);
+        if (played != null) plays.put(question.getId(), played);
+        add(question);
+    }
+
+    public synchronized void remove(Long questionId) {
+        if (questionId == null) return;
+        ensureLoaded();
+        all.remove(questionId);
+        String topic = topicById.remove(questionId);
+        if (topic != null) byTopic.get(topic).remove(questionId);
+        plays.remove(questionId);
+    }
+
+    /**
+     * Forgets all questions; the pools are rebuilt from the repository on next use.
+     */
+    public synchronized void clear() {
+        all.clear();
+        byTopic.clear();
+        topicById.clear();
+        plays.clear();
+        loaded = false;
+    }
+
+    /**
+     * Builds the pools now instead of on the first draw.
+     */
+    public synchronized void preload() {
+        ensureLoaded();
+    }
+
+    synchronized int size(String topic) {
+        ensureLoaded();
+        Pool pool = topic == null ? all : byTopic.get(key(topic));
+        return pool == null ? 0 : pool.slotById.size();
+    }
+
+    private void add(Question question) {
+        Long id = question.getId();
+        double weight = weight(plays.getOrDefault(id, 0));
+        String topic = question.getTopic() == null || question.getTopic().isBlank() ? null : key(question.getTopic());
+        String previous = topic == null ? topicById.remove(id) : topicById.put(id, topic);
+        if (previous != null && !previous.equals(topic)) byTopic.get(previous).remove(id);
+        all.set(id, weight);
+        if (topic != null) byTopic.computeIfAbsent(topic, t -> new Pool()).set(id, weight);
+    }
+
+    private void setWeight(Long id, double weight) {
+        all.set(id, weight);
+        String topic = topicById.get(id);
+        if (topic != null) byTopic.get(topic).set(id, weight);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        for (Question question : questionRepository.findAll()) {
+            if (!question.isRetired()) add(question);
+        }
+    }
+
+    private static double weight(int played) {
+        return 1.0 / (1 + played);
+    }
+
+    private static String key(String topic) {
+        return topic.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Weighted ids over a Fenwick tree of slot weights. Removed ids free their slot for reuse.
+     */
+    static final class Pool {
+        // Floating-point sums drift with many updates; the tree is rebuilt from the weights now and then
+        private static final int REBUILD_EVERY = 1 << 16;
+
+        private long[] ids = new long[16];
+        private double[] weights = new double[16];
+        private double[] tree = new double[17];
+        private int used;
+        private int updates;
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+        void set(long id, double weight) {
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? allocate() : freeSlots.pop();
+                slotById.put(id, slot);
+                ids[slot] = id;
+            }
+            add(slot, weight - weights[slot]);
+            weights[slot] = weight;
+        }
+
+        void remove(long id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) return;
+            add(slot, -weights[slot]);
+            weights[slot] = 0;
+            freeSlots.push(slot);
+        }
+
+        void clear() {
+            Arrays.fill(weights, 0);
+            Arrays.fill(tree, 0);
+            used = 0;
+            slotById.clear();
+            freeSlots.clear();
+        }
+
+        double total() {
+            double sum = 0;
+            for (int i = used; i > 0; i -= i & -i) sum += tree[i];
+            return sum;
+        }
+
+        /**
+         * Finds the slot whose cumulative weight range contains u * total by descending the tree.
+         */
+        Long sample(double u) {
+            double total = total();
+            if (total <= 0) return null;
+            double target = u * total;
+            int pos = 0;
+            for (int step = Integer.highestOneBit(ids.length); step > 0; step >>= 1) {
+                int next = pos + step;
+                if (next <= ids.length && tree[next] <= target) {
+                    pos = next;
+                    target -= tree[next];
+                }
+            }
+            // Rounding can land past the last weighted slot
+            while (pos >= used || weights[pos] <= 0) {
+                if (--pos < 0) return null;
+            }
+            return ids[pos];
+        }
+
+        private int allocate() {
+            if (used == ids.length) {
+                ids = Arrays.copyOf(ids, used * 2);
+                weights = Arrays.copyOf(weights, used * 2);
+                rebuild();
+            }
+            return used++;
+        }
+
+        private void add(int slot, double delta) {
+            if (++updates >= REBUILD_EVERY) {
+                weights[slot] += delta;
+                rebuild();
+                weights[slot] -= delta;
+                return;
+            }
+            for (int i = slot + 1; i <= ids.length; i += i & -i) tree[i] += delta;
+        }
+
+        private void rebuild() {
+            updates = 0;
+            tree = new double[ids.length + 1];
+            for (int i = 1; i <= ids.length; i++) {
+                tree[i] += weights[i - 1];
+                int parent = i + (i & -i);
+                if (parent <= ids.length) tree[parent] += tree[i];
+            }
+        }
+    }
+}
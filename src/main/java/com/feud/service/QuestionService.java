@@ -6,25 +6,30 @@ import java.util.Optional;
 import org.springframework.stereotype.Service;
 
 import com.feud.model.Question;
-import com.feud.repository.QuestionRepository;
 
 @Service
 public class QuestionService {
-    private final QuestionRepository questionRepository;
+    private final QuestionCatalog questionCatalog;
 
-    public QuestionService(QuestionRepository questionRepository) {
-        this.questionRepository = questionRepository;
+    public QuestionService(QuestionCatalog questionCatalog) {
+        this.questionCatalog = questionCatalog;
     }
 
     public Question createQuestion(Question question) {
-        return questionRepository.save(question);
+        return questionCatalog.add(question);
     }
 
+    /**
+     * The current questions, from the catalog snapshot (retired versions are left out).
+     */
     public List<Question> getAllQuestions() {
-        return questionRepository.findAll();
+        return questionCatalog.current().list();
     }
 
+    /**
+     * The current version of a question, by its (logical) id; deleted questions are not found.
+     */
     public Optional<Question> getQuestion(Long id) {
-        return questionRepository.findById(id);
+        return Optional.ofNullable(questionCatalog.current().get(id));
     }
 }
@@ -0,0 +1,221 @@
+package com.feud.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.feud.model.SynonymDictionary;
+import com.feud.util.ThesaurusReader;
+
+/**
+ * Bulk import of local thesaurus files into the synonym dictionary, for venues without internet.
+ * The file is streamed into a temporary staging table, through COPY FROM STDIN on PostgreSQL
+ * and JDBC batches elsewhere, and then merged into synonym_dictionary with one set-based
+ * upsert: each list becomes the sorted, deduplicated union of the existing and imported synonyms,
+ * cut after the last whole synonym that fits the column. The whole import runs in one
+ * transaction on one connection.
+ */
+@Service
+public class SynonymImportService {
+    private static final Logger log = LoggerFactory.getLogger(SynonymImportService.class);
+    private static final String STAGING = "synonym_import_staging";
+    private static final int COPY_CHUNK_CHARS = 64 * 1024;
+
+    // Existing lists are unioned with the imported ones, deduplicated and sorted
+    private static final String POSTGRES_MERGE = """
+        INSERT INTO synonym_dictionary (canonical, synonyms)
+        SELECT canonical, %1$s
+        FROM (SELECT canonical, string_agg(DISTINCT synonym, ',' ORDER BY synonym) AS synonyms
+              FROM synonym_import_staging GROUP BY canonical) g
+        ON CONFLICT (canonical) DO UPDATE SET synonyms = (
+            SELECT %1$s
+            FROM (SELECT string_agg(DISTINCT t, ',' ORDER BY t) AS synonyms
+                  FROM (SELECT btrim(s) AS t
+                        FROM unnest(string_to_array(coalesce(synonym_dictionary.synonyms, '') || ',' || EXCLUDED.synonyms, ',')) AS s) u
+                  WHERE t <> '') g)
+        """.formatted(fitted("synonyms"));
+
+    // Portable MERGE: the existing lists were copied into the staging table first (see stageExisting),
+    // so each matched list is replaced by the union
+    private static final String STANDARD_MERGE = """
+        MERGE INTO synonym_dictionary d
+        USING (SELECT canonical, %1$s AS synonyms
+               FROM (SELECT canonical, LISTAGG(DISTINCT synonym, ',') WITHIN GROUP (ORDER BY synonym) AS synonyms
+                     FROM synonym_import_staging GROUP BY canonical) g) s
+        ON d.canonical = s.canonical
+        WHEN MATCHED THEN UPDATE SET synonyms = s.synonyms
+        WHEN NOT MATCHED THEN INSERT (canonical, synonyms) VALUES (s.canonical, s.synonyms)
+        """.formatted(fitted("synonyms"));
+
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    /**
+     * The comma-joined list, or when it is longer than the column its longest prefix made of whole
+     * synonyms: the first max + 1 characters up to their last comma.
+     */
+    private static String fitted(String list) {
+        return "CASE WHEN LENGTH(%1$s) <= %2$d THEN %1$s ELSE REGEXP_REPLACE(LEFT(%1$s, %3$d), ',[^,]*$', '') END"
+            .formatted(list, SynonymDictionary.SYNONYMS_MAX_LENGTH, SynonymDictionary.SYNONYMS_MAX_LENGTH + 1);
+    }
+
+    public SynonymImportService(DataSource dataSource, @Value("${feud.synonyms.import-batch-size:10000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Imports a thesaurus file (UTF-8).
+     * @return pairs read, dictionary entries inserted or updated, and the elapsed time
+     */
+    public ImportResult importThesaurus(InputStream input, ThesaurusReader.Format format) throws IOException {
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                boolean postgres = connection.isWrapperFor(PGConnection.class);
+                long pairs = postgres ? copy(connection, reader, format) : batch(connection, reader, format);
+                if (!postgres) stageExisting(connection);
+                int merged;
+                try (Statement statement = connection.createStatement()) {
+                    merged = statement.executeUpdate(postgres ? POSTGRES_MERGE : STANDARD_MERGE);
+                    if (!postgres) statement.execute("DROP TABLE " + STAGING);
+                }
+                connection.commit();
+                ImportResult result = new ImportResult(pairs, merged, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                log.info("Imported {} synonym pairs into {} dictionary entries in {} ms", result.pairs(), result.entries(), result.millis());
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Synonym import failed: " + e.getMessage(), e);
+        }
+    }
+
+    private long copy(Connection connection, BufferedReader reader, ThesaurusReader.Format format) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE " + STAGING + " (canonical text NOT NULL, synonym text NOT NULL) ON COMMIT DROP");
+        }
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+            .copyIn("COPY " + STAGING + " (canonical, synonym) FROM STDIN (FORMAT text)");
+        StringBuilder chunk = new StringBuilder(COPY_CHUNK_CHARS + 1024);
+        try {
+            long pairs = ThesaurusReader.read(reader, format, (canonical, synonym) -> {
+                appendCopyField(chunk, canonical).append('\t');
+                appendCopyField(chunk, synonym).append('\n');
+                if (chunk.length() >= COPY_CHUNK_CHARS) writeChunk(copyIn, chunk);
+            });
+            writeChunk(copyIn, chunk);
+            copyIn.endCopy();
+            return pairs;
+        } finally {
+            if (copyIn.isActive()) copyIn.cancelCopy();
+        }
+    }
+
+    private static void writeChunk(CopyIn copyIn, StringBuilder chunk) throws IOException {
+        if (chunk.isEmpty()) return;
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        chunk.setLength(0);
+        try {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        } catch (SQLException e) {
+            throw new IOException("COPY into staging table failed", e);
+        }
+    }
+
+    /**
+     * Escapes the characters COPY's text format treats specially.
+     */
+    private static StringBuilder appendCopyField(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    private long batch(Connection connection, BufferedReader reader, ThesaurusReader.Format format) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE LOCAL TEMPORARY TABLE " + STAGING + " (canonical VARCHAR(255) NOT NULL, synonym VARCHAR("
+                + SynonymDictionary.SYNONYMS_MAX_LENGTH + ") NOT NULL)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + STAGING + " (canonical, synonym) VALUES (?, ?)")) {
+            int[] pending = { 0 };
+            long pairs = ThesaurusReader.read(reader, format, (canonical, synonym) -> {
+                try {
+                    insert.setString(1, canonical);
+                    insert.setString(2, synonym);
+                    insert.addBatch();
+                    if (++pending[0] == batchSize) {
+                        insert.executeBatch();
+                        pending[0] = 0;
+                    }
+                } catch (SQLException e) {
+                    throw new IOException("Insert into staging table failed", e);
+                }
+            });
+            if (pending[0] > 0) insert.executeBatch();
+            return pairs;
+        }
+    }
+
+    /**
+     * Adds the current synonyms of every imported word to the staging table, one row each, so the
+     * portable merge can deduplicate them with the imported ones in SQL.
+     */
+    private void stageExisting(Connection connection) throws SQLException {
+        try (Statement select = connection.createStatement();
+             ResultSet existing = select.executeQuery("SELECT canonical, synonyms FROM synonym_dictionary WHERE canonical IN "
+                 + "(SELECT canonical FROM " + STAGING + ") AND synonyms IS NOT NULL");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO " + STAGING + " (canonical, synonym) VALUES (?, ?)")) {
+            int pending = 0;
+            while (existing.next()) {
+                String canonical = existing.getString(1);
+                for (String synonym : existing.getString(2).split(",")) {
+                    String trimmed = synonym.trim();
+                    if (trimmed.isEmpty()) continue;
+                    insert.setString(1, canonical);
+                    insert.setString(2, trimmed);
+                    insert.addBatch();
+                    if (++pending == batchSize) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) insert.executeBatch();
+        }
+    }
+
+    public record ImportResult(long pairs, int entries, long millis) {}
+}
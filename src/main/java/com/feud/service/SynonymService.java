@@ -1,6 +1,7 @@
 package com.feud.service;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -8,25 +9,46 @@ import org.springframework.stereotype.Service;
 
 import com.feud.model.SynonymDictionary;
 import com.feud.repository.SynonymDictionaryRepository;
+import com.feud.util.GuessNormalizer;
 
 @Service
 public class SynonymService {
     private final SynonymDictionaryRepository synonymDictionaryRepository;
+    private final SynonymSnapshotService snapshotService;
 
-    public SynonymService(SynonymDictionaryRepository synonymDictionaryRepository) {
+    public SynonymService(SynonymDictionaryRepository synonymDictionaryRepository, SynonymSnapshotService snapshotService) {
         this.synonymDictionaryRepository = synonymDictionaryRepository;
+        this.snapshotService = snapshotService;
     }
 
+    /**
+     * Returns the normalized word plus all of its normalized dictionary synonyms.
+     */
     public Set<String> getAllSynonyms(String word) {
         Set<String> result = new HashSet<>();
         if (word == null) return result;
-        String normalized = word.trim().toLowerCase();
+        String normalized = GuessNormalizer.normalize(word);
         result.add(normalized);
-        Optional<SynonymDictionary> entry = synonymDictionaryRepository.findByCanonical(normalized);
-        if (entry.isPresent()) {
-            String[] syns = entry.get().getSynonyms().split(",");
-            for (String syn : syns) {
-                result.add(syn.trim().toLowerCase());
+        SynonymSnapshot snapshot = snapshotService.current();
+        if (snapshot != null) {
+            List<String> synonyms = snapshot.synonymsOf(normalized);
+            if (synonyms == null) {
+                String folded = GuessNormalizer.fold(word);
+                if (!folded.equals(normalized)) synonyms = snapshot.synonymsOf(folded);
+            }
+            if (synonyms != null) result.addAll(synonyms);
+            return result;
+        }
+        Optional<SynonymDictionary> entry = findEntry(word, normalized);
+        if (entry.isPresent() && entry.get().getSynonyms() != null) {
+            String syns = entry.get().getSynonyms();
+            int start = 0;
+            for (int i = 0; i <= syns.length(); i++) {
+                if (i == syns.length() || syns.charAt(i) == ',') {
+                    String syn = GuessNormalizer.normalize(syns, start, i);
+                    if (!syn.isEmpty()) result.add(syn);
+                    start = i + 1;
+                }
             }
         }
         return result;
@@ -40,4 +62,16 @@ public class SynonymService {
         }
         return false;
     }
+
+    /**
+     * Looks the word up by its normalized key, falling back to the folded (unstemmed) key
+     * used by entries stored before normalization was introduced.
+     */
+    private Optional<SynonymDictionary> findEntry(String word, String normalized) {
+        Optional<SynonymDictionary> entry = synonymDictionaryRepository.findByCanonical(normalized);
+        if (entry.isPresent()) return entry;
+        String folded = GuessNormalizer.fold(word);
+        if (folded.equals(normalized)) return entry;
+        return synonymDictionaryRepository.findByCanonical(folded);
+    }
 }
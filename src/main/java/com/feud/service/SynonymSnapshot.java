@@ -0,0 +1,301 @@
+package com.feud.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.feud.util.GuessNormalizer;
+
+/**
+ * Read-only synonym dictionary in one file, read straight from a memory-mapped buffer.
+ * Every distinct term is stored once in a UTF-8 string table addressed by sorted offsets, so
+ * a term is found by binary search and referred to by its int id; each dictionary key maps
+ * to a packed run of the ids of its (normalized) synonyms. Nothing but the looked-up strings
+ * ever lands on the heap, and processes mapping the same file share its pages.
+ *
+ * The header also records the version of the dictionary the file was built from (its row count and
+ * a checksum of its rows), so a file left from an older dictionary can be told apart.
+ *
+ * Layout (big-endian): int magic, version, termCount, entryCount, memberCount, stringBytes,
+ * long dictionaryRows, dictionaryChecksum, then ints termOffsets[termCount + 1], entryTerms[entryCount] (ascending), memberOffsets[entryCount + 1],
+ * members[memberCount], strings[stringBytes].
+ */
+public final class SynonymSnapshot {
+    private static final int MAGIC = 0x4653594E; // "FSYN"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES + 2 * Long.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int termCount;
+    private final int entryCount;
+    private final int termOffsetsAt;
+    private final int entryTermsAt;
+    private final int memberOffsetsAt;
+    private final int membersAt;
+    private final int stringsAt;
+    private final DictionaryVersion dictionaryVersion;
+
+    private SynonymSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new RuntimeException("Not a synonym snapshot (or unsupported version)");
+        }
+        this.termCount = buffer.getInt(8);
+        this.entryCount = buffer.getInt(12);
+        int memberCount = buffer.getInt(16);
+        this.dictionaryVersion = new DictionaryVersion(buffer.getLong(24), buffer.getLong(32));
+        this.termOffsetsAt = HEADER_BYTES;
+        this.entryTermsAt = termOffsetsAt + (termCount + 1) * Integer.BYTES;
+        this.memberOffsetsAt = entryTermsAt + entryCount * Integer.BYTES;
+        this.membersAt = memberOffsetsAt + (entryCount + 1) * Integer.BYTES;
+        this.stringsAt = membersAt + memberCount * Integer.BYTES;
+    }
+
+    /**
+     * Maps a snapshot file. The mapping stays valid after the file is replaced or deleted.
+     */
+    public static SynonymSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SynonymSnapshot(mapped);
+        }
+    }
+
+    /**
+     * Normalized synonyms stored under the dictionary key, or null if the key has no entry.
+     */
+    public List<String> synonymsOf(String key) {
+        int term = findTerm(key.getBytes(StandardCharsets.UTF_8));
+        if (term < 0) return null;
+        int entry = findEntry(term);
+        if (entry < 0) return null;
+        int from = intAt(memberOffsetsAt, entry);
+        int to = intAt(memberOffsetsAt, entry + 1);
+        List<String> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(term(intAt(membersAt, i)));
+        }
+        return result;
+    }
+
+    public int entryCount() {
+        return entryCount;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public int sizeBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * The dictionary the file was built from.
+     */
+    public DictionaryVersion dictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    private int intAt(int section, int index) {
+        return buffer.getInt(section + index * Integer.BYTES);
+    }
+
+    private String term(int id) {
+        int from = intAt(termOffsetsAt, id);
+        byte[] bytes = new byte[intAt(termOffsetsAt, id + 1) - from];
+        buffer.get(stringsAt + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int findTerm(byte[] key) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm(mid, key);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private int compareTerm(int id, byte[] key) {
+        int from = stringsAt + intAt(termOffsetsAt, id);
+        int length = intAt(termOffsetsAt, id + 1) - intAt(termOffsetsAt, id);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(buffer.get(from + i) & 0xff, key[i] & 0xff);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private int findEntry(int term) {
+        int low = 0;
+        int high = entryCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = intAt(entryTermsAt, mid);
+            if (value < term) low = mid + 1;
+            else if (value > term) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Row count and checksum of a synonym dictionary. The checksum is a sum of per-row hashes, so it
+     * does not depend on the order the rows are read in.
+     */
+    public record DictionaryVersion(long rows, long checksum) {
+
+        /**
+         * Accumulates the version of the rows passed to it.
+         */
+        public static final class Tally {
+            private long rows;
+            private long checksum;
+
+            public void add(String key, String synonyms) {
+                rows++;
+                checksum += mix(hash(hash(0xcbf29ce484222325L, key), synonyms));
+            }
+
+            public DictionaryVersion version() {
+                return new DictionaryVersion(rows, checksum);
+            }
+
+            // FNV-1a over the chars, with a separator so ("ab", "c") and ("a", "bc") differ
+            private static long hash(long h, String value) {
+                if (value != null) {
+                    for (int i = 0; i < value.length(); i++) h = (h ^ value.charAt(i)) * 0x100000001b3L;
+                }
+                return (h ^ (value == null ? 0x1ff : 0x100)) * 0x100000001b3L;
+            }
+
+            private static long mix(long h) {
+                h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+                return h ^ (h >>> 33);
+            }
+        }
+    }
+
+    /**
+     * Collects dictionary rows and writes them in snapshot layout.
+     */
+    public static final class Builder {
+        private final DictionaryVersion.Tally version = new DictionaryVersion.Tally();
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private final Map<Integer, int[]> members = new HashMap<>();
+
+        /**
+         * @param key the dictionary key as stored (canonical)
+         * @param synonyms the comma-joined synonyms; each is normalized like a lookup would
+         */
+        public Builder add(String key, String synonyms) {
+            if (key == null) return this;
+            version.add(key, synonyms);
+            Set<String> normalized = new LinkedHashSet<>();
+            if (synonyms != null) {
+                int start = 0;
+                for (int i = 0; i <= synonyms.length(); i++) {
+                    if (i == synonyms.length() || synonyms.charAt(i) == ',') {
+                        String syn = GuessNormalizer.normalize(synonyms, start, i);
+                        if (!syn.isEmpty()) normalized.add(syn);
+                        start = i + 1;
+                    }
+                }
+            }
+            int[] ids = new int[normalized.size()];
+            int n = 0;
+            for (String syn : normalized) ids[n++] = id(syn);
+            members.put(id(key), ids);
+            return this;
+        }
+
+        /**
+         * The version of the dictionary rows added so far.
+         */
+        public DictionaryVersion dictionaryVersion() {
+            return version.version();
+        }
+
+        private int id(String term) {
+            return termIds.computeIfAbsent(term, t -> {
+                terms.add(t);
+                return terms.size() - 1;
+            });
+        }
+
+        public void writeTo(Path file) throws IOException {
+            // Sort terms by their UTF-8 bytes, the order lookups search in, and renumber
+            int count = terms.size();
+            byte[][] bytes = new byte[count][];
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                bytes[i] = terms.get(i).getBytes(StandardCharsets.UTF_8);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(bytes[a], bytes[b]));
+            int[] newId = new int[count];
+            for (int i = 0; i < count; i++) newId[order[i]] = i;
+
+            int[] entryTerms = new int[members.size()];
+            int e = 0;
+            int memberCount = 0;
+            for (Map.Entry<Integer, int[]> entry : members.entrySet()) {
+                entryTerms[e++] = newId[entry.getKey()];
+                memberCount += entry.getValue().length;
+            }
+            Arrays.sort(entryTerms);
+
+            long stringBytes = 0;
+            for (byte[] b : bytes) stringBytes += b.length;
+            long total = HEADER_BYTES + 4L * (count + 1 + entryTerms.length + entryTerms.length + 1 + memberCount) + stringBytes;
+            if (total > Integer.MAX_VALUE) throw new RuntimeException("Synonym snapshot would exceed 2 GB");
+
+            ByteBuffer out = ByteBuffer.allocate((int) total).order(ByteOrder.BIG_ENDIAN);
+            DictionaryVersion dictionary = version.version();
+            out.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(entryTerms.length).putInt(memberCount).putInt((int) stringBytes)
+                .putLong(dictionary.rows()).putLong(dictionary.checksum());
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                out.putInt(offset);
+                offset += bytes[order[i]].length;
+            }
+            out.putInt(offset);
+            for (int term : entryTerms) out.putInt(term);
+            int memberOffset = 0;
+            for (int term : entryTerms) {
+                out.putInt(memberOffset);
+                memberOffset += members.get(order[term]).length;
+            }
+            out.putInt(memberOffset);
+            for (int term : entryTerms) {
+                for (int member : members.get(order[term])) out.putInt(newId[member]);
+            }
+            for (int i = 0; i < count; i++) out.put(bytes[order[i]]);
+            out.flip();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (out.hasRemaining()) channel.write(out);
+                channel.force(true);
+            }
+        }
+    }
+}
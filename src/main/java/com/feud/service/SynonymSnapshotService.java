@@ -0,0 +1,224 @@
+package com.feud.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the memory-mapped {@link SynonymSnapshot} that {@link SynonymService} answers from,
+ * enabled by setting feud.synonyms.snapshot.path. The file records the version of the dictionary
+ * it was built from (row count and checksum): at startup an existing file is checked against the
+ * database in the background and mapped if it matches, so pods sharing the file share its pages,
+ * and rebuilt otherwise. When the dictionary changes the snapshot is dropped (lookups go to the
+ * database meanwhile) and rebuilt in the background. A file replaced by another process (a pod
+ * sharing it that rebuilt after its own change) is noticed within feud.synonyms.snapshot.check-ms
+ * and mapped again.
+ */
+@Service
+public class SynonymSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(SynonymSnapshotService.class);
+    private static final String SELECT_ROWS = "SELECT canonical, synonyms FROM synonym_dictionary";
+
+    private final Path path;
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor backgroundExecutor;
+    private final long checkMillis;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ScheduledExecutorService watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "synonym-snapshot-watch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean stale;
+    private volatile SynonymSnapshot current;
+    // The file as it was when current was mapped from it
+    private volatile FileStamp mapped;
+
+    public SynonymSnapshotService(@Value("${feud.synonyms.snapshot.path:}") String path, DataSource dataSource,
+                                  @Qualifier("backgroundExecutor") Executor backgroundExecutor,
+                                  @Value("${feud.synonyms.snapshot.check-ms:5000}") long checkMillis) {
+        this.path = path.isBlank() ? null : Paths.get(path);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.backgroundExecutor = backgroundExecutor;
+        this.checkMillis = checkMillis;
+    }
+
+    @PostConstruct
+    void load() {
+        if (path == null) return;
+        rebuildInBackground();
+        if (checkMillis > 0) {
+            watcher.scheduleWithFixedDelay(this::remapIfReplaced, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watcher.shutdownNow();
+    }
+
+    /**
+     * The snapshot to answer lookups from, or null when disabled or being checked or rebuilt.
+     */
+    public SynonymSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Called after the dictionary changed.
+     */
+    public void invalidate() {
+        if (path == null) return;
+        current = null;
+        rebuildInBackground();
+    }
+
+    private void rebuildInBackground() {
+        stale = true;
+        if (!rebuilding.compareAndSet(false, true)) return;
+        backgroundExecutor.execute(() -> {
+            try {
+                // Changes made while a rebuild runs trigger another one
+                while (stale) {
+                    stale = false;
+                    Mapped refreshed = refresh();
+                    if (!stale) publish(refreshed);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not build synonym snapshot {}: {}", path, e.getMessage());
+            } finally {
+                rebuilding.set(false);
+                if (stale) rebuildInBackground();
+            }
+        });
+    }
+
+    private void publish(Mapped refreshed) {
+        mapped = refreshed.stamp();
+        current = refreshed.snapshot();
+    }
+
+    /**
+     * Maps the existing file if it was built from the dictionary as it is now, otherwise rebuilds it.
+     */
+    Mapped refresh() throws IOException {
+        Mapped existing = open();
+        if (existing != null) {
+            SynonymSnapshot.DictionaryVersion version = dictionaryVersion();
+            if (existing.snapshot().dictionaryVersion().equals(version)) {
+                log.info("Mapped synonym snapshot {} ({} entries, {} bytes)", path,
+                        existing.snapshot().entryCount(), existing.snapshot().sizeBytes());
+                return existing;
+            }
+            log.info("Synonym snapshot {} is out of date ({} rows in it, {} in the dictionary), rebuilding it",
+                    path, existing.snapshot().dictionaryVersion().rows(), version.rows());
+        }
+        return rebuild();
+    }
+
+    /**
+     * Reads the dictionary once to compute its version, without keeping the rows.
+     */
+    SynonymSnapshot.DictionaryVersion dictionaryVersion() {
+        SynonymSnapshot.DictionaryVersion.Tally tally = new SynonymSnapshot.DictionaryVersion.Tally();
+        jdbcTemplate.query(SELECT_ROWS, rs -> { tally.add(rs.getString(1), rs.getString(2)); });
+        return tally.version();
+    }
+
+    /**
+     * Writes the dictionary to a temporary file next to the snapshot and moves it into place,
+     * so readers of the old file (other pods too) keep their mapping.
+     */
+    Mapped rebuild() throws IOException {
+        SynonymSnapshot.Builder builder = new SynonymSnapshot.Builder();
+        jdbcTemplate.query(SELECT_ROWS, rs -> { builder.add(rs.getString(1), rs.getString(2)); });
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            builder.writeTo(tmp);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        Mapped built = open();
+        if (built == null) throw new IOException("Synonym snapshot " + path + " disappeared after it was built");
+        log.info("Built synonym snapshot {} ({} entries, {} bytes)", path, built.snapshot().entryCount(), built.snapshot().sizeBytes());
+        return built;
+    }
+
+    /**
+     * Maps the file again when another process replaced it. Skipped while this one is rebuilding,
+     * which publishes its own file.
+     */
+    void remapIfReplaced() {
+        if (rebuilding.get() || current == null) return;
+        try {
+            FileStamp stamp = FileStamp.of(path);
+            if (stamp == null || stamp.equals(mapped)) return;
+            Mapped replaced = open();
+            if (replaced == null || rebuilding.get()) return;
+            publish(replaced);
+            log.info("Mapped replaced synonym snapshot {} ({} entries)", path, replaced.snapshot().entryCount());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not map replaced synonym snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * The file with the stamp it had before it was mapped, or null if there is none (or it is not a
+     * snapshot this version reads).
+     */
+    private Mapped open() throws IOException {
+        FileStamp stamp = FileStamp.of(path);
+        if (stamp == null) return null;
+        try {
+            return new Mapped(SynonymSnapshot.open(path), stamp);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("Could not map synonym snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    record Mapped(SynonymSnapshot snapshot, FileStamp stamp) {}
+
+    /**
+     * Identity of a file version: an atomic replace changes the file key (inode), an in-place write
+     * its modification time or size.
+     */
+    record FileStamp(Object fileKey, FileTime modified, long size) {
+        static FileStamp of(Path path) throws IOException {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileStamp(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -5,7 +5,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -16,6 +19,7 @@ import com.feud.model.Question;
 import com.feud.model.SynonymDictionary;
 import com.feud.repository.QuestionRepository;
 import com.feud.repository.SynonymDictionaryRepository;
+import com.feud.util.GuessNormalizer;
 
 @Service
 public class SynonymSyncService {
@@ -23,10 +27,13 @@ public class SynonymSyncService {
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final QuestionRepository questionRepository;
     private final SynonymDictionaryRepository synonymDictionaryRepository;
+    private final Executor backgroundExecutor;
 
-    public SynonymSyncService(QuestionRepository questionRepository, SynonymDictionaryRepository synonymDictionaryRepository) {
+    public SynonymSyncService(QuestionRepository questionRepository, SynonymDictionaryRepository synonymDictionaryRepository,
+                              @Qualifier("backgroundExecutor") Executor backgroundExecutor) {
         this.questionRepository = questionRepository;
         this.synonymDictionaryRepository = synonymDictionaryRepository;
+        this.backgroundExecutor = backgroundExecutor;
     }
 
     public String fetchSynonyms(String word) {
@@ -46,24 +53,31 @@ public class SynonymSyncService {
 
     public Map<String, String> syncAllAnswerSynonyms() {
         List<Question> questions = questionRepository.findAll();
-        Set<String> canonicalWords = new HashSet<>();
+        // Normalized dictionary key -> folded (unstemmed) word used for the lookup
+        Map<String, String> canonicalWords = new HashMap<>();
         for (Question q : questions) {
             for (Answer a : q.getAnswers()) {
-                canonicalWords.add(a.getText().toLowerCase());
+                canonicalWords.putIfAbsent(GuessNormalizer.normalize(a.getText()), GuessNormalizer.fold(a.getText()));
             }
         }
-        Map<String, String> result = new HashMap<>();
-        for (String word : canonicalWords) {
-            // Only fetch and save if not already present
+        // Only fetch words not already present. The HTTP calls run concurrently on the background
+        // executor; the dictionary writes stay on the calling thread.
+        Map<String, CompletableFuture<String>> fetches = new HashMap<>();
+        for (Map.Entry<String, String> canonical : canonicalWords.entrySet()) {
+            String word = canonical.getKey();
             if (synonymDictionaryRepository.findByCanonical(word).isEmpty()) {
-                String synonyms = fetchSynonyms(word);
-                SynonymDictionary entry = new SynonymDictionary();
-                entry.setCanonical(word);
-                entry.setSynonyms(synonyms);
-                synonymDictionaryRepository.save(entry);
-                result.put(word, synonyms);
+                fetches.put(word, CompletableFuture.supplyAsync(() -> fetchSynonyms(canonical.getValue()), backgroundExecutor));
             }
         }
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<String>> fetch : fetches.entrySet()) {
+            String synonyms = fetch.getValue().join();
+            SynonymDictionary entry = new SynonymDictionary();
+            entry.setCanonical(fetch.getKey());
+            entry.setSynonyms(synonyms);
+            synonymDictionaryRepository.save(entry);
+            result.put(fetch.getKey(), synonyms);
+        }
         return result;
     }
 }
@@ -0,0 +1,56 @@
+package com.feud.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.feud.model.Answer;
+import com.feud.model.Question;
+import com.feud.util.GuessNormalizer;
+
+/**
+ * Inverse document frequencies of normalized answer tokens across the whole question bank.
+ * Each answer counts as one document, so common words like "out" weigh less than "trash".
+ */
+public final class TokenWeights {
+    private final Map<String, Integer> documentFrequency;
+    private final int documents;
+
+    private TokenWeights(Map<String, Integer> documentFrequency, int documents) {
+        this.documentFrequency = documentFrequency;
+        this.documents = documents;
+    }
+
+    public static TokenWeights of(List<Question> questions) {
+        Map<String, Integer> df = new HashMap<>();
+        int documents = 0;
+        Set<String> seen = new HashSet<>();
+        for (Question q : questions) {
+            if (q.getAnswers() == null) continue;
+            for (Answer a : q.getAnswers()) {
+                if (a.getText() == null) continue;
+                documents++;
+                seen.clear();
+                for (String token : tokens(GuessNormalizer.normalize(a.getText()))) {
+                    if (seen.add(token)) df.merge(token, 1, Integer::sum);
+                }
+            }
+        }
+        return new TokenWeights(df, documents);
+    }
+
+    /**
+     * Smoothed IDF; tokens never seen in the bank get the highest weight.
+     */
+    public double idf(String token) {
+        int df = documentFrequency.getOrDefault(token, 0);
+        return Math.log(1.0 + (documents + 1.0) / (df + 1.0));
+    }
+
+    static String[] tokens(String normalized) {
+        if (normalized.isEmpty()) return new String[0];
+        return normalized.split(" ");
+    }
+}
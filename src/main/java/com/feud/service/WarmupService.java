@@ -0,0 +1,189 @@
+package com.feud.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.dto.GameStateView;
+import com.feud.dto.PlayersJoinedEvent;
+import com.feud.model.Answer;
+import com.feud.model.Game;
+import com.feud.model.GameStatus;
+import com.feud.model.Player;
+import com.feud.model.Question;
+import com.feud.model.Team;
+import com.feud.util.GuessNormalizer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Startup warm-up. Runs as an ApplicationRunner, so it completes before Spring Boot publishes
+ * ReadinessState.ACCEPTING_TRAFFIC and the readiness probe stays down until then.
+ * Loads the question catalog snapshot (current versions only) and the question pools, preloads
+ * the answer indexes, token weights and synonym lookups from it, serializes representative game
+ * frames and runs the guess-matching path in a loop so it gets JIT-compiled.
+ */
+@Component
+public class WarmupService implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+
+    private final QuestionCatalog questionCatalog;
+    private final QuestionPoolIndex questionPoolIndex;
+    private final AnswerCheckerService answerCheckerService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int iterations;
+    private volatile Duration lastDuration;
+
+    public WarmupService(QuestionCatalog questionCatalog, QuestionPoolIndex questionPoolIndex,
+                         AnswerCheckerService answerCheckerService, ObjectMapper objectMapper,
+                         ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                         @Value("${feud.warmup.enabled:true}") boolean enabled,
+                         @Value("${feud.warmup.iterations:2000}") int iterations) {
+        this.questionCatalog = questionCatalog;
+        this.questionPoolIndex = questionPoolIndex;
+        this.answerCheckerService = answerCheckerService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        try {
+            List<Question> questions = preloadCatalog();
+            serializeSampleFrames(questions);
+            exerciseMatching(questions);
+        } catch (RuntimeException e) {
+            // A cold pod is still better than no pod: report and let readiness proceed
+            log.warn("Warm-up did not complete: {}", e.getMessage());
+        }
+        lastDuration = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder("feud.warmup.duration")
+                .description("Time spent in the startup warm-up before reporting ready")
+                .register(meterRegistry)
+                .record(lastDuration);
+        log.info("Warm-up finished in {} ms", lastDuration.toMillis());
+    }
+
+    /**
+     * Duration of the last warm-up, or null if it has not run.
+     */
+    public Duration lastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * The catalog snapshot holds detached copies with their answers, the versions games draw;
+     * retired versions are left out of the indexes and token weights.
+     */
+    private List<Question> preloadCatalog() {
+        List<Question> questions = questionCatalog.current().list();
+        questionPoolIndex.preload();
+        // Building the indexes resolves every answer's synonyms, which fills the synonym cache too
+        answerCheckerService.preload(questions);
+        log.info("Warm-up preloaded {} questions", questions.size());
+        return questions;
+    }
+
+    private void serializeSampleFrames(List<Question> questions) {
+        Game game = sampleGame(questions.isEmpty() ? sampleQuestion() : questions.get(0));
+        try {
+            for (int i = 0; i < 50; i++) {
+                objectMapper.writeValueAsBytes(GameStateView.of(game));
+                objectMapper.writeValueAsBytes(new PlayersJoinedEvent(game.getCode(), GameStateView.PlayerView.of(game.getPlayers())));
+            }
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new RuntimeException("Sample game serialization failed", e);
+        }
+    }
+
+    private void exerciseMatching(List<Question> questions) {
+        List<AnswerIndex> indexes = new ArrayList<>();
+        List<String> guesses = new ArrayList<>();
+        for (Question question : questions) {
+            if (question.getAnswers() == null || question.getAnswers().isEmpty()) continue;
+            indexes.add(answerCheckerService.indexFor(question));
+            for (Answer answer : question.getAnswers()) {
+                if (answer.getText() != null) guesses.add(answer.getText());
+            }
+        }
+        if (indexes.isEmpty()) {
+            // Empty catalog: still exercise the matching code on a synthetic index
+            indexes.add(answerCheckerService.index(sampleQuestion().getAnswers()));
+        }
+        guesses.add("the Ice Creams");
+        guesses.add("going swimming");
+        guesses.add("zzz not an answer");
+        Set<Long> revealed = new HashSet<>();
+        // The full path (including synonym lookups for misses) once per guess...
+        for (int i = 0; i < guesses.size(); i++) {
+            answerCheckerService.matchGuess(indexes.get(i % indexes.size()), guesses.get(i), revealed);
+        }
+        // ...and the in-memory part in a loop, which is what the JIT needs to see
+        for (int i = 0; i < iterations; i++) {
+            AnswerIndex index = indexes.get(i % indexes.size());
+            String normalized = GuessNormalizer.normalize(guesses.get(i % guesses.size()));
+            index.mark(normalized, new boolean[index.answers().size()]);
+            index.bestTokenMatch(normalized, revealed, 0.75);
+        }
+    }
+
+    private static Question sampleQuestion() {
+        Question question = new Question();
+        question.setText("Name something people do at the beach");
+        List<Answer> answers = new ArrayList<>();
+        String[] texts = { "swim", "sunbathe", "build a sandcastle", "eat ice cream", "surf" };
+        int[] points = { 40, 25, 15, 12, 8 };
+        for (int i = 0; i < texts.length; i++) {
+            Answer answer = new Answer();
+            answer.setText(texts[i]);
+            answer.setPoints(points[i]);
+            answer.setQuestion(question);
+            answers.add(answer);
+        }
+        question.setAnswers(answers);
+        return question;
+    }
+
+    private static Game sampleGame(Question question) {
+        Game game = new Game();
+        game.setCode("WARMUP");
+        game.setTopic("warmup");
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setCurrentQuestion(question);
+        game.setCurrentTeam(Team.RED);
+        game.setRoundNumber(1);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Player player = new Player();
+            player.setName("player" + i);
+            player.setTeam(i % 2 == 0 ? Team.RED : Team.BLUE);
+            player.setGame(game);
+            players.add(player);
+        }
+        game.setPlayers(players);
+        return game;
+    }
+}
@@ -0,0 +1,215 @@
+package com.feud.util;
+
+import java.text.Normalizer;
+
+/**
+ * Single normalization pipeline for guesses, answers and synonym entries.
+ *
+ * Steps: Unicode NFKD + diacritic stripping, lower-casing, punctuation/whitespace
+ * collapsing, article/stopword removal and light English stemming (plurals and -ing).
+ * All work happens in per-thread reusable buffers; pure ASCII input skips the NFKD
+ * pass, so the only allocation per call is the resulting String.
+ */
+public final class GuessNormalizer {
+    private static final String[] STOPWORDS = {
+        "a", "an", "the", "of", "to", "and", "some", "my", "your", "his", "her", "its", "our", "their"
+    };
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private GuessNormalizer() {}
+
+    /**
+     * Fully normalizes the text: folded, stopwords removed and stemmed, tokens joined by single spaces.
+     */
+    public static String normalize(CharSequence text) {
+        if (text == null) return "";
+        return normalize(text, 0, text.length());
+    }
+
+    /**
+     * Normalizes the region [start, end) of the text without copying it first.
+     */
+    public static String normalize(CharSequence text, int start, int end) {
+        Buffers b = BUFFERS.get();
+        run(text, start, end, b, true);
+        return new String(b.out, 0, b.outLength);
+    }
+
+    /**
+     * Folds the text (diacritics, case, punctuation) without stopword removal or stemming.
+     * Used for legacy dictionary keys that were stored before stemming existed.
+     */
+    public static String fold(CharSequence text) {
+        if (text == null) return "";
+        Buffers b = BUFFERS.get();
+        run(text, 0, text.length(), b, false);
+        return new String(b.out, 0, b.outLength);
+    }
+
+    private static void run(CharSequence text, int start, int end, Buffers b, boolean full) {
+        CharSequence source = text;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) >= 0x80) {
+                source = Normalizer.normalize(text.subSequence(start, end), Normalizer.Form.NFKD);
+                start = 0;
+                end = source.length();
+                break;
+            }
+        }
+        tokenize(source, start, end, b);
+        if (full) {
+            dropStopwords(b);
+            for (int t = 0; t < b.tokenCount; t++) {
+                if (b.keep[t]) b.tokenEnd[t] = stem(b.work, b.tokenStart[t], b.tokenEnd[t]);
+            }
+        }
+        join(b);
+    }
+
+    private static void tokenize(CharSequence s, int start, int end, Buffers b) {
+        b.ensureWork(end - start);
+        b.tokenCount = 0;
+        int w = 0;
+        int tokenStart = -1;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK || c == '\'' || c == '’') {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (tokenStart < 0) tokenStart = w;
+                b.work[w++] = Character.toLowerCase(c);
+            } else if (tokenStart >= 0) {
+                b.addToken(tokenStart, w);
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) b.addToken(tokenStart, w);
+    }
+
+    private static void dropStopwords(Buffers b) {
+        int kept = 0;
+        for (int t = 0; t < b.tokenCount; t++) {
+            b.keep[t] = !isStopword(b.work, b.tokenStart[t], b.tokenEnd[t]);
+            if (b.keep[t]) kept++;
+        }
+        // An answer made only of stopwords (e.g. "The") keeps all of its tokens.
+        if (kept == 0) {
+            for (int t = 0; t < b.tokenCount; t++) b.keep[t] = true;
+        }
+    }
+
+    private static boolean isStopword(char[] buf, int start, int end) {
+        int len = end - start;
+        outer:
+        for (String stop : STOPWORDS) {
+            if (stop.length() != len) continue;
+            for (int i = 0; i < len; i++) {
+                if (buf[start + i] != stop.charAt(i)) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Light stemmer operating in place on buf[start, end). Returns the new end.
+     */
+    static int stem(char[] buf, int start, int end) {
+        int len = end - start;
+        // Plurals
+        if (len > 4 && endsWith(buf, start, end, "ies")) {
+            end -= 2;
+            buf[end - 1] = 'y';
+        } else if (len > 4 && endsWith(buf, start, end, "sses")) {
+            end -= 2;
+        } else if (len > 3 && (endsWith(buf, start, end, "xes") || endsWith(buf, start, end, "zes")
+                || endsWith(buf, start, end, "ches") || endsWith(buf, start, end, "shes"))) {
+            end -= 2;
+        } else if (len > 3 && buf[end - 1] == 's' && buf[end - 2] != 's' && buf[end - 2] != 'u' && buf[end - 2] != 'i') {
+            end -= 1;
+        }
+        // -ing, only when a vowel remains ("spring" stays)
+        if (end - start > 5 && endsWith(buf, start, end, "ing") && hasVowel(buf, start, end - 3)) {
+            end -= 3;
+            char last = buf[end - 1];
+            if (last == buf[end - 2] && !isVowel(last) && last != 'l' && last != 's' && last != 'z') {
+                end -= 1;
+            } else if (end - start == 3 && isShortSyllable(buf, start)) {
+                // Restore the silent e of short stems, so "taking" meets "take"
+                buf[end++] = 'e';
+            }
+        }
+        return end;
+    }
+
+    private static boolean endsWith(char[] buf, int start, int end, String suffix) {
+        int n = suffix.length();
+        if (end - start < n) return false;
+        for (int i = 0; i < n; i++) {
+            if (buf[end - n + i] != suffix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean hasVowel(char[] buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (isVowel(buf[i]) || buf[i] == 'y') return true;
+        }
+        return false;
+    }
+
+    private static boolean isShortSyllable(char[] buf, int start) {
+        char c = buf[start + 2];
+        return !isVowel(buf[start]) && isVowel(buf[start + 1])
+            && !isVowel(c) && c != 'w' && c != 'x' && c != 'y';
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    private static void join(Buffers b) {
+        b.ensureOut(b.work.length + b.tokenCount);
+        int o = 0;
+        for (int t = 0; t < b.tokenCount; t++) {
+            if (!b.keep[t]) continue;
+            if (o > 0) b.out[o++] = ' ';
+            int len = b.tokenEnd[t] - b.tokenStart[t];
+            System.arraycopy(b.work, b.tokenStart[t], b.out, o, len);
+            o += len;
+        }
+        b.outLength = o;
+    }
+
+    private static final class Buffers {
+        char[] work = new char[64];
+        char[] out = new char[80];
+        int outLength;
+        int[] tokenStart = new int[16];
+        int[] tokenEnd = new int[16];
+        boolean[] keep = new boolean[16];
+        int tokenCount;
+
+        void ensureWork(int size) {
+            if (work.length < size) work = new char[Math.max(size, work.length * 2)];
+        }
+
+        void ensureOut(int size) {
+            if (out.length < size) out = new char[Math.max(size, out.length * 2)];
+        }
+
+        void addToken(int start, int end) {
+            if (tokenCount == tokenStart.length) {
+                tokenStart = java.util.Arrays.copyOf(tokenStart, tokenCount * 2);
+                tokenEnd = java.util.Arrays.copyOf(tokenEnd, tokenCount * 2);
+                keep = java.util.Arrays.copyOf(keep, tokenCount * 2);
+            }
+            tokenStart[tokenCount] = start;
+            tokenEnd[tokenCount] = end;
+            keep[tokenCount] = true;
+            tokenCount++;
+        }
+    }
+}
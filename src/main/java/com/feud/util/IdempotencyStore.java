@@ -0,0 +1,138 @@
+package com.feud.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Responses of idempotent requests, keyed by client-chosen key within a scope (a game).
+ * Each scope keeps at most maxKeysPerScope keys in insertion order, dropping the oldest,
+ * and keys expire after the TTL. The first request with a key claims it and runs; requests
+ * repeating the key while it runs wait for its response instead of running again.
+ */
+public final class IdempotencyStore {
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+    private final int maxKeysPerScope;
+    private final int maxScopes;
+    private final long ttlNanos;
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    public IdempotencyStore(int maxKeysPerScope, int maxScopes, long ttlNanos) {
+        this.maxKeysPerScope = Math.max(1, maxKeysPerScope);
+        this.maxScopes = maxScopes;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Claims the key or returns the request already holding it.
+     * @param fingerprint identifies the request (method, URI and body); reusing a key for another request is a mismatch
+     */
+    public Claim claim(String scope, String key, String fingerprint, long nowNanos) {
+        Scope keys = scopes.get(scope);
+        if (keys == null) {
+            if (scopes.size() >= maxScopes) prune(nowNanos);
+            keys = scopes.computeIfAbsent(scope, s -> new Scope());
+        }
+        synchronized (keys) {
+            keys.expire(nowNanos - ttlNanos);
+            Entry existing = keys.entries.get(key);
+            if (existing != null) {
+                return new Claim(existing, false, !existing.fingerprint.equals(fingerprint));
+            }
+            Entry entry = new Entry(key, fingerprint, nowNanos);
+            keys.entries.put(key, entry);
+            if (keys.entries.size() > maxKeysPerScope) {
+                Iterator<Entry> oldest = keys.entries.values().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            keys.lastUsed = nowNanos;
+            return new Claim(entry, true, false);
+        }
+    }
+
+    /**
+     * Stores the response of a claimed key and releases requests waiting on it.
+     */
+    public void complete(Entry entry, Response response) {
+        entry.response.complete(response);
+    }
+
+    /**
+     * Releases a claimed key without a response (the request failed), so a retry runs again.
+     */
+    public void abandon(String scope, Entry entry) {
+        Scope keys = scopes.get(scope);
+        if (keys != null) {
+            synchronized (keys) {
+                keys.entries.remove(entry.key, entry);
+            }
+        }
+        entry.response.complete(null);
+    }
+
+    /**
+     * Drops every key of the scope.
+     */
+    public void evict(String scope) {
+        if (scope != null) scopes.remove(scope);
+    }
+
+    public void clear() {
+        scopes.clear();
+    }
+
+    private void prune(long nowNanos) {
+        if (!pruning.compareAndSet(false, true)) return;
+        try {
+            scopes.values().removeIf(keys -> nowNanos - keys.lastUsed > ttlNanos);
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    public int size() {
+        return scopes.size();
+    }
+
+    public record Response(int status, String contentType, byte[] body) {}
+
+    /**
+     * @param owner true if the caller claimed the key and must run the request
+     * @param mismatch true if the key is held by a different request
+     */
+    public record Claim(Entry entry, boolean owner, boolean mismatch) {}
+
+    public static final class Entry {
+        private final String key;
+        private final String fingerprint;
+        private final long createdNanos;
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+
+        private Entry(String key, String fingerprint, long createdNanos) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdNanos = createdNanos;
+        }
+
+        /**
+         * Completes with the stored response, or with null if the request holding the key failed.
+         */
+        public CompletableFuture<Response> response() {
+            return response;
+        }
+    }
+
+    private static final class Scope {
+        final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        volatile long lastUsed;
+
+        void expire(long createdBefore) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext() && it.next().createdNanos - createdBefore < 0) it.remove();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.feud.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Profile ids issued by the server. A client proves it owns a profile with the token it was given
+ * on its first join, "id.signature", signed with HMAC-SHA256 under the server secret; the bare id
+ * is public (state frames, leaderboards) and claims nothing.
+ */
+public final class ProfileTokens {
+    private static final String ALGORITHM = "HmacSHA256";
+    private final SecretKeySpec key;
+
+    public ProfileTokens(byte[] secret) {
+        if (secret == null || secret.length == 0) throw new IllegalArgumentException("Profile secret is required");
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * A new profile id.
+     */
+    public String issue() {
+        return UUID.randomUUID().toString();
+    }
+
+    public String token(String id) {
+        return id + "." + signature(id);
+    }
+
+    /**
+     * The profile id the token was issued for, or null if it is absent or was not signed by this server.
+     */
+    public String verify(String token) {
+        if (token == null) return null;
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return null;
+        String id = token.substring(0, dot);
+        byte[] expected = signature(id).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) ? id : null;
+    }
+
+    private String signature(String id) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(id.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.feud.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by string, implemented as GCRA (generic cell rate algorithm):
+ * each key holds only its theoretical arrival time in an AtomicLong, updated by compare-and-set.
+ * A bucket of rate r and burst b admits b requests at once and then one every 1/r seconds.
+ * At most maxKeys keys are tracked (give or take the callers racing in at that moment): when
+ * pruning the full buckets leaves no room, a new key is rejected for one interval.
+ */
+public final class RateLimiter {
+    // A table full of live buckets is scanned again at most this often
+    private static final long PRUNE_GAP_NANOS = 100_000_000L;
+
+    private final Map<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile boolean pruned;
+    private volatile long lastPruneNanos;
+
+    public RateLimiter(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, double ratePerSecond, int burst, long nowNanos) {
+        long interval = (long) (1_000_000_000L / ratePerSecond);
+        long tolerance = interval * (Math.max(1, burst) - 1);
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival == null) {
+            if (arrivals.size() >= maxKeys) {
+                prune(nowNanos);
+                if (arrivals.size() >= maxKeys) return interval;
+            }
+            arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long current = arrival.get();
+            long theoretical = Math.max(current, nowNanos);
+            long wait = theoretical - nowNanos - tolerance;
+            if (wait > 0) return wait;
+            if (arrival.compareAndSet(current, theoretical + interval)) return 0;
+        }
+    }
+
+    /**
+     * Takes one token from each bucket, or from none: when a bucket rejects the request, the tokens
+     * already taken from the buckets before it are given back.
+     * @return null if the request is admitted, otherwise the rejecting bucket and its wait
+     */
+    public Rejection tryAcquireAll(List<Bucket> buckets, long nowNanos) {
+        for (int i = 0; i < buckets.size(); i++) {
+            Bucket bucket = buckets.get(i);
+            long wait = tryAcquire(bucket.key(), bucket.ratePerSecond(), bucket.burst(), nowNanos);
+            if (wait > 0) {
+                for (int j = 0; j < i; j++) refund(buckets.get(j));
+                return new Rejection(i, wait);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}. The key holds a theoretical arrival time
+     * in the future, so it cannot have been pruned in between.
+     */
+    private void refund(Bucket bucket) {
+        AtomicLong arrival = arrivals.get(bucket.key());
+        if (arrival != null) arrival.addAndGet(-(long) (1_000_000_000L / bucket.ratePerSecond()));
+    }
+
+    /**
+     * Drops keys whose bucket is full again; they behave exactly like absent keys.
+     */
+    private void prune(long nowNanos) {
+        if (pruned && nowNanos - lastPruneNanos < PRUNE_GAP_NANOS) return;
+        if (!pruning.compareAndSet(false, true)) return;
+        try {
+            arrivals.values().removeIf(arrival -> arrival.get() <= nowNanos);
+            lastPruneNanos = nowNanos;
+            pruned = true;
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    public int size() {
+        return arrivals.size();
+    }
+
+    public record Bucket(String key, double ratePerSecond, int burst) {}
+
+    public record Rejection(int bucket, long waitNanos) {}
+}
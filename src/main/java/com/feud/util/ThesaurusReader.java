@@ -0,0 +1,110 @@
+package com.feud.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Streams (word, synonym) pairs out of a local thesaurus file, one line at a time.
+ *
+ * Formats:
+ * <ul>
+ *   <li>TSV: {@code word<TAB>synonym[,synonym...]}, repeated columns allowed; lines starting with # are skipped</li>
+ *   <li>MYTHES: the WordNet-derived OpenOffice/LibreOffice thesaurus (.dat): an encoding line, then
+ *       {@code word|meanings} followed by that many {@code (pos)|synonym|synonym...} lines</li>
+ * </ul>
+ * Words are normalized like dictionary keys and synonyms are folded; self-references are dropped.
+ */
+public final class ThesaurusReader {
+    // Longer terms are skipped: dictionary keys are VARCHAR(255)
+    private static final int MAX_TERM_LENGTH = 255;
+
+    public enum Format { TSV, MYTHES }
+
+    @FunctionalInterface
+    public interface PairSink {
+        void accept(String canonical, String synonym) throws IOException;
+    }
+
+    private ThesaurusReader() {}
+
+    /**
+     * @return the number of pairs handed to the sink
+     */
+    public static long read(BufferedReader reader, Format format, PairSink sink) throws IOException {
+        return format == Format.MYTHES ? readMyThes(reader, sink) : readTsv(reader, sink);
+    }
+
+    private static long readTsv(BufferedReader reader, PairSink sink) throws IOException {
+        long pairs = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.charAt(0) == '#') continue;
+            int tab = line.indexOf('\t');
+            if (tab <= 0) continue;
+            String canonical = GuessNormalizer.normalize(line, 0, tab);
+            if (canonical.isEmpty()) continue;
+            pairs += emit(canonical, line, tab + 1, "\t,", sink);
+        }
+        return pairs;
+    }
+
+    private static long readMyThes(BufferedReader reader, PairSink sink) throws IOException {
+        long pairs = 0;
+        String canonical = null;
+        int meaningsLeft = 0;
+        String line = reader.readLine(); // encoding, e.g. UTF-8
+        while ((line = reader.readLine()) != null) {
+            if (meaningsLeft > 0) {
+                meaningsLeft--;
+                // The first field is the part of speech
+                int bar = line.indexOf('|');
+                if (bar >= 0 && !canonical.isEmpty()) pairs += emit(canonical, line, bar + 1, "|", sink);
+                continue;
+            }
+            int bar = line.lastIndexOf('|');
+            if (bar <= 0) continue;
+            canonical = GuessNormalizer.normalize(line, 0, bar);
+            try {
+                meaningsLeft = Integer.parseInt(line.substring(bar + 1).trim());
+            } catch (NumberFormatException e) {
+                meaningsLeft = 0;
+            }
+        }
+        return pairs;
+    }
+
+    private static long emit(String canonical, String line, int from, String separators, PairSink sink) throws IOException {
+        long pairs = 0;
+        int start = from;
+        for (int i = from; i <= line.length(); i++) {
+            if (i < line.length() && separators.indexOf(line.charAt(i)) < 0) continue;
+            if (i > start) {
+                String synonym = GuessNormalizer.fold(withoutNotes(line.substring(start, i)));
+                if (!synonym.isEmpty() && !synonym.equals(canonical)
+                        && canonical.length() <= MAX_TERM_LENGTH && synonym.length() <= MAX_TERM_LENGTH) {
+                    sink.accept(canonical, synonym);
+                    pairs++;
+                }
+            }
+            start = i + 1;
+        }
+        return pairs;
+    }
+
+    /**
+     * Drops parenthesized notes such as MyThes' "(generic term)" or "(similar term)".
+     */
+    private static String withoutNotes(String term) {
+        int open = term.indexOf('(');
+        if (open < 0) return term;
+        StringBuilder sb = new StringBuilder(term.length());
+        int depth = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '(') depth++;
+            else if (c == ')' && depth > 0) depth--;
+            else if (depth == 0) sb.append(c);
+        }
+        return sb.toString();
+    }
+}
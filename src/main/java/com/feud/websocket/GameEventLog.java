@@ -0,0 +1,132 @@
+package com.feud.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Bounded per-game ring buffer of the frames sent on /topic/game/{code}. Every frame gets the next
+ * per-game version (sent as the "version" STOMP header), so a reconnecting client can ask for
+ * the frames after the last version it saw instead of reloading the whole game.
+ *
+ * A game's versions start from an epoch taken when its buffer is created (milliseconds since
+ * 1970 times 1024, still exact in a JavaScript number), so versions handed out before a restart,
+ * by another instance or before the buffer was dropped never fall inside the current range and
+ * the client gets a snapshot instead.
+ */
+@Component
+public class GameEventLog {
+    public static final String VERSION_HEADER = "version";
+    public static final String GAME_STATE = "GAME_STATE";
+
+    private final int capacity;
+    private final LongSupplier epoch;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameEventLog(@Value("${feud.websocket.resume-buffer:64}") int capacity) {
+        this(capacity, () -> System.currentTimeMillis() << 10);
+    }
+
+    GameEventLog(int capacity, LongSupplier epoch) {
+        this.capacity = Math.max(1, capacity);
+        this.epoch = epoch;
+    }
+
+    /**
+     * Assigns the next version to a serialized frame, stores it and hands it to the sender.
+     * Sending happens under the game's lock, so frames of one game leave in version order.
+     */
+    public Event append(String code, String type, byte[] payload, Consumer<Event> sender) {
+        Ring ring = rings.computeIfAbsent(code, c -> new Ring(capacity, epoch.getAsLong()));
+        synchronized (ring) {
+            Event event = new Event(++ring.version, type, payload);
+            ring.slots[(int) (event.version % ring.slots.length)] = event;
+            sender.accept(event);
+            return event;
+        }
+    }
+
+    /**
+     * Frames a client that last saw {@code since} needs to catch up. Full game states supersede
+     * everything before them, so only the frames from the newest missed state onward are returned.
+     * @return the frames (possibly empty), or null if the game has no buffer or {@code since} is not
+     *         in its range (the client fell off it, or the version comes from another epoch)
+     */
+    public Resume since(String code, long since) {
+        Ring ring = rings.get(code);
+        if (ring == null) return null;
+        synchronized (ring) {
+            long latest = ring.version;
+            long oldest = Math.max(ring.epoch + 1, latest - ring.slots.length + 1);
+            if (since == latest) return new Resume(latest, List.of());
+            if (since > latest || since + 1 < oldest) return null;
+            List<Event> missed = new ArrayList<>((int) (latest - since));
+            for (long v = since + 1; v <= latest; v++) {
+                Event event = ring.slots[(int) (v % ring.slots.length)];
+                if (GAME_STATE.equals(event.type)) missed.clear();
+                missed.add(event);
+            }
+            return new Resume(latest, missed);
+        }
+    }
+
+    /**
+     * Latest version sent for the game, or 0 if it has no buffer.
+     */
+    public long latestVersion(String code) {
+        Ring ring = rings.get(code);
+        if (ring == null) return 0;
+        synchronized (ring) {
+            return ring.version;
+        }
+    }
+
+    public void close(String code) {
+        if (code != null) rings.remove(code);
+    }
+
+    public record Resume(long version, List<Event> events) {}
+
+    /**
+     * One sent frame. The payload array is shared with the broker and must not be modified.
+     */
+    public record Event(long version, String type, byte[] payload) {
+        public String payloadJson() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+
+        Message<byte[]> toMessage() {
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setNativeHeader(VERSION_HEADER, Long.toString(version));
+            headers.setLeaveMutable(true);
+            return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+        }
+    }
+
+    private static final class Ring {
+        final Event[] slots;
+        final long epoch;
+        long version;
+
+        Ring(int capacity, long epoch) {
+            this.slots = new Event[capacity];
+            this.epoch = epoch;
+            this.version = epoch;
+        }
+    }
+}
@@ -1,21 +1,248 @@
 package com.feud.websocket;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.dto.GameStateView;
+import com.feud.dto.PlayersJoinedEvent;
 import com.feud.model.Game;
+import com.feud.model.GameStatus;
+import com.feud.model.Player;
+
+import jakarta.annotation.PreDestroy;
 
+/**
+ * Game topic broadcasts. Callers copy the game into an immutable view and hand it over:
+ * serialization, the event log append and broker dispatch run on dispatcher threads, each owning
+ * a bounded ring buffer (an ArrayBlockingQueue) and the games whose code hashes to it. One thread
+ * per game keeps every game's frames in the order they were handed over. Callers never wait:
+ * when a game's dispatcher is backed up its frames are held for a resync instead, where a newer
+ * full state frame replaces the ones it makes obsolete, and are queued again as room frees up.
+ * No frame is lost, the final frame of an ended game and lobby joins included.
+ */
 @Component
 public class GameWebSocketBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(GameWebSocketBroadcaster.class);
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final long lobbyBatchMillis;
+    private final SpectatorFeed spectatorFeed;
+    private final GameEventLog eventLog;
+    private final Dispatcher[] dispatchers;
+    private final Map<String, PendingJoins> pendingJoins = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lobbyFlusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "lobby-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Autowired
-    public GameWebSocketBroadcaster(SimpMessagingTemplate messagingTemplate) {
+    public GameWebSocketBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                                    @Value("${feud.websocket.lobby-batch-ms:250}") long lobbyBatchMillis,
+                                    SpectatorFeed spectatorFeed, GameEventLog eventLog,
+                                    @Value("${feud.websocket.dispatcher-threads:4}") int dispatcherThreads,
+                                    @Value("${feud.websocket.dispatch-queue:1024}") int dispatchQueue) {
         this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.lobbyBatchMillis = lobbyBatchMillis;
+        this.spectatorFeed = spectatorFeed;
+        this.eventLog = eventLog;
+        this.dispatchers = new Dispatcher[Math.max(1, dispatcherThreads)];
+        for (int i = 0; i < dispatchers.length; i++) {
+            dispatchers[i] = new Dispatcher("game-broadcast-" + i, Math.max(1, dispatchQueue));
+        }
     }
 
+    /**
+     * Queues a full state frame for the game topic and publishes the game to the spectator feed.
+     * The game is copied once on the caller's thread, so dispatcher threads never touch the entity.
+     * The final frame of an ended game also drops its resume buffer: later resumes get a snapshot.
+     */
     public void broadcastGameState(Game game) {
-        messagingTemplate.convertAndSend("/topic/game/" + game.getCode(), game);
+        String code = game.getCode();
+        GameStateView view = GameStateView.of(game);
+        spectatorFeed.publish(view);
+        boolean ended = game.getStatus() == GameStatus.ENDED;
+        dispatch(code, GameEventLog.GAME_STATE, true, () -> {
+            byte[] bytes = serialize(GameEventLog.GAME_STATE, view);
+            if (bytes != null) send(code, GameEventLog.GAME_STATE, bytes);
+            if (ended) eventLog.close(code);
+        });
+    }
+
+    private byte[] serialize(String type, Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} frame: {}", type, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Hands a task to the dispatcher owning the game without waiting. While the dispatcher is
+     * backed up, or the game already has frames held, the task is held for a resync: a full
+     * state frame replaces the held ones (it carries their changes), other tasks run after them.
+     */
+    private void dispatch(String code, String type, boolean fullState, Runnable task) {
+        Dispatcher dispatcher = dispatchers[Math.floorMod(code.hashCode(), dispatchers.length)];
+        if (!dispatcher.held.containsKey(code) && dispatcher.queue.offer(task)) return;
+        if (fullState) dispatcher.held.put(code, task);
+        else dispatcher.held.merge(code, task, Dispatcher::then);
+        log.debug("Broadcast backlog full for game {}: {} frame held for resync", code, type);
+    }
+
+    /**
+     * Records the serialized frame in the game's event log under the next version and sends
+     * the same bytes to the game topic. Runs on the game's dispatcher thread.
+     */
+    private void send(String code, String type, byte[] bytes) {
+        String destination = "/topic/game/" + code;
+        eventLog.append(code, type, bytes, event -> messagingTemplate.send(destination, event.toMessage()));
+    }
+
+    /**
+     * Queues a lobby join. Joins are collected per game and sent as a single
+     * PLAYERS_JOINED event every lobby batch interval, so a lobby filling up costs
+     * one frame per subscriber per interval instead of one full game frame per join.
+     */
+    public void broadcastPlayerJoined(String code, Player player) {
+        PendingJoins pending = pendingJoins.computeIfAbsent(code, c -> new PendingJoins());
+        pending.players.add(GameStateView.PlayerView.of(player));
+        if (pending.scheduled.compareAndSet(false, true)) {
+            lobbyFlusher.schedule(() -> flushJoins(code, pending), lobbyBatchMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushJoins(String code, PendingJoins pending) {
+        // Clear the flag before draining: a join racing with this flush schedules the next one
+        pending.scheduled.set(false);
+        List<GameStateView.PlayerView> joined = new ArrayList<>();
+        GameStateView.PlayerView next;
+        while ((next = pending.players.poll()) != null) {
+            joined.add(next);
+        }
+        if (joined.isEmpty()) return;
+        PlayersJoinedEvent event = new PlayersJoinedEvent(code, joined);
+        dispatch(code, PlayersJoinedEvent.TYPE, false, () -> {
+            byte[] bytes = serialize(PlayersJoinedEvent.TYPE, event);
+            if (bytes != null) send(code, PlayersJoinedEvent.TYPE, bytes);
+        });
+    }
+
+    /**
+     * Sends any joins still pending for the game and drops its batching state.
+     * Called when the game leaves the lobby, so no join frame trails the state change.
+     */
+    public void closeLobby(String code) {
+        PendingJoins pending = pendingJoins.remove(code);
+        if (pending != null) flushJoins(code, pending);
+    }
+
+    /**
+     * Drops all broadcast state of a deleted game, flushing pending lobby joins first.
+     */
+    public void closeGame(String code) {
+        closeLobby(code);
+        // Queued behind the game's remaining frames
+        dispatch(code, "close", false, () -> {
+            spectatorFeed.close(code);
+            eventLog.close(code);
+        });
+    }
+
+    /**
+     * Frames waiting in the dispatcher queues, and games with frames held for a resync.
+     */
+    public int backlog() {
+        int backlog = 0;
+        for (Dispatcher dispatcher : dispatchers) backlog += dispatcher.queue.size() + dispatcher.held.size();
+        return backlog;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        lobbyFlusher.shutdown();
+        for (Dispatcher dispatcher : dispatchers) dispatcher.running = false;
+        for (Dispatcher dispatcher : dispatchers) dispatcher.thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static final class Dispatcher implements Runnable {
+        final BlockingQueue<Runnable> queue;
+        // Per game, the frames that found the queue full; they keep their order behind the queued ones
+        final Map<String, Runnable> held = new ConcurrentHashMap<>();
+        final Thread thread;
+        volatile boolean running = true;
+
+        Dispatcher(String name, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            // Drain what was queued before shutdown
+            while (running || !queue.isEmpty() || !held.isEmpty()) {
+                requeueHeld();
+                Runnable task;
+                try {
+                    task = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (task == null) continue;
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("Broadcast failed on {}: {}", thread.getName(), e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Moves held frames into the queue as far as there is room. A frame is released only if
+         * it is still the one held: one replaced in the meantime stays held and follows it.
+         */
+        private void requeueHeld() {
+            if (held.isEmpty()) return;
+            for (Map.Entry<String, Runnable> entry : held.entrySet()) {
+                if (!queue.offer(entry.getValue())) return;
+                held.remove(entry.getKey(), entry.getValue());
+            }
+        }
+
+        static Runnable then(Runnable first, Runnable second) {
+            return () -> {
+                first.run();
+                second.run();
+            };
+        }
+    }
+
+    private static final class PendingJoins {
+        final Queue<GameStateView.PlayerView> players = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
     }
 }
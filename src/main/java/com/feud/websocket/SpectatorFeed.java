@@ -0,0 +1,230 @@
+package com.feud.websocket;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.dto.GameStateView;
+import com.feud.dto.SpectatorView;
+import com.feud.model.GameStatus;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Spectator topic per game (/topic/game/{code}/spectate). Updates are coalesced to at most one
+ * per interval; each sent version is serialized once into a byte[] frame that the broker hands
+ * to every spectator session as the same payload. The reduced view is built, serialized and sent
+ * on a separate thread from the caller's {@link GameStateView}, so host and team broadcasts of the
+ * same game never wait on the audience. Subscriptions are counted per game from the STOMP session
+ * events: a game nobody watches only keeps its latest state, turned into a frame if it is asked
+ * for over HTTP, and a new spectator gets it with the next flush.
+ */
+@Component
+public class SpectatorFeed {
+    private static final Logger log = LoggerFactory.getLogger(SpectatorFeed.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final long intervalNanos;
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> spectators = new ConcurrentHashMap<>();
+    // Spectator subscriptions by session, then subscription id, to the game code
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "spectator-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SpectatorFeed(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                         @Value("${feud.websocket.spectator-interval-ms:500}") long intervalMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    public static String destination(String code) {
+        return "/topic/game/" + code + "/spectate";
+    }
+
+    /**
+     * Records a new game state for spectators. Nothing is built on the caller's thread, and nothing
+     * at all while the game has no spectators.
+     */
+    public void publish(GameStateView game) {
+        if (game == null || game.code() == null) return;
+        String code = game.code();
+        Feed feed = feeds.computeIfAbsent(code, c -> new Feed());
+        Pending state = new Pending(feed.versions.incrementAndGet(), game);
+        feed.pending.accumulateAndGet(state, (current, next) ->
+                current == null || next.version() > current.version() ? next : current);
+        boolean ended = game.status() == GameStatus.ENDED;
+        if (!watched(code)) {
+            if (ended) feeds.remove(code, feed);
+            return;
+        }
+        if (ended) {
+            // The final state is not held back by the rate cap; the game's spectator state goes with it
+            dispatcher.execute(() -> {
+                flush(code, feed);
+                feeds.remove(code, feed);
+            });
+        } else {
+            schedule(code, feed);
+        }
+    }
+
+    private void schedule(String code, Feed feed) {
+        if (feed.scheduled.compareAndSet(false, true)) {
+            long delay = Math.max(0, feed.lastSentNanos + intervalNanos - System.nanoTime());
+            dispatcher.schedule(() -> flush(code, feed), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush(String code, Feed feed) {
+        // Clear the flag before taking the state: a publish racing with this flush schedules the next one
+        feed.scheduled.set(false);
+        Pending state = feed.pending.getAndSet(null);
+        if (state == null) return;
+        Frame frame = frame(code, state);
+        if (frame == null) return;
+        feed.keep(frame);
+        feed.lastSentNanos = System.nanoTime();
+        messagingTemplate.send(destination(code), frame.toMessage());
+    }
+
+    private Frame frame(String code, Pending state) {
+        try {
+            return new Frame(state.version(), objectMapper.writeValueAsBytes(SpectatorView.of(state.game(), state.version())));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize spectator view of game {}: {}", code, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The frame of the game's latest state, or null if it has none. A state not sent yet (nobody
+     * watches, or it waits for the interval) is turned into its frame here.
+     */
+    public Frame latestFrame(String code) {
+        Feed feed = feeds.get(code);
+        if (feed == null) return null;
+        Pending state = feed.pending.get();
+        Frame latest = feed.latest;
+        if (state == null || latest != null && latest.version() >= state.version()) return latest;
+        Frame frame = frame(code, state);
+        if (frame == null) return latest;
+        feed.keep(frame);
+        return frame;
+    }
+
+    /**
+     * Drops the game's spectator state (after the game was deleted; ended games drop it themselves).
+     */
+    public void close(String code) {
+        if (code != null) feeds.remove(code);
+    }
+
+    boolean watched(String code) {
+        AtomicInteger count = spectators.get(code);
+        return count != null && count.get() > 0;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        String code = gameCode(headers.getDestination());
+        if (code == null || headers.getSessionId() == null || headers.getSubscriptionId() == null) return;
+        subscriptions.computeIfAbsent(headers.getSessionId(), s -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), code);
+        spectators.computeIfAbsent(code, c -> new AtomicInteger()).incrementAndGet();
+        // Whatever was published while nobody watched goes out with the next flush
+        Feed feed = feeds.get(code);
+        if (feed != null && feed.pending.get() != null) schedule(code, feed);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> session = headers.getSessionId() == null ? null : subscriptions.get(headers.getSessionId());
+        if (session == null || headers.getSubscriptionId() == null) return;
+        unwatch(session.remove(headers.getSubscriptionId()));
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> session = subscriptions.remove(event.getSessionId());
+        if (session != null) session.values().forEach(this::unwatch);
+    }
+
+    private void unwatch(String code) {
+        if (code == null) return;
+        AtomicInteger count = spectators.get(code);
+        if (count != null && count.decrementAndGet() <= 0) spectators.remove(code, count);
+    }
+
+    private static String gameCode(String destination) {
+        String prefix = "/topic/game/";
+        String suffix = "/spectate";
+        if (destination == null || !destination.startsWith(prefix) || !destination.endsWith(suffix)) return null;
+        String code = destination.substring(prefix.length(), destination.length() - suffix.length());
+        return code.isEmpty() || code.contains("/") ? null : code;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * One serialized spectator version. The payload array is shared by every send and must not be modified.
+     */
+    public record Frame(long version, byte[] payload) {
+        Message<byte[]> toMessage() {
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setLeaveMutable(true);
+            return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+        }
+    }
+
+    private record Pending(long version, GameStateView game) {}
+
+    private static final class Feed {
+        final AtomicLong versions = new AtomicLong();
+        final AtomicReference<Pending> pending = new AtomicReference<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile Frame latest;
+        volatile long lastSentNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+
+        void keep(Frame frame) {
+            synchronized (this) {
+                if (latest == null || frame.version() > latest.version()) latest = frame;
+            }
+        }
+    }
+}
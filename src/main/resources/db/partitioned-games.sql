@@ -0,0 +1,215 @@
+-- Partitioned layout of the game tables (PostgreSQL 13+), opt-in: see "Partitioned game tables" in
+-- application.properties.example. Runs at every startup, before Hibernate, as a single statement;
+-- every step is idempotent.
+--
+--   game                         PARTITION BY LIST (status)
+--     game_live                    LOBBY, IN_PROGRESS: the running games, one small table
+--     game_ended                   ENDED, PARTITION BY RANGE (id)
+--       game_ended_p202610           one partition per creation month
+--   player                       PARTITION BY RANGE (game_id), same monthly ranges
+--   game_revealed_answer_ids     PARTITION BY RANGE (game_id), same monthly ranges
+--
+-- Game ids grow with time, so a creation month is the range of ids allocated during it and the
+-- children are partitioned on game_id without extra columns; feud_game_partition records the
+-- ranges. The newest partition of each table is open-ended and feud_roll_game_partitions() closes
+-- it when a month starts. feud_drop_game_partitions(n) drops the partitions of months older than
+-- n months whose games have all ended. Ending a game moves its row from game_live to game_ended.
+-- Both take a transaction-level advisory lock first, so concurrent runs from several instances
+-- are serialized and each one reads feud_game_partition as the previous one left it.
+--
+-- Unique keys of partitioned tables must contain the partition key, so game.code is indexed but
+-- not unique (the application checks codes on creation) and there are no foreign keys to game.
+-- Hibernate's ddl-auto skips these tables when feud.partitioning.enabled=true (PartitionedSchemaConfig),
+-- so a column added to Game or Player must be added here too: to the CREATE TABLE and as an
+-- ALTER TABLE ... ADD COLUMN IF NOT EXISTS for databases that are already partitioned.
+-- An existing unpartitioned layout is migrated in place; its rows land in a "legacy" partition.
+
+CREATE TABLE IF NOT EXISTS feud_game_partition (
+    suffix varchar(16) PRIMARY KEY,
+    month date NOT NULL,
+    first_id bigint,
+    end_id bigint
+);
+
+CREATE OR REPLACE FUNCTION feud_game_tables() RETURNS TABLE (parent text, key_column text) LANGUAGE sql IMMUTABLE AS $$
+    VALUES ('game_ended', 'id'), ('player', 'game_id'), ('game_revealed_answer_ids', 'game_id')
+$$;
+
+-- Creates the open-ended partitions starting at first_id (null: all ids) for the given month
+CREATE OR REPLACE FUNCTION feud_open_game_partitions(month date, first_id bigint) RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+    suffix text := 'p' || to_char(month, 'YYYYMM');
+    t record;
+BEGIN
+    FOR t IN SELECT * FROM feud_game_tables() LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%s) TO (MAXVALUE)',
+            t.parent || '_' || suffix, t.parent, coalesce(first_id::text, 'MINVALUE'));
+    END LOOP;
+    INSERT INTO feud_game_partition (suffix, month, first_id, end_id) VALUES (suffix, month, first_id, NULL);
+END
+$$;
+
+-- Closes the open partitions at the next game id once a new month has started.
+-- Returns the suffix of the new open partitions, or null when there was nothing to do.
+CREATE OR REPLACE FUNCTION feud_roll_game_partitions() RETURNS text LANGUAGE plpgsql AS $$
+DECLARE
+    this_month date := date_trunc('month', now())::date;
+    open_part feud_game_partition;
+    boundary bigint;
+    t record;
+BEGIN
+    -- Instances rolling at the same time take turns; the second one then finds the new open partition
+    PERFORM pg_advisory_xact_lock(hashtext('feud_game_partition'));
+    SELECT * INTO open_part FROM feud_game_partition WHERE end_id IS NULL;
+    IF NOT FOUND THEN
+        PERFORM feud_open_game_partitions(this_month, NULL);
+        RETURN 'p' || to_char(this_month, 'YYYYMM');
+    END IF;
+    IF open_part.month >= this_month THEN
+        RETURN NULL;
+    END IF;
+    -- Inserts wait for the switch; ids handed out before it are below the boundary
+    LOCK TABLE game, player, game_revealed_answer_ids IN ACCESS EXCLUSIVE MODE;
+    EXECUTE format('SELECT last_value + CASE WHEN is_called THEN 1 ELSE 0 END FROM %s',
+        pg_get_serial_sequence('game', 'id')) INTO boundary;
+    IF open_part.first_id IS NOT NULL AND boundary <= open_part.first_id THEN
+        -- No game was created since the open partitions started: they simply move to this month
+        FOR t IN SELECT * FROM feud_game_tables() LOOP
+            EXECUTE format('ALTER TABLE %I RENAME TO %I',
+                t.parent || '_' || open_part.suffix, t.parent || '_p' || to_char(this_month, 'YYYYMM'));
+        END LOOP;
+        UPDATE feud_game_partition SET suffix = 'p' || to_char(this_month, 'YYYYMM'), month = this_month
+            WHERE suffix = open_part.suffix;
+        RETURN 'p' || to_char(this_month, 'YYYYMM');
+    END IF;
+    FOR t IN SELECT * FROM feud_game_tables() LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', t.parent, t.parent || '_' || open_part.suffix);
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%s) TO (%s)',
+            t.parent, t.parent || '_' || open_part.suffix, coalesce(open_part.first_id::text, 'MINVALUE'), boundary);
+    END LOOP;
+    UPDATE feud_game_partition SET end_id = boundary WHERE suffix = open_part.suffix;
+    PERFORM feud_open_game_partitions(this_month, boundary);
+    RETURN 'p' || to_char(this_month, 'YYYYMM');
+END
+$$;
+
+-- Drops the closed partitions of months older than keep_months, skipping any that still hold a live game.
+-- Returns the suffixes dropped.
+CREATE OR REPLACE FUNCTION feud_drop_game_partitions(keep_months int) RETURNS SETOF text LANGUAGE plpgsql AS $$
+DECLARE
+    cutoff date := (date_trunc('month', now()) - make_interval(months => keep_months))::date;
+    p feud_game_partition;
+    t record;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('feud_game_partition'));
+    FOR p IN SELECT * FROM feud_game_partition WHERE end_id IS NOT NULL AND month < cutoff ORDER BY month LOOP
+        IF EXISTS (SELECT 1 FROM game_live WHERE id < p.end_id AND (p.first_id IS NULL OR id >= p.first_id)) THEN
+            CONTINUE;
+        END IF;
+        FOR t IN SELECT * FROM feud_game_tables() LOOP
+            EXECUTE format('DROP TABLE IF EXISTS %I', t.parent || '_' || p.suffix);
+        END LOOP;
+        DELETE FROM feud_game_partition WHERE suffix = p.suffix;
+        RETURN NEXT p.suffix;
+    END LOOP;
+END
+$$;
+
+DO $$
+DECLARE
+    legacy boolean;
+    boundary bigint;
+    cols text;
+    t text;
+BEGIN
+    -- Already partitioned
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('game') AND relkind = 'p') THEN
+        RETURN;
+    END IF;
+    legacy := to_regclass('game') IS NOT NULL;
+    IF legacy THEN
+        ALTER TABLE game RENAME TO game_unpartitioned;
+        ALTER TABLE IF EXISTS player RENAME TO player_unpartitioned;
+        ALTER TABLE IF EXISTS game_revealed_answer_ids RENAME TO game_revealed_answer_ids_unpartitioned;
+        IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_player_game_name') THEN
+            ALTER TABLE player_unpartitioned RENAME CONSTRAINT uk_player_game_name TO uk_player_game_name_unpartitioned;
+        END IF;
+    END IF;
+
+    CREATE TABLE game (
+        id bigint GENERATED BY DEFAULT AS IDENTITY,
+        code varchar(6),
+        topic varchar(255),
+        status varchar(255) NOT NULL CHECK (status IN ('LOBBY', 'IN_PROGRESS', 'ENDED')),
+        current_question_id bigint,
+        round_number integer NOT NULL DEFAULT 0,
+        max_rounds integer NOT NULL DEFAULT 3,
+        current_team varchar(255) CHECK (current_team IN ('RED', 'BLUE')),
+        strikes integer NOT NULL DEFAULT 0,
+        red_score integer NOT NULL DEFAULT 0,
+        blue_score integer NOT NULL DEFAULT 0,
+        winner varchar(255) CHECK (winner IN ('RED', 'BLUE')),
+        red_faceoff_player_id bigint,
+        blue_faceoff_player_id bigint,
+        red_faceoff_answer varchar(255),
+        blue_faceoff_answer varchar(255),
+        faceoff_in_progress boolean NOT NULL DEFAULT false,
+        CONSTRAINT game_partitioned_pkey PRIMARY KEY (id, status)
+    ) PARTITION BY LIST (status);
+    CREATE TABLE game_live PARTITION OF game FOR VALUES IN ('LOBBY', 'IN_PROGRESS');
+    CREATE TABLE game_ended PARTITION OF game FOR VALUES IN ('ENDED') PARTITION BY RANGE (id);
+    CREATE INDEX game_code_idx ON game (code);
+
+    CREATE TABLE player (
+        id bigint GENERATED BY DEFAULT AS IDENTITY,
+        game_id bigint NOT NULL,
+        name varchar(255),
+        profile_id varchar(255),
+        team varchar(255) CHECK (team IN ('RED', 'BLUE')),
+        CONSTRAINT player_partitioned_pkey PRIMARY KEY (id, game_id),
+        CONSTRAINT uk_player_game_name UNIQUE (game_id, name)
+    ) PARTITION BY RANGE (game_id);
+
+    CREATE TABLE game_revealed_answer_ids (
+        game_id bigint NOT NULL,
+        revealed_answer_ids bigint
+    ) PARTITION BY RANGE (game_id);
+    CREATE INDEX game_revealed_answer_ids_game_idx ON game_revealed_answer_ids (game_id);
+
+    IF legacy THEN
+        SELECT coalesce(max(id), 0) + 1 INTO boundary FROM game_unpartitioned;
+        FOR t IN SELECT parent FROM feud_game_tables() LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (MINVALUE) TO (%s)', t || '_legacy', t, boundary);
+        END LOOP;
+        INSERT INTO feud_game_partition (suffix, month, first_id, end_id)
+            VALUES ('legacy', (date_trunc('month', now()) - interval '1 month')::date, NULL, boundary);
+        PERFORM feud_open_game_partitions(date_trunc('month', now())::date, boundary);
+
+        UPDATE game_unpartitioned SET status = 'ENDED' WHERE status IS NULL;
+        IF to_regclass('player_unpartitioned') IS NOT NULL THEN
+            DELETE FROM player_unpartitioned WHERE game_id IS NULL;
+        END IF;
+        FOREACH t IN ARRAY ARRAY['game', 'player', 'game_revealed_answer_ids'] LOOP
+            CONTINUE WHEN to_regclass(t || '_unpartitioned') IS NULL;
+            SELECT string_agg(quote_ident(old.column_name), ', ') INTO cols
+                FROM information_schema.columns old
+                JOIN information_schema.columns new
+                  ON new.table_schema = old.table_schema AND new.table_name = t AND new.column_name = old.column_name
+                WHERE old.table_schema = current_schema() AND old.table_name = t || '_unpartitioned';
+            EXECUTE format('INSERT INTO %I (%s) SELECT %s FROM %I', t, cols, cols, t || '_unpartitioned');
+        END LOOP;
+        PERFORM setval(pg_get_serial_sequence('game', 'id'), boundary, false);
+        PERFORM setval(pg_get_serial_sequence('player', 'id'), (SELECT coalesce(max(id), 0) + 1 FROM player), false);
+        -- CASCADE drops the foreign keys other tables (answer) had on the old game table
+        DROP TABLE IF EXISTS game_revealed_answer_ids_unpartitioned, player_unpartitioned CASCADE;
+        DROP TABLE game_unpartitioned CASCADE;
+    ELSE
+        PERFORM feud_open_game_partitions(date_trunc('month', now())::date, NULL);
+    END IF;
+END
+$$;
+
+-- Columns mapped after a database was partitioned: ddl-auto does not add them to these tables
+ALTER TABLE player ADD COLUMN IF NOT EXISTS profile_id varchar(255);
+
+SELECT feud_roll_game_partitions();
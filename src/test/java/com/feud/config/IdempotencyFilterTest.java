@@ -0,0 +1,79 @@
+package com.feud.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.feud.service.GameClosedEvent;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+class IdempotencyFilterTest {
+    private final IdempotencyFilter filter = new IdempotencyFilter(true, 16, 16, 60, 1000);
+
+    private static MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/games/ABC123/guess");
+        request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    void testBufferedBodyCanBeReadWithAReadListener() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) read.write(in.read());
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+        };
+
+        filter.doFilter(post("k-1", "[1,2,3]"), new MockHttpServletResponse(), chain);
+
+        assertEquals("[1,2,3]", read.toString(StandardCharsets.UTF_8));
+        assertTrue(allRead.get());
+    }
+
+    @Test
+    void testClosedGameDropsItsStoredResponses() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        FilterChain chain = (request, response) -> runs.incrementAndGet();
+        filter.doFilter(post("k-1", "[]"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+        filter.doFilter(post("k-1", "[]"), replayed, chain);
+        assertEquals(1, runs.get());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+
+        filter.evict(new GameClosedEvent("ABC123"));
+        MockHttpServletResponse again = new MockHttpServletResponse();
+        filter.doFilter(post("k-1", "[]"), again, chain);
+        assertEquals(2, runs.get());
+        assertNull(again.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+}
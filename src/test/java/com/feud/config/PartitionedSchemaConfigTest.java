@@ -0,0 +1,99 @@
+package com.feud.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.spi.SchemaFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+
+import com.feud.model.Answer;
+import com.feud.model.Game;
+import com.feud.model.Player;
+import com.feud.model.Question;
+
+class PartitionedSchemaConfigTest {
+    private static final Pattern CREATE = Pattern.compile("CREATE TABLE (\\w+) \\((.*?)\\n    \\) PARTITION BY", Pattern.DOTALL);
+    private static final Pattern ADD_COLUMN = Pattern.compile("ALTER TABLE (\\w+) ADD COLUMN IF NOT EXISTS (\\w+)");
+
+    @Test
+    void testDdlSkipsOnlyThePartitionedTables() {
+        SchemaFilter migrate = new PartitionedSchemaConfig.PartitionedTablesFilter().getMigrateFilter();
+        assertFalse(migrate.includeTable(new Table("feud", "game")));
+        assertFalse(migrate.includeTable(new Table("feud", "player")));
+        assertFalse(migrate.includeTable(new Table("feud", "game_revealed_answer_ids")));
+        assertTrue(migrate.includeTable(new Table("feud", "question")));
+        assertTrue(migrate.includeTable(new Table("feud", "player_profile")));
+    }
+
+    @Test
+    void testScriptHasEveryMappedColumnOfThePartitionedTables() throws IOException {
+        String script;
+        try (InputStream in = getClass().getResourceAsStream("/db/partitioned-games.sql")) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Map<String, Set<String>> created = new HashMap<>();
+        Matcher create = CREATE.matcher(script);
+        while (create.find()) {
+            Set<String> columns = new TreeSet<>();
+            for (String line : create.group(2).split("\n")) {
+                String name = line.strip().split("\\s+")[0].toLowerCase(Locale.ROOT);
+                if (!name.isEmpty() && !name.equals("constraint")) columns.add(name);
+            }
+            created.put(create.group(1), columns);
+        }
+
+        Map<String, Set<String>> mapped = mappedColumns();
+        for (String table : PartitionedSchemaConfig.PARTITIONED_TABLES) {
+            assertEquals(mapped.get(table), created.get(table), "columns of " + table);
+        }
+        // A database partitioned before a column was mapped gets it from an ALTER TABLE
+        Matcher added = ADD_COLUMN.matcher(script);
+        while (added.find()) {
+            assertTrue(created.get(added.group(1)).contains(added.group(2)), added.group());
+        }
+    }
+
+    private static Map<String, Set<String>> mappedColumns() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.DIALECT, "org.hibernate.dialect.PostgreSQLDialect")
+            .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, "false")
+            .build();
+        try {
+            Metadata metadata = new MetadataSources(registry)
+                .addAnnotatedClasses(Game.class, Player.class, Question.class, Answer.class)
+                .getMetadataBuilder()
+                .applyPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .applyImplicitNamingStrategy(new SpringImplicitNamingStrategy())
+                .build();
+            Map<String, Set<String>> columns = new HashMap<>();
+            for (Table table : metadata.collectTableMappings()) {
+                Set<String> names = new TreeSet<>();
+                for (Column column : table.getColumns()) names.add(column.getName().toLowerCase(Locale.ROOT));
+                columns.put(table.getName().toLowerCase(Locale.ROOT), names);
+            }
+            return columns;
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
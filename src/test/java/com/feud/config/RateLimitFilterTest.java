@@ -0,0 +1,127 @@
+package com.feud.config;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockFilterChain;
+
+import com.feud.util.RateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static MockHttpServletRequest guess(String code, String player) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/games/" + code + "/guess");
+        request.setRemoteAddr(player);
+        return request;
+    }
+
+    private static RateLimitFilter filter(RateLimitConfig.Endpoint limits, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(Map.of("guess", limits), new RateLimiter(100), meterRegistry);
+    }
+
+    /**
+     * @return whether the request reached the rest of the chain
+     */
+    private static boolean passes(RateLimitFilter filter, MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return chain.getRequest() != null;
+    }
+
+    private static boolean passes(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        return passes(filter, request, new MockHttpServletResponse());
+    }
+
+    @Test
+    void testPlayerOverLimit_gets429BeforeReachingHandler() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitConfig.Endpoint("/games/*/guess", 1, 2, 100, 100), meterRegistry);
+        assertTrue(passes(filter, guess("ABC123", "p1")));
+        assertTrue(passes(filter, guess("ABC123", "p1")));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(passes(filter, guess("ABC123", "p1"), rejected));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        // Another player of the same game is unaffected
+        assertTrue(passes(filter, guess("ABC123", "p2")));
+        assertEquals(1.0, meterRegistry.get("feud.ratelimit.throttled").tag("scope", "player").counter().count());
+    }
+
+    @Test
+    void testClientSentPlayerIdDoesNotOpenANewBucket() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitConfig.Endpoint("/games/*/guess", 1, 1, 100, 100), meterRegistry);
+        assertTrue(passes(filter, guess("ABC123", "10.0.0.1")));
+        MockHttpServletRequest renamed = guess("ABC123", "10.0.0.1");
+        renamed.addHeader("X-Player-Id", "someone-else");
+        assertFalse(passes(filter, renamed));
+    }
+
+    @Test
+    void testOtherPathsAndMethodsPassThrough() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitConfig.Endpoint("/games/*/guess", 1, 1, 1, 1), meterRegistry);
+        assertTrue(passes(filter, guess("ABC123", "p1")));
+        assertTrue(passes(filter, new MockHttpServletRequest("POST", "/games/ABC123/steal")));
+        assertTrue(passes(filter, new MockHttpServletRequest("GET", "/games/ABC123/guess")));
+    }
+
+    @Test
+    void testRunsAheadOfIdempotencyFilter() {
+        RateLimitConfig config = new RateLimitConfig(new org.springframework.mock.env.MockEnvironment(),
+                new org.springframework.beans.factory.support.StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        assertTrue(config.rateLimitFilter().getOrder() < IdempotencyFilter.ORDER);
+    }
+
+    @Test
+    void testGameOverLimit_throttlesAllPlayersOfThatGame() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitConfig.Endpoint("/games/*/guess", 100, 100, 1, 3), meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(passes(filter, guess("ABC123", "p" + i)));
+        }
+        assertFalse(passes(filter, guess("ABC123", "p9")));
+        assertTrue(passes(filter, guess("XYZ789", "p9")));
+        assertEquals(1.0, meterRegistry.get("feud.ratelimit.throttled").tag("scope", "game").counter().count());
+    }
+
+    @Test
+    void testPlayerNotChargedWhenGameRejects() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitConfig.Endpoint("/games/*/guess", 1, 1, 1, 1), meterRegistry);
+        assertTrue(passes(filter, guess("ABC123", "p1")));
+        assertFalse(passes(filter, guess("ABC123", "p2")));
+        // p2's own bucket was left alone
+        assertTrue(passes(filter, guess("XYZ789", "p2")));
+        assertEquals(1.0, meterRegistry.get("feud.ratelimit.throttled").tag("scope", "game").counter().count());
+        assertEquals(0.0, meterRegistry.get("feud.ratelimit.throttled").tag("scope", "player").counter().count());
+    }
+
+    @Test
+    void testDefaultsCoverGuessAndStealOnly() {
+        Map<String, RateLimitConfig.Endpoint> endpoints = RateLimitConfig.endpoints(new Binder(new MapConfigurationPropertySource(Map.of())));
+        assertEquals(Set.of("guess", "steal"), endpoints.keySet());
+    }
+
+    @Test
+    void testEndpointsOverrideOnlyConfiguredFields() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "feud.ratelimit.endpoints.guess.player-rate", "7",
+                "feud.ratelimit.endpoints.reveal.path", "/games/*/reveal-answer",
+                "feud.ratelimit.endpoints.reveal.game-rate", "3",
+                "feud.ratelimit.endpoints.reveal.game-burst", "3")));
+        Map<String, RateLimitConfig.Endpoint> endpoints = RateLimitConfig.endpoints(binder);
+        assertEquals(7, endpoints.get("guess").getPlayerRate());
+        assertEquals(5, endpoints.get("guess").getPlayerBurst());
+        assertEquals("/games/*/reveal-answer", endpoints.get("reveal").getPath());
+        assertEquals(3, endpoints.get("reveal").getGameRate());
+    }
+}
@@ -0,0 +1,89 @@
+package com.feud.config;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadWriteRoutingDataSourceTest {
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate template = new JdbcTemplate(db);
+        template.execute("create table marker (name varchar(16))");
+        template.update("insert into marker values (?)", name);
+        return db;
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        DataSource routing = ReadWriteRoutingDataSource.create(primary, replica);
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private String marker() {
+        return jdbc.queryForObject("select name from marker", String.class);
+    }
+
+    @Test
+    void testMarkedReadOnlyRead_usesReplica() {
+        ReplicaStalenessGuard guard = new ReplicaStalenessGuard(60_000);
+        assertEquals("replica", readOnly.execute(status -> guard.readYourWrites("ABC123", this::marker)));
+    }
+
+    @Test
+    void testUnmarkedReadOnlyTransaction_usesPrimary() {
+        assertEquals("primary", readOnly.execute(status -> marker()));
+    }
+
+    @Test
+    void testReadWriteTransaction_usesPrimary() {
+        ReplicaStalenessGuard guard = new ReplicaStalenessGuard(60_000);
+        assertEquals("primary", readWrite.execute(status -> marker()));
+        assertEquals("primary", readWrite.execute(status -> guard.readYourWrites("ABC123", this::marker)));
+        assertEquals("primary", marker());
+    }
+
+    @Test
+    void testRecentWrite_pinsReadOnlyReadToPrimary() {
+        ReplicaStalenessGuard guard = new ReplicaStalenessGuard(60_000);
+        guard.recordWrite("ABC123");
+        assertEquals("primary", readOnly.execute(status -> guard.readYourWrites("ABC123", this::marker)));
+        assertEquals("replica", readOnly.execute(status -> guard.readYourWrites("OTHER1", this::marker)));
+    }
+
+    @Test
+    void testWriteOutsideLagWindow_readsReplica() {
+        ReplicaStalenessGuard guard = new ReplicaStalenessGuard(0);
+        guard.recordWrite("ABC123");
+        assertEquals("replica", readOnly.execute(status -> guard.readYourWrites("ABC123", this::marker)));
+    }
+}
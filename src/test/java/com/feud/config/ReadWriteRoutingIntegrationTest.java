@@ -0,0 +1,96 @@
+package com.feud.config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.feud.model.GameStatus;
+import com.feud.model.Question;
+import com.feud.repository.QuestionRepository;
+import com.feud.service.GameService;
+
+/**
+ * Replica routing through JPA: two H2 databases with the same schema stand for the primary and the
+ * replica, and rows that exist in only one of them show which one a read went to.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadWriteRoutingIntegrationTest.PRIMARY,
+    "feud.datasource.replica.url=" + ReadWriteRoutingIntegrationTest.REPLICA,
+    "feud.datasource.replica.max-lag-ms=0",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.open-in-view=false",
+    "feud.cache.enabled=false",
+    "feud.warmup.enabled=false",
+    "feud.guesslog.enabled=false",
+    "feud.ratelimit.enabled=false"
+})
+class ReadWriteRoutingIntegrationTest {
+    static final String PRIMARY = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static boolean replicaCreated;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @BeforeEach
+    void copySchemaToReplica() throws SQLException {
+        if (replicaCreated) return;
+        List<String> schema = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) schema.add(script.getString(1));
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA, "sa", "");
+             Statement statement = replica.createStatement()) {
+            for (String sql : schema) statement.execute(sql);
+        }
+        replicaCreated = true;
+    }
+
+    @Test
+    void testRepositoryDefaultsReadThePrimary() {
+        Question question = new Question();
+        question.setText("Name a pet");
+        Long id = questionRepository.save(question).getId();
+
+        // findById runs in a read-only transaction of its own, but is not a marked read
+        assertTrue(questionRepository.findById(id).isPresent());
+    }
+
+    @Test
+    void testWriteFlowReadsThePrimary() {
+        String code = gameService.createGame(null).getCode();
+
+        assertEquals(GameStatus.IN_PROGRESS, gameService.startGame(code).getStatus());
+    }
+
+    @Test
+    void testMarkedReadUsesTheReplica() throws SQLException {
+        String onPrimary = gameService.createGame(null).getCode();
+        try (Connection replica = DriverManager.getConnection(REPLICA, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("insert into game (id, code, status, round_number, max_rounds, strikes, red_score, blue_score, faceoff_in_progress) "
+                + "values (100000, 'REPLIC', 'LOBBY', 0, 3, 0, 0, 0, false)");
+        }
+
+        assertEquals("REPLIC", gameService.getGameByCode("REPLIC").getCode());
+        // Out of the (zero) lag window, the game only the primary has is not found
+        assertThrows(RuntimeException.class, () -> gameService.getGameByCode(onPrimary));
+    }
+}
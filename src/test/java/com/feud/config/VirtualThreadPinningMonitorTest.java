@@ -0,0 +1,55 @@
+package com.feud.config;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPinningMonitorTest {
+    private final Object lock = new Object();
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(), 5);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBlockingInsideSynchronized_isReported() throws Exception {
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        Map<String, Object> report = monitor.report();
+        while (((List<?>) report.get("sites")).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            report = monitor.report();
+        }
+        assertTrue((long) report.get("events") >= 1);
+        List<Map<String, Object>> sites = (List<Map<String, Object>>) report.get("sites");
+        assertTrue(!sites.isEmpty());
+        List<String> stack = (List<String>) sites.get(0).get("stack");
+        assertTrue(stack.stream().anyMatch(frame -> frame.contains("sleepWhileHoldingMonitor")));
+    }
+}
@@ -7,6 +7,8 @@ import com.feud.model.Team;
 import com.feud.dto.CreateGameRequest;
 import com.feud.dto.JoinGameRequest;
 import com.feud.service.GameService;
+import com.feud.websocket.GameEventLog;
+import com.feud.websocket.SpectatorFeed;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +33,12 @@ public class GameControllerIntegrationTest {
     @MockBean
     private GameService gameService;
 
+    @MockBean
+    private SpectatorFeed spectatorFeed;
+
+    @MockBean
+    private GameEventLog eventLog;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -114,7 +122,7 @@ public class GameControllerIntegrationTest {
     void submitFaceoffAnswer_returnsGame() throws Exception {
         Game game = new Game();
         game.setCode("ABC123");
-        Mockito.when(gameService.submitFaceoffAnswer(eq("ABC123"), eq(Team.RED), eq("answer"))).thenReturn(game);
+        Mockito.when(gameService.submitFaceoffAnswer(eq("ABC123"), eq(Team.RED), eq("answer"), Mockito.anyLong())).thenReturn(game);
         mockMvc.perform(post("/games/ABC123/faceoff/answer")
                 .param("team", "RED")
                 .param("answer", "answer"))
@@ -124,10 +132,7 @@ public class GameControllerIntegrationTest {
 
     @Test
     void resolveFaceoff_returnsTeam() throws Exception {
-        Game game = new Game();
-        game.setCode("ABC123");
-        Mockito.when(gameService.getGameByCode(eq("ABC123"))).thenReturn(game);
-        Mockito.when(gameService.resolveFaceoffAndSetTurn(eq(game), any())).thenReturn(Team.RED);
+        Mockito.when(gameService.resolveFaceoff(eq("ABC123"), any())).thenReturn(Team.RED);
         mockMvc.perform(post("/games/ABC123/faceoff/resolve")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content("[]"))
@@ -166,4 +171,96 @@ public class GameControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("true"));
     }
+
+    @Test
+    void getSpectatorFrame_returnsSharedFrame() throws Exception {
+        byte[] payload = "{\"code\":\"ABC123\",\"version\":4}".getBytes();
+        Mockito.when(spectatorFeed.latestFrame(eq("ABC123"))).thenReturn(new SpectatorFeed.Frame(4, payload));
+        mockMvc.perform(get("/games/ABC123/spectate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Frame-Version", "4"))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void getSpectatorFrame_notFound() throws Exception {
+        mockMvc.perform(get("/games/NOPE00/spectate"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getEventsSince_returnsMissedFrames() throws Exception {
+        GameEventLog.Event missed = new GameEventLog.Event(5, GameEventLog.GAME_STATE, "{\"code\":\"ABC123\"}".getBytes());
+        Mockito.when(eventLog.since(eq("ABC123"), eq(4L))).thenReturn(new GameEventLog.Resume(5, List.of(missed)));
+        mockMvc.perform(get("/games/ABC123/events").param("since", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshot").value(false))
+                .andExpect(jsonPath("$.version").value(5))
+                .andExpect(jsonPath("$.events[0].payload.code").value("ABC123"));
+    }
+
+    @Test
+    void getEventsSince_fallsBackToSnapshot() throws Exception {
+        Game game = new Game();
+        game.setCode("ABC123");
+        Mockito.when(eventLog.since(eq("ABC123"), eq(1L))).thenReturn(null);
+        Mockito.when(eventLog.latestVersion(eq("ABC123"))).thenReturn(90L);
+        Mockito.when(gameService.getGameByCode(eq("ABC123"))).thenReturn(game);
+        mockMvc.perform(get("/games/ABC123/events").param("since", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshot").value(true))
+                .andExpect(jsonPath("$.version").value(90))
+                .andExpect(jsonPath("$.state.code").value("ABC123"));
+    }
+
+    @Test
+    void retriedActionWithSameIdempotencyKey_isReplayed() throws Exception {
+        Game game = new Game();
+        game.setCode("ABC123");
+        game.setRoundNumber(2);
+        Mockito.when(gameService.switchTurn(eq("ABC123"))).thenReturn(game);
+        mockMvc.perform(post("/games/ABC123/turn/switch").header("Idempotency-Key", "k-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roundNumber").value(2));
+        game.setRoundNumber(3);
+        mockMvc.perform(post("/games/ABC123/turn/switch").header("Idempotency-Key", "k-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.roundNumber").value(2));
+        Mockito.verify(gameService, Mockito.times(1)).switchTurn(eq("ABC123"));
+
+        mockMvc.perform(post("/games/ABC123/turn/switch").header("Idempotency-Key", "k-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roundNumber").value(3));
+        Mockito.verify(gameService, Mockito.times(2)).switchTurn(eq("ABC123"));
+    }
+
+    @Test
+    void idempotencyKeyReusedForAnotherRequest_isRejected() throws Exception {
+        Mockito.when(gameService.switchTurn(eq("ABC123"))).thenReturn(new Game());
+        mockMvc.perform(post("/games/ABC123/turn/switch").header("Idempotency-Key", "k-3"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/games/ABC123/start").header("Idempotency-Key", "k-3"))
+                .andExpect(status().isUnprocessableEntity());
+        Mockito.verify(gameService, Mockito.never()).startGame(any());
+    }
+
+    @Test
+    void idempotencyKeyReusedWithAnotherBody_isRejected() throws Exception {
+        Mockito.when(gameService.submitGuess(eq("ABC123"), eq("Cat"), any())).thenReturn(true);
+        String answers = "[{\"id\":1,\"text\":\"Cat\",\"points\":30}]";
+        mockMvc.perform(post("/games/ABC123/guess?guess=Cat").header("Idempotency-Key", "k-4")
+                        .contentType(MediaType.APPLICATION_JSON).content(answers))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+        mockMvc.perform(post("/games/ABC123/guess?guess=Cat").header("Idempotency-Key", "k-4")
+                        .contentType(MediaType.APPLICATION_JSON).content(answers))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+        mockMvc.perform(post("/games/ABC123/guess?guess=Cat").header("Idempotency-Key", "k-4")
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isUnprocessableEntity());
+        // The handler still read the body the filter hashed
+        Mockito.verify(gameService, Mockito.times(1)).submitGuess(eq("ABC123"), eq("Cat"),
+                Mockito.argThat(list -> list.size() == 1 && "Cat".equals(list.get(0).getText())));
+    }
 }
@@ -0,0 +1,56 @@
+package com.feud.controller;
+
+import com.feud.model.PlayerProfile;
+import com.feud.service.Leaderboard;
+import com.feud.service.PlayerNotFoundException;
+import com.feud.service.PlayerStatsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LeaderboardController.class)
+public class LeaderboardControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PlayerStatsService playerStatsService;
+
+    @Test
+    void getLeaderboard_returnsTopEntriesForTopic() throws Exception {
+        Mockito.when(playerStatsService.top("Food", 2))
+                .thenReturn(List.of(new Leaderboard.Entry("p1", "ann", 120), new Leaderboard.Entry("p2", "ben", 90)));
+        mockMvc.perform(get("/leaderboard").param("topic", "Food").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("p1"))
+                .andExpect(jsonPath("$[0].name").value("ann"))
+                .andExpect(jsonPath("$[1].score").value(90));
+    }
+
+    @Test
+    void getPlayerStats_returnsProfile() throws Exception {
+        PlayerProfile profile = PlayerProfile.builder().id("p1").name("ann").gamesPlayed(4).guesses(10).correctGuesses(7).build();
+        Mockito.when(playerStatsService.getProfile("p1")).thenReturn(profile);
+        mockMvc.perform(get("/leaderboard/players/p1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("ann"))
+                .andExpect(jsonPath("$.gamesPlayed").value(4))
+                .andExpect(jsonPath("$.correctGuessRate").value(0.7))
+                .andExpect(jsonPath("$.newProfile").doesNotExist());
+    }
+
+    @Test
+    void getPlayerStats_unknownPlayerReturns404() throws Exception {
+        Mockito.when(playerStatsService.getProfile("nobody")).thenThrow(new PlayerNotFoundException("nobody"));
+        mockMvc.perform(get("/leaderboard/players/nobody"))
+                .andExpect(status().isNotFound());
+    }
+}
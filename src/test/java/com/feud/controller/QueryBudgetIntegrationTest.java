@@ -0,0 +1,229 @@
+package com.feud.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Map.entry;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.service.PlayerStatsService;
+import com.feud.support.QueryBudget;
+import com.feud.support.QueryRecorder;
+
+/**
+ * Runs the endpoints end to end against the embedded database and checks the SQL each request
+ * sends against its declared budget, so an N+1 (a lazy collection read per row, a repeated lookup)
+ * fails here with the offending statements listed. Budgets are per request, in the order the flow
+ * below sends them (the second-level cache is warm after the first reads). Not covered: the
+ * telemetry stream, the synonym syncs (they call the online thesaurus) and the thesaurus import
+ * (plain JDBC, which the recorder does not see).
+ */
+@SpringBootTest(properties = {
+    QueryRecorder.PROPERTY,
+    "spring.jpa.open-in-view=false",
+    "feud.warmup.enabled=false",
+    "feud.guesslog.enabled=false",
+    "feud.ratelimit.enabled=false"
+})
+@AutoConfigureMockMvc
+class QueryBudgetIntegrationTest {
+    // SELECT, INSERT, UPDATE, DELETE. The first join loads the lobby roster, the first guess the
+    // token weights and the answers' synonyms; later ones are served from memory. An edit deletes
+    // the previous version once no game plays it; the bulk deletes remove row by row, so theirs
+    // are for the data adminEndpointsStayWithinBudgets sets up. The leaderboards are loaded once
+    // per instance (two SELECTs) before GET /leaderboard is measured, since the background fold of
+    // an ended game may or may not have done it already.
+    private static final Map<String, QueryBudget> BUDGETS = Map.ofEntries(
+        entry("POST /questions", QueryBudget.of(1, 4, 0, 0)),
+        entry("GET /questions", QueryBudget.of(2, 0, 0, 0)),
+        entry("GET /questions/{id}", QueryBudget.of(0, 0, 0, 0)),
+        entry("POST /games", QueryBudget.of(1, 1, 0, 0)),
+        entry("POST /games/{code}/join", QueryBudget.of(2, 1, 0, 0)),
+        entry("GET /games/{code}/players", QueryBudget.of(0, 0, 0, 0)),
+        entry("POST /games/{code}/start", QueryBudget.of(3, 0, 1, 0)),
+        entry("GET /games/{code}/state", QueryBudget.of(3, 0, 0, 0)),
+        entry("GET /games/{code}/events", QueryBudget.of(3, 0, 0, 0)),
+        entry("GET /games/{code}/spectate", QueryBudget.of(0, 0, 0, 0)),
+        entry("POST /games/{code}/faceoff/start", QueryBudget.of(3, 0, 1, 0)),
+        entry("POST /games/{code}/faceoff/answer", QueryBudget.of(8, 0, 2, 0)),
+        entry("POST /games/{code}/faceoff/resolve", QueryBudget.of(1, 0, 0, 0)),
+        entry("POST /games/{code}/guess", QueryBudget.of(7, 1, 1, 0)),
+        entry("POST /games/{code}/turn/switch", QueryBudget.of(3, 0, 1, 0)),
+        entry("POST /games/{code}/steal", QueryBudget.of(4, 1, 1, 0)),
+        entry("POST /games/{code}/reveal-answer", QueryBudget.of(3, 1, 0, 0)),
+        entry("POST /games/{code}/next-round", QueryBudget.of(2, 0, 1, 1)),
+        entry("POST /games/{code}/end-and-set-winner", QueryBudget.of(3, 0, 1, 0)),
+        entry("POST /games/{code}/end", QueryBudget.of(2, 0, 0, 4)),
+        entry("GET /leaderboard", QueryBudget.of(0, 0, 0, 0)),
+        entry("GET /leaderboard/players/{id}", QueryBudget.of(1, 0, 0, 0)),
+        entry("POST /synonyms", QueryBudget.of(1, 1, 0, 0)),
+        entry("GET /synonyms", QueryBudget.of(1, 0, 0, 0)),
+        entry("GET /synonyms/{canonical}", QueryBudget.of(1, 0, 0, 0)),
+        entry("DELETE /synonyms/{canonical}", QueryBudget.of(1, 0, 0, 1)),
+        entry("POST /admin/questions", QueryBudget.of(1, 3, 0, 0)),
+        entry("GET /admin/questions", QueryBudget.of(2, 0, 0, 0)),
+        entry("PUT /admin/questions/{id}", QueryBudget.of(3, 3, 2, 3)),
+        entry("DELETE /admin/questions/{id}", QueryBudget.of(3, 0, 2, 3)),
+        entry("PUT /admin/synonyms/{canonical}", QueryBudget.of(1, 1, 0, 0)),
+        entry("GET /admin/synonyms", QueryBudget.of(1, 0, 0, 0)),
+        entry("GET /admin/games", QueryBudget.of(3, 0, 0, 0)),
+        entry("GET /admin/players", QueryBudget.of(2, 0, 0, 0)),
+        entry("GET /admin/cache/stats", QueryBudget.of(0, 0, 0, 0)),
+        entry("GET /admin/guess-log/suggestions", QueryBudget.of(0, 0, 0, 0)),
+        entry("DELETE /admin/synonyms", QueryBudget.of(1, 0, 0, 1)),
+        entry("DELETE /admin/players", QueryBudget.of(2, 0, 0, 2)),
+        entry("DELETE /admin/games", QueryBudget.of(2, 0, 0, 2)),
+        entry("DELETE /admin/questions", QueryBudget.of(2, 0, 0, 6))
+    );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerStatsService playerStatsService;
+
+    @Test
+    void gameFlowStaysWithinBudgets() throws Exception {
+        String question = """
+            {"text":"Name something with wheels","topic":"Budget","answers":[
+              {"text":"Car","points":40},{"text":"Bike","points":30},{"text":"Bus","points":20}]}""";
+        JsonNode created = json(perform("POST /questions", post("/questions")
+            .contentType(MediaType.APPLICATION_JSON).content(question)));
+        long questionId = created.get("id").asLong();
+        // More questions, so listing them shows whether answers are loaded per question
+        for (int i = 0; i < 3; i++) {
+            perform("POST /questions", post("/questions").contentType(MediaType.APPLICATION_JSON)
+                .content(question.replace("Name something with wheels", "Name something with wheels " + i).replace("Budget", "Other")));
+        }
+        perform("GET /questions", get("/questions"));
+        perform("GET /questions/{id}", get("/questions/" + questionId));
+
+        String code = json(perform("POST /games", post("/games")
+            .contentType(MediaType.APPLICATION_JSON).content("{\"topic\":\"Budget\"}"))).get("code").asText();
+        long red = json(perform("POST /games/{code}/join", post("/games/" + code + "/join")
+            .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Alice\",\"team\":\"RED\"}"))).get("id").asLong();
+        long blue = json(perform("POST /games/{code}/join", post("/games/" + code + "/join")
+            .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Bob\",\"team\":\"BLUE\"}"))).get("id").asLong();
+        perform("GET /games/{code}/players", get("/games/" + code + "/players"));
+
+        JsonNode started = json(perform("POST /games/{code}/start", post("/games/" + code + "/start")));
+        JsonNode answers = started.get("currentQuestion").get("answers");
+        perform("GET /games/{code}/state", get("/games/" + code + "/state"));
+        perform("GET /games/{code}/events", get("/games/" + code + "/events").param("since", "0"));
+        perform("GET /games/{code}/spectate", get("/games/" + code + "/spectate"));
+
+        perform("POST /games/{code}/faceoff/start", post("/games/" + code + "/faceoff/start")
+            .param("redPlayerId", Long.toString(red)).param("bluePlayerId", Long.toString(blue)));
+        perform("POST /games/{code}/faceoff/answer", post("/games/" + code + "/faceoff/answer")
+            .param("team", "RED").param("answer", "bike"));
+        perform("POST /games/{code}/faceoff/answer", post("/games/" + code + "/faceoff/answer")
+            .param("team", "BLUE").param("answer", "bus"));
+        perform("POST /games/{code}/faceoff/resolve", post("/games/" + code + "/faceoff/resolve")
+            .contentType(MediaType.APPLICATION_JSON).content(answers.toString()));
+
+        perform("POST /games/{code}/guess", post("/games/" + code + "/guess").param("guess", "car")
+            .contentType(MediaType.APPLICATION_JSON).content(answers.toString()));
+        perform("POST /games/{code}/reveal-answer", post("/games/" + code + "/reveal-answer")
+            .param("answerId", answers.get(1).get("id").asText()));
+        perform("POST /games/{code}/turn/switch", post("/games/" + code + "/turn/switch"));
+        // Three strikes open the steal
+        for (int i = 0; i < 3; i++) {
+            perform("POST /games/{code}/guess", post("/games/" + code + "/guess").param("guess", "rocket")
+                .contentType(MediaType.APPLICATION_JSON).content(answers.toString()));
+        }
+        perform("POST /games/{code}/steal", post("/games/" + code + "/steal").param("guess", "bus")
+            .contentType(MediaType.APPLICATION_JSON).content(answers.toString()));
+        perform("POST /games/{code}/next-round", post("/games/" + code + "/next-round"));
+        perform("POST /games/{code}/end-and-set-winner", post("/games/" + code + "/end-and-set-winner"));
+        perform("POST /games/{code}/end", post("/games/" + code + "/end"));
+
+        playerStatsService.top(null, 1);
+        perform("GET /leaderboard", get("/leaderboard"));
+        perform("GET /leaderboard/players/{id}", get("/leaderboard/players/nobody"), status().isNotFound());
+    }
+
+    @Test
+    void adminEndpointsStayWithinBudgets() throws Exception {
+        String question = """
+            {"question":"Name a pet","topic":"Admin","answers":[{"text":"Dog","points":50},{"text":"Cat","points":30}]}""";
+        long id = json(perform("POST /admin/questions", post("/admin/questions")
+            .contentType(MediaType.APPLICATION_JSON).content(question))).get("id").asLong();
+        perform("GET /admin/questions", get("/admin/questions"));
+        // Edits keep the question's id, so the same id can be edited again
+        for (String answer : List.of("Fish", "Bird")) {
+            perform("PUT /admin/questions/{id}", put("/admin/questions/" + id)
+                .contentType(MediaType.APPLICATION_JSON).content(question.replace("Cat", answer)));
+        }
+        perform("DELETE /admin/questions/{id}", delete("/admin/questions/" + id));
+
+        perform("PUT /admin/synonyms/{canonical}", put("/admin/synonyms/budgetpet")
+            .contentType(MediaType.APPLICATION_JSON).content("{\"synonyms\":\"animal,companion\"}"));
+        perform("GET /admin/synonyms", get("/admin/synonyms"));
+        perform("GET /admin/cache/stats", get("/admin/cache/stats"));
+        perform("GET /admin/guess-log/suggestions", get("/admin/guess-log/suggestions"));
+
+        // The listings and bulk deletes, on tables the other tests may have filled: empty them
+        // first, then measure them on a started game of two players and two questions
+        for (String table : List.of("/admin/games", "/admin/players", "/admin/questions", "/admin/synonyms")) {
+            mockMvc.perform(delete(table)).andExpect(status().is2xxSuccessful());
+        }
+        mockMvc.perform(post("/admin/questions").contentType(MediaType.APPLICATION_JSON).content(question));
+        mockMvc.perform(post("/admin/questions").contentType(MediaType.APPLICATION_JSON).content(question.replace("pet", "fruit")));
+        mockMvc.perform(put("/admin/synonyms/budgetpet").contentType(MediaType.APPLICATION_JSON).content("{\"synonyms\":\"animal\"}"));
+        String code = json(mockMvc.perform(post("/games").contentType(MediaType.APPLICATION_JSON).content("{\"topic\":\"Admin\"}"))
+            .andReturn()).get("code").asText();
+        for (String player : List.of("{\"name\":\"Alice\",\"team\":\"RED\"}", "{\"name\":\"Bob\",\"team\":\"BLUE\"}")) {
+            mockMvc.perform(post("/games/" + code + "/join").contentType(MediaType.APPLICATION_JSON).content(player));
+        }
+        mockMvc.perform(post("/games/" + code + "/start")).andExpect(status().is2xxSuccessful());
+        perform("GET /admin/games", get("/admin/games"));
+        perform("GET /admin/players", get("/admin/players"));
+        perform("DELETE /admin/synonyms", delete("/admin/synonyms"));
+        perform("DELETE /admin/players", delete("/admin/players"));
+        perform("DELETE /admin/games", delete("/admin/games"));
+        perform("DELETE /admin/questions", delete("/admin/questions"));
+    }
+
+    @Test
+    void synonymEndpointsStayWithinBudgets() throws Exception {
+        perform("POST /synonyms", post("/synonyms")
+            .contentType(MediaType.APPLICATION_JSON).content("{\"canonical\":\"budgetcar\",\"synonyms\":\"auto,vehicle\"}"));
+        perform("GET /synonyms", get("/synonyms"));
+        perform("GET /synonyms/{canonical}", get("/synonyms/budgetcar"));
+        perform("DELETE /synonyms/{canonical}", delete("/synonyms/budgetcar"));
+    }
+
+    private MvcResult perform(String endpoint, MockHttpServletRequestBuilder request) throws Exception {
+        return perform(endpoint, request, status().is2xxSuccessful());
+    }
+
+    private MvcResult perform(String endpoint, MockHttpServletRequestBuilder request, ResultMatcher expected) throws Exception {
+        MvcResult[] result = new MvcResult[1];
+        List<String> statements = QueryRecorder.record(() ->
+            result[0] = mockMvc.perform(request).andExpect(expected).andReturn());
+        BUDGETS.get(endpoint).check(endpoint, statements);
+        return result[0];
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -1,21 +1,29 @@
 package com.feud.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.List;
+import java.util.Set;
+
 import com.feud.model.Answer;
+import com.feud.model.Question;
+import com.feud.repository.QuestionRepository;
 
 class AnswerCheckerServiceTest {
     private SynonymService mockSynonymService;
+    private QuestionRepository mockQuestionRepository;
     private AnswerCheckerService answerCheckerService;
 
     @BeforeEach
     void setUp() {
         mockSynonymService = Mockito.mock(SynonymService.class);
-        answerCheckerService = new AnswerCheckerService(mockSynonymService);
+        mockQuestionRepository = Mockito.mock(QuestionRepository.class);
+        answerCheckerService = new AnswerCheckerService(mockSynonymService, mockQuestionRepository, 0.75);
     }
 
     @Test
@@ -38,4 +46,46 @@ class AnswerCheckerServiceTest {
         assertFalse(answerCheckerService.matches(Answer.builder().text(null).build(), "car"));
         assertFalse(answerCheckerService.matches(Answer.builder().text("car").build(), null));
     }
+
+    @Test
+    void testFindMatches_normalizedGuess() {
+        Mockito.when(mockSynonymService.getAllSynonyms(Mockito.anyString())).thenReturn(Set.of());
+        AnswerIndex index = answerCheckerService.index(List.of(
+                Answer.builder().text("Dog").points(30).build(),
+                Answer.builder().text("Cat").points(20).build()));
+        List<Answer> matches = answerCheckerService.findMatches(index, "the dogs");
+        assertEquals(1, matches.size());
+        assertEquals("Dog", matches.get(0).getText());
+    }
+
+    @Test
+    void testFindMatches_viaGuessSynonym() {
+        Mockito.when(mockSynonymService.getAllSynonyms("car")).thenReturn(Set.of("car"));
+        Mockito.when(mockSynonymService.getAllSynonyms("automobile")).thenReturn(Set.of("automobile", "car"));
+        AnswerIndex index = answerCheckerService.index(List.of(Answer.builder().text("car").points(40).build()));
+        assertEquals(1, answerCheckerService.findMatches(index, "automobile").size());
+        assertTrue(answerCheckerService.findMatches(index, "plane").isEmpty());
+    }
+
+    @Test
+    void testMatchGuess_multiWordTokenOverlap() {
+        Mockito.when(mockSynonymService.getAllSynonyms(Mockito.anyString())).thenReturn(Set.of());
+        List<Answer> answers = List.of(
+                Answer.builder().id(1L).text("Take out the trash").points(30).build(),
+                Answer.builder().id(2L).text("Brush your teeth").points(25).build(),
+                Answer.builder().id(3L).text("Go out").points(10).build());
+        Question question = new Question();
+        question.setAnswers(answers);
+        Mockito.when(mockQuestionRepository.findAll()).thenReturn(List.of(question));
+        AnswerIndex index = answerCheckerService.index(answers);
+
+        List<Answer> trash = answerCheckerService.matchGuess(index, "taking trash out", Set.of());
+        assertEquals(1, trash.size());
+        assertEquals(1L, trash.get(0).getId());
+        assertEquals(2L, answerCheckerService.matchGuess(index, "teeth brushing", Set.of()).get(0).getId());
+        // A single shared common word is not enough
+        assertTrue(answerCheckerService.matchGuess(index, "out", Set.of(3L)).isEmpty());
+        // Revealed answers are skipped
+        assertTrue(answerCheckerService.matchGuess(index, "trash out", Set.of(1L)).isEmpty());
+    }
 }
@@ -0,0 +1,91 @@
+package com.feud.service;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feud.config.HibernateCacheConfig;
+import com.feud.model.Answer;
+import com.feud.model.Question;
+import com.feud.model.SynonymDictionary;
+import com.feud.repository.QuestionRepository;
+import com.feud.repository.SynonymDictionaryRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@Import({ HibernateCacheConfig.class, EntityCacheService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheServiceTest {
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private SynonymDictionaryRepository synonymDictionaryRepository;
+    @Autowired
+    private EntityCacheService entityCacheService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private org.hibernate.Cache cache() {
+        return entityManagerFactory.unwrap(org.hibernate.SessionFactory.class).getCache();
+    }
+
+    private Long saveQuestion() {
+        Question question = new Question();
+        question.setText("Name a fruit");
+        Answer answer = new Answer();
+        answer.setText("apple");
+        answer.setPoints(40);
+        answer.setQuestion(question);
+        question.setAnswers(new java.util.ArrayList<>(List.of(answer)));
+        return questionRepository.save(question).getId();
+    }
+
+    @Test
+    void testFindById_isServedFromSecondLevelCache() {
+        Long id = saveQuestion();
+        questionRepository.findById(id);
+        assertTrue(cache().containsEntity(Question.class, id));
+
+        entityCacheService.evictQuestion(id);
+        assertFalse(cache().containsEntity(Question.class, id));
+    }
+
+    @Test
+    void testFindByCanonical_usesQueryCache() {
+        SynonymDictionary entry = new SynonymDictionary();
+        entry.setCanonical("car");
+        entry.setSynonyms("auto,vehicle");
+        synonymDictionaryRepository.save(entry);
+
+        synonymDictionaryRepository.findByCanonical("car");
+        synonymDictionaryRepository.findByCanonical("car");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> query = (Map<String, Object>) entityCacheService.statistics().get("query");
+        assertTrue((long) query.get("hits") >= 1);
+        assertEquals("auto,vehicle", synonymDictionaryRepository.findByCanonical("car").orElseThrow().getSynonyms());
+    }
+
+    @Test
+    void testEvictSynonyms_dropsCachedEntries() {
+        SynonymDictionary entry = new SynonymDictionary();
+        entry.setCanonical("house");
+        entry.setSynonyms("home");
+        synonymDictionaryRepository.save(entry);
+        synonymDictionaryRepository.findById("house");
+        assertTrue(cache().containsEntity(SynonymDictionary.class, "house"));
+
+        entityCacheService.evictSynonyms();
+        assertFalse(cache().containsEntity(SynonymDictionary.class, "house"));
+    }
+}
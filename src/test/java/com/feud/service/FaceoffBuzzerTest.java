@@ -0,0 +1,80 @@
+package com.feud.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.feud.model.Team;
+
+class FaceoffBuzzerTest {
+    private final FaceoffBuzzer buzzer = new FaceoffBuzzer();
+
+    @Test
+    void testBuzz_firstAndSecond() {
+        FaceoffBuzzer.Round round = buzzer.arm("CODE");
+        FaceoffBuzzer.Buzz blue = round.buzz(Team.BLUE, "car", System.nanoTime());
+        FaceoffBuzzer.Buzz red = round.buzz(Team.RED, "bike", System.nanoTime());
+        assertNotNull(blue);
+        assertNotNull(red);
+        assertEquals(Team.BLUE, round.first().team());
+        assertTrue(red.nanos() >= blue.nanos());
+        assertTrue(round.bothAnswered());
+    }
+
+    @Test
+    void testFirst_isEarliestArrivalNotEarliestBuzz() {
+        FaceoffBuzzer.Round round = buzzer.arm("CODE");
+        long arrived = System.nanoTime();
+        // Red's request came in first but reached the buzzer second
+        round.buzz(Team.BLUE, "car", arrived + 1_000_000);
+        assertEquals(Team.BLUE, round.first().team());
+        round.buzz(Team.RED, "bike", arrived);
+        assertEquals(Team.RED, round.first().team());
+    }
+
+    @Test
+    void testBuzz_teamCannotBuzzTwice() {
+        FaceoffBuzzer.Round round = buzzer.arm("CODE");
+        assertNotNull(round.buzz(Team.RED, "car", System.nanoTime()));
+        assertNull(round.buzz(Team.RED, "bike", System.nanoTime()));
+        assertEquals("car", round.of(Team.RED).answer());
+    }
+
+    @Test
+    void testArm_resetsRound() {
+        buzzer.arm("CODE").buzz(Team.RED, "car", System.nanoTime());
+        buzzer.arm("CODE");
+        assertNull(buzzer.currentRound("CODE").first());
+    }
+
+    @Test
+    void testConcurrentBuzzes_singleWinnerAndSingleResolver() throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            FaceoffBuzzer.Round round = buzzer.arm("CODE");
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger resolvers = new AtomicInteger();
+            for (Team team : Team.values()) {
+                pool.submit(() -> {
+                    start.await();
+                    round.buzz(team, team.name(), System.nanoTime());
+                    if (round.bothAnswered() && round.tryResolve()) resolvers.incrementAndGet();
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+            assertNotNull(round.first());
+            assertEquals(1, resolvers.get());
+        }
+    }
+}
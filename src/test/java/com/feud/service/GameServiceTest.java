@@ -5,6 +5,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,24 +13,38 @@ import org.mockito.Mockito;
 
 import com.feud.model.Answer;
 import com.feud.model.Game;
+import com.feud.model.Question;
 import com.feud.model.Team;
 
 class GameServiceTest {
     private GameService gameService;
     private com.feud.repository.GameRepository mockGameRepository;
+    private com.feud.repository.PlayerRepository mockPlayerRepository;
     private com.feud.websocket.GameWebSocketBroadcaster mockBroadcaster;
     private com.feud.repository.QuestionRepository mockQuestionRepository;
     private SynonymService mockSynonymService;
+    private FaceoffBuzzer faceoffBuzzer;
+    private PlayerStatsService mockPlayerStatsService;
+    private org.springframework.context.ApplicationEventPublisher mockEventPublisher;
+    private QuestionCatalog mockQuestionCatalog;
+    private GameTimers mockGameTimers;
 
     @BeforeEach
     void setUp() {
         mockGameRepository = Mockito.mock(com.feud.repository.GameRepository.class);
+        mockPlayerRepository = Mockito.mock(com.feud.repository.PlayerRepository.class);
         mockBroadcaster = Mockito.mock(com.feud.websocket.GameWebSocketBroadcaster.class);
         mockQuestionRepository = Mockito.mock(com.feud.repository.QuestionRepository.class);
         mockSynonymService = Mockito.mock(com.feud.service.SynonymService.class);
+        faceoffBuzzer = new FaceoffBuzzer();
+        mockPlayerStatsService = Mockito.mock(PlayerStatsService.class);
+        mockEventPublisher = Mockito.mock(org.springframework.context.ApplicationEventPublisher.class);
+        mockQuestionCatalog = Mockito.mock(QuestionCatalog.class);
+        Mockito.when(mockQuestionCatalog.pin(Mockito.any())).thenReturn(true);
+        mockGameTimers = Mockito.mock(GameTimers.class);
         // Save just returns the game object
         Mockito.when(mockGameRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
-        gameService = new GameService(mockGameRepository, null, mockBroadcaster, mockQuestionRepository, mockSynonymService);
+        gameService = new GameService(mockGameRepository, mockPlayerRepository, mockBroadcaster, mockQuestionRepository, new AnswerCheckerService(mockSynonymService, mockQuestionRepository, 0.75), faceoffBuzzer, new LobbyRoster(), new com.feud.config.ReplicaStalenessGuard(2000), mockPlayerStatsService, Mockito.mock(GuessLog.class), new QuestionPoolIndex(mockQuestionRepository), mockGameTimers, Mockito.mock(GameTelemetry.class), mockQuestionCatalog, mockEventPublisher);
     }
 
     @Test
@@ -78,6 +93,138 @@ class GameServiceTest {
         assertNull(game.getCurrentTeam());
         assertFalse(game.isFaceoffInProgress());
     }
+    @Test
+    void testResolveFaceoffAndSetTurn_tieGoesToFirstBuzzer() {
+        Game game = new Game();
+        game.setCode("CODE");
+        game.setFaceoffInProgress(true);
+        game.setRedFaceoffAnswer("Car");
+        game.setBlueFaceoffAnswer("Car");
+        faceoffBuzzer.arm("CODE").buzz(Team.BLUE, "Car", System.nanoTime());
+        List<Answer> answers = Arrays.asList(
+                Answer.builder().text("Car").points(40).build()
+        );
+        assertEquals(Team.BLUE, gameService.resolveFaceoffAndSetTurn(game, answers));
+    }
+
+    @Test
+    void testSubmitFaceoffAnswer_firstBuzzerWithTopAnswerResolvesImmediately() {
+        Game game = new Game();
+        game.setCode("CODE");
+        game.setFaceoffInProgress(true);
+        Question question = new Question();
+        question.setId(1L);
+        question.setAnswers(Arrays.asList(
+                Answer.builder().id(10L).text("Car").points(40).build(),
+                Answer.builder().id(11L).text("Bike").points(20).build()
+        ));
+        game.setCurrentQuestion(question);
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        faceoffBuzzer.arm("CODE");
+
+        gameService.submitFaceoffAnswer("CODE", Team.BLUE, "cars", System.nanoTime());
+
+        assertFalse(game.isFaceoffInProgress());
+        assertEquals(Team.BLUE, game.getCurrentTeam());
+        Mockito.verify(mockGameRepository).updateBlueFaceoffAnswer("CODE", "cars");
+        Mockito.verify(mockBroadcaster).broadcastGameState(game);
+    }
+
+    @Test
+    void testSubmitFaceoffAnswer_topAnswerWaitsForTheGraceWindow() {
+        Game game = new Game();
+        game.setCode("CODE");
+        game.setFaceoffInProgress(true);
+        Question question = new Question();
+        question.setId(5L);
+        question.setAnswers(Arrays.asList(
+                Answer.builder().id(50L).text("Car").points(40).build(),
+                Answer.builder().id(51L).text("Bike").points(20).build()
+        ));
+        game.setCurrentQuestion(question);
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        Mockito.when(mockGameTimers.armFaceoffGrace(Mockito.eq("CODE"), Mockito.anyLong())).thenReturn(true);
+        faceoffBuzzer.arm("CODE");
+        long arrived = System.nanoTime();
+
+        // Blue is processed first with the top answer, but the window past its stamp is still open
+        gameService.submitFaceoffAnswer("CODE", Team.BLUE, "car", arrived + 1_000_000);
+        assertEquals(true, game.isFaceoffInProgress());
+        Mockito.verify(mockGameTimers).armFaceoffGrace("CODE", arrived + 1_000_000);
+
+        // Red's buzz came in earlier: with both answers in, the tie on points goes to red
+        gameService.submitFaceoffAnswer("CODE", Team.RED, "car", arrived);
+        assertFalse(game.isFaceoffInProgress());
+        assertEquals(Team.RED, game.getCurrentTeam());
+    }
+
+    @Test
+    void testSubmitFaceoffAnswer_tieGoesToEarliestArrival() {
+        Game game = new Game();
+        game.setCode("CODE");
+        game.setFaceoffInProgress(true);
+        Question question = new Question();
+        question.setId(4L);
+        question.setAnswers(Arrays.asList(
+                Answer.builder().id(40L).text("Car").points(40).build(),
+                Answer.builder().id(41L).text("Bike").points(20).build()
+        ));
+        game.setCurrentQuestion(question);
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        faceoffBuzzer.arm("CODE");
+        long redArrived = System.nanoTime();
+
+        // Blue is processed first, but Red's request arrived earlier
+        gameService.submitFaceoffAnswer("CODE", Team.BLUE, "Bike", redArrived + 5_000_000);
+        gameService.submitFaceoffAnswer("CODE", Team.RED, "Bike", redArrived);
+
+        assertFalse(game.isFaceoffInProgress());
+        assertEquals(Team.RED, game.getCurrentTeam());
+    }
+
+    @Test
+    void testSubmitFaceoffAnswer_waitsForSecondTeamWhenNotTopAnswer() {
+        Game game = new Game();
+        game.setCode("CODE");
+        game.setFaceoffInProgress(true);
+        Question question = new Question();
+        question.setId(2L);
+        question.setAnswers(Arrays.asList(
+                Answer.builder().id(20L).text("Car").points(40).build(),
+                Answer.builder().id(21L).text("Bike").points(20).build()
+        ));
+        game.setCurrentQuestion(question);
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        faceoffBuzzer.arm("CODE");
+
+        gameService.submitFaceoffAnswer("CODE", Team.RED, "Bike", System.nanoTime());
+        assertEquals(true, game.isFaceoffInProgress());
+        Mockito.verify(mockBroadcaster, Mockito.never()).broadcastGameState(game);
+
+        gameService.submitFaceoffAnswer("CODE", Team.BLUE, "Car", System.nanoTime());
+        assertFalse(game.isFaceoffInProgress());
+        assertEquals(Team.BLUE, game.getCurrentTeam());
+    }
+
+    @Test
+    void testJoinGame_reservesNameAndBroadcastsFromRoster() {
+        Game game = Game.builder().id(7L).code("CODE").status(com.feud.model.GameStatus.LOBBY).build();
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        Mockito.when(mockPlayerRepository.findByGameCode("CODE")).thenReturn(new java.util.ArrayList<>());
+        Mockito.when(mockPlayerRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        gameService.joinGame("CODE", new com.feud.dto.JoinGameRequest("Alice", Team.RED));
+        gameService.joinGame("CODE", new com.feud.dto.JoinGameRequest("Bob", Team.BLUE));
+        org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class,
+                () -> gameService.joinGame("CODE", new com.feud.dto.JoinGameRequest("Alice", Team.BLUE)));
+
+        // The game is loaded once; later joins and the broadcasts come from the roster
+        Mockito.verify(mockGameRepository, Mockito.times(1)).findByCode("CODE");
+        Mockito.verify(mockPlayerRepository, Mockito.times(2)).save(Mockito.any());
+        Mockito.verify(mockBroadcaster, Mockito.times(2)).broadcastPlayerJoined(Mockito.eq("CODE"), Mockito.any());
+        assertEquals(2, gameService.getPlayersInGame("CODE").size());
+    }
+
     @Test
     void testSubmitGuess_correctResetsStrikes() {
         Game game = new Game();
@@ -144,4 +291,161 @@ class GameServiceTest {
         assertEquals(false, result);
         assertEquals(0, game.getStrikes());
     }
+
+    @Test
+    void testEndGameAndSetWinner_recordsStatsOnlyWhenTheGameFirstEnds() {
+        Game game = new Game();
+        game.setCode("CODE");
+        game.setStatus(com.feud.model.GameStatus.IN_PROGRESS);
+        game.setRedScore(120);
+        game.setBlueScore(80);
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        List<com.feud.model.Player> players = List.of(com.feud.model.Player.builder().name("Ann").team(Team.RED).build());
+        Mockito.when(mockPlayerRepository.findByGameCode("CODE")).thenReturn(players);
+
+        gameService.endGameAndSetWinner("CODE");
+        gameService.endGameAndSetWinner("CODE");
+
+        assertEquals(Team.RED, game.getWinner());
+        Mockito.verify(mockPlayerStatsService, Mockito.times(1)).recordGameEnd(game, players);
+        // Stored responses of the game's actions go with it
+        Mockito.verify(mockEventPublisher, Mockito.atLeastOnce()).publishEvent(new GameClosedEvent("CODE"));
+    }
+
+    @Test
+    void testEndGameAndSetWinner_lobbyIsNotCountedAsAGamePlayed() {
+        Game game = Game.builder().code("CODE").status(com.feud.model.GameStatus.LOBBY).build();
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+
+        gameService.endGameAndSetWinner("CODE");
+
+        assertEquals(com.feud.model.GameStatus.ENDED, game.getStatus());
+        Mockito.verify(mockPlayerStatsService, Mockito.never()).recordGameEnd(Mockito.any(), Mockito.any());
+        Mockito.verify(mockPlayerStatsService).discard("CODE");
+    }
+
+    @Test
+    void testEndGameAndSetWinner_letsGoOfAnEditedQuestionVersion() {
+        Question question = new Question();
+        question.setId(7L);
+        Game game = Game.builder().code("CODE").status(com.feud.model.GameStatus.IN_PROGRESS).currentQuestion(question).build();
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        Mockito.when(mockQuestionCatalog.isRetired(7L)).thenReturn(true);
+
+        gameService.endGameAndSetWinner("CODE");
+
+        assertEquals(null, game.getCurrentQuestion());
+        Mockito.verify(mockQuestionCatalog).release(7L);
+    }
+
+    @Test
+    void testJoinGame_rejectsAnEndedGameWithoutKeepingItsRoster() {
+        Game game = Game.builder().id(1L).code("CODE").status(com.feud.model.GameStatus.ENDED).build();
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+
+        org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () -> gameService.joinGame("CODE", new com.feud.dto.JoinGameRequest("Ann", Team.RED)));
+
+        Mockito.verify(mockPlayerRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(mockPlayerRepository, Mockito.never()).findByGameCode("CODE");
+        // Nothing cached: the player list is read from the database
+        gameService.getPlayersInGame("CODE");
+        Mockito.verify(mockPlayerRepository).findByGameCode("CODE");
+    }
+
+    @Test
+    void testJoinGame_usesTheServerIssuedProfileAndReturnsItsToken() {
+        Game game = Game.builder().id(1L).code("CODE").status(com.feud.model.GameStatus.LOBBY).build();
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        Mockito.when(mockPlayerRepository.findByGameCode("CODE")).thenReturn(new java.util.ArrayList<>());
+        Mockito.when(mockPlayerRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(mockPlayerStatsService.claimProfile("ann-token")).thenReturn("ann-42");
+        Mockito.when(mockPlayerStatsService.profileToken("ann-42")).thenReturn("ann-token");
+
+        com.feud.model.Player ann = gameService.joinGame("CODE", new com.feud.dto.JoinGameRequest("Ann", Team.RED, "ann-token"));
+
+        assertEquals("ann-42", ann.getProfileId());
+        assertEquals("ann-token", ann.getProfileToken());
+        // The player other readers see (lobby roster, state frames) carries no token
+        assertEquals(null, gameService.getPlayersInGame("CODE").get(0).getProfileToken());
+    }
+
+    @Test
+    void testExpireLobby_endsTheGameWithoutDeletingIt() {
+        Game game = Game.builder().code("CODE").status(com.feud.model.GameStatus.ENDED).build();
+        Mockito.when(mockGameRepository.endLobby("CODE")).thenReturn(1);
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+
+        gameService.expireLobby("CODE");
+
+        Mockito.verify(mockGameRepository, Mockito.never()).delete(Mockito.any());
+        Mockito.verify(mockGameRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(mockGameTimers).cancelAll("CODE");
+        Mockito.verify(mockPlayerStatsService).discard("CODE");
+        Mockito.verify(mockPlayerStatsService, Mockito.never()).recordGameEnd(Mockito.any(), Mockito.any());
+        Mockito.verify(mockBroadcaster).broadcastGameState(game);
+    }
+
+    @Test
+    void testExpireTurn_countsAsStrikeAndRestartsTheClock() {
+        Game game = Game.builder().code("CODE").status(com.feud.model.GameStatus.IN_PROGRESS).strikes(1).build();
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        Mockito.when(mockGameRepository.addStrikeIfUnchanged(Mockito.eq("CODE"), Mockito.anyInt())).thenAnswer(invocation -> {
+            game.setStrikes((int) invocation.getArgument(1) + 1);
+            return 1;
+        });
+
+        gameService.expireTurn("CODE");
+        assertEquals(2, game.getStrikes());
+        Mockito.verify(mockGameTimers).arm("CODE", GameTimers.Kind.TURN);
+
+        gameService.expireTurn("CODE");
+        assertEquals(3, game.getStrikes());
+        // Three strikes: the steal is up to the host, the clock stops
+        Mockito.verify(mockGameTimers).cancel("CODE", GameTimers.Kind.TURN);
+        gameService.expireTurn("CODE");
+        assertEquals(3, game.getStrikes());
+        Mockito.verify(mockBroadcaster, Mockito.times(2)).broadcastGameState(game);
+    }
+
+    @Test
+    void testExpireTurn_losesToAStrikeThatGotInFirst() {
+        Game game = Game.builder().code("CODE").status(com.feud.model.GameStatus.IN_PROGRESS).strikes(1).build();
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        Mockito.when(mockGameRepository.addStrikeIfUnchanged("CODE", 1)).thenReturn(0);
+
+        gameService.expireTurn("CODE");
+
+        Mockito.verify(mockGameRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(mockBroadcaster, Mockito.never()).broadcastGameState(Mockito.any());
+    }
+
+    @Test
+    void testExpireFaceoff_resolvesWithTheBuzzesSoFar() {
+        Game game = Game.builder().code("CODE").status(com.feud.model.GameStatus.IN_PROGRESS).faceoffInProgress(true).build();
+        Question question = new Question();
+        question.setId(3L);
+        question.setAnswers(Arrays.asList(
+                Answer.builder().id(30L).text("Car").points(40).build(),
+                Answer.builder().id(31L).text("Bike").points(20).build()
+        ));
+        game.setCurrentQuestion(question);
+        Mockito.when(mockGameRepository.findByCode("CODE")).thenReturn(java.util.Optional.of(game));
+        faceoffBuzzer.arm("CODE");
+        gameService.startFaceoff("CODE", 1L, 2L);
+        Mockito.verify(mockGameTimers).arm("CODE", GameTimers.Kind.FACEOFF);
+
+        gameService.submitFaceoffAnswer("CODE", Team.RED, "Bike", System.nanoTime());
+        assertEquals(true, game.isFaceoffInProgress());
+
+        Mockito.when(mockGameRepository.endFaceoff("CODE", Team.RED)).thenAnswer(invocation -> {
+            game.setFaceoffInProgress(false);
+            game.setCurrentTeam(Team.RED);
+            return 1;
+        });
+        gameService.expireFaceoff("CODE");
+        Mockito.verify(mockGameRepository).endFaceoff("CODE", Team.RED);
+        assertFalse(game.isFaceoffInProgress());
+        Mockito.verify(mockGameTimers).arm("CODE", GameTimers.Kind.TURN);
+        Mockito.verify(mockBroadcaster).broadcastGameState(game);
+    }
 }
@@ -0,0 +1,196 @@
+package com.feud.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.dto.TelemetrySnapshot;
+import com.feud.model.GameStatus;
+import com.feud.repository.GameRepository;
+import com.feud.websocket.GameWebSocketBroadcaster;
+
+public class GameTelemetryTest {
+    private GameRepository gameRepository;
+    private GameWebSocketBroadcaster broadcaster;
+    private AtomicLong now;
+    private GameTelemetry telemetry;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = Mockito.mock(GameRepository.class);
+        broadcaster = Mockito.mock(GameWebSocketBroadcaster.class);
+        now = new AtomicLong(1_000_000);
+        telemetry = new GameTelemetry(gameRepository, broadcaster, new ObjectMapper(), 1000, 60_000, 5_000, 10, 2, now::get, Runnable::run);
+    }
+
+    @Test
+    void testLoadSeedsRunningGamesOnce() {
+        Mockito.when(gameRepository.findLiveGameSummaries()).thenReturn(List.of(
+            new Object[] {"AAAA", GameStatus.LOBBY, 3},
+            new Object[] {"BBBB", GameStatus.IN_PROGRESS, 4}));
+        Mockito.when(gameRepository.countByStatus(GameStatus.ENDED)).thenReturn(7L);
+        telemetry.load();
+
+        TelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1L, snapshot.games().get(GameStatus.LOBBY));
+        assertEquals(1L, snapshot.games().get(GameStatus.IN_PROGRESS));
+        assertEquals(7L, snapshot.games().get(GameStatus.ENDED));
+        assertEquals(7, snapshot.playersOnline());
+        Mockito.verify(gameRepository).findLiveGameSummaries();
+        Mockito.verify(gameRepository).countByStatus(GameStatus.ENDED);
+        Mockito.verifyNoMoreInteractions(gameRepository);
+    }
+
+    @Test
+    void testGameEventsUpdateCountsWithoutQueries() {
+        telemetry.gameCreated("AAAA");
+        telemetry.gameCreated("BBBB");
+        telemetry.playerJoined("AAAA");
+        telemetry.playerJoined("AAAA");
+        telemetry.playerJoined("BBBB");
+        telemetry.gameStarted("AAAA");
+
+        TelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1L, snapshot.games().get(GameStatus.LOBBY));
+        assertEquals(1L, snapshot.games().get(GameStatus.IN_PROGRESS));
+        assertEquals(3, snapshot.playersOnline());
+
+        telemetry.gameEnded("AAAA");
+        telemetry.gameDeleted("BBBB", GameStatus.LOBBY);
+        snapshot = telemetry.snapshot();
+        assertEquals(0L, snapshot.games().get(GameStatus.LOBBY));
+        assertEquals(0L, snapshot.games().get(GameStatus.IN_PROGRESS));
+        assertEquals(1L, snapshot.games().get(GameStatus.ENDED));
+        assertEquals(0, snapshot.playersOnline());
+
+        telemetry.gameDeleted("AAAA", GameStatus.ENDED);
+        assertEquals(0L, telemetry.snapshot().games().get(GameStatus.ENDED));
+        Mockito.verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void testGuessRateAndTopGames() {
+        telemetry.gameCreated("AAAA");
+        telemetry.gameCreated("BBBB");
+        telemetry.gameCreated("CCCC");
+        telemetry.gameStarted("AAAA");
+        telemetry.gameStarted("BBBB");
+        telemetry.gameStarted("CCCC");
+        for (int i = 0; i < 20; i++) telemetry.guessScored("AAAA");
+        for (int i = 0; i < 10; i++) telemetry.guessScored("BBBB");
+        telemetry.guessScored("CCCC");
+        // The second in progress is not counted yet
+        assertEquals(0.0, telemetry.snapshot().guessesPerSecond());
+
+        now.addAndGet(1000);
+        TelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(3.1, snapshot.guessesPerSecond(), 0.001);
+        assertEquals(2, snapshot.topGames().size());
+        assertEquals("AAAA", snapshot.topGames().get(0).code());
+        assertEquals("BBBB", snapshot.topGames().get(1).code());
+        assertTrue(snapshot.topGames().get(0).recentGuesses() < 20);
+
+        // Out of the window, the rate drops to zero and the games fade out of the ranking
+        now.addAndGet(600_000);
+        snapshot = telemetry.snapshot();
+        assertEquals(0.0, snapshot.guessesPerSecond());
+        assertTrue(snapshot.topGames().isEmpty());
+    }
+
+    @Test
+    void testSnapshotIsBuiltOncePerPublishWhateverTheNumberOfStreams() {
+        telemetry.publish();
+        Mockito.verify(broadcaster, Mockito.never()).backlog();
+
+        for (int i = 0; i < 5; i++) telemetry.subscribe();
+        assertEquals(5, telemetry.streamCount());
+        Mockito.clearInvocations(broadcaster);
+        telemetry.publish();
+        Mockito.verify(broadcaster, Mockito.times(1)).backlog();
+    }
+
+    @Test
+    void testSlowStreamSkipsSnapshotsThenIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        ExecutorService sender = Executors.newCachedThreadPool();
+        telemetry = new GameTelemetry(gameRepository, broadcaster, new ObjectMapper(), 1000, 60_000, 5_000, 10, 2, now::get, sender);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowSends = new AtomicInteger();
+        AtomicInteger fastSends = new AtomicInteger();
+        telemetry.subscribe(new SseEmitter(60_000L) {
+            @Override
+            public void send(SseEventBuilder builder) {
+                slowSends.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        telemetry.subscribe(new SseEmitter(60_000L) {
+            @Override
+            public void send(SseEventBuilder builder) {
+                fastSends.incrementAndGet();
+            }
+        });
+        try {
+            waitFor(() -> slowSends.get() == 1 && fastSends.get() == 1);
+
+            now.addAndGet(1_000);
+            telemetry.publish();
+            waitFor(() -> fastSends.get() == 2);
+            assertEquals(1, slowSends.get());
+            assertEquals(2, telemetry.streamCount());
+
+            // Still in its first write past the send timeout: dropped
+            now.addAndGet(5_000);
+            telemetry.publish();
+            assertEquals(1, telemetry.streamCount());
+            waitFor(() -> fastSends.get() == 3);
+            now.addAndGet(1_000);
+            telemetry.publish();
+            waitFor(() -> fastSends.get() == 4);
+        } finally {
+            release.countDown();
+            sender.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGuessRateCountsConcurrentGuesses() throws Exception {
+        ExecutorService guessers = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            guessers.execute(() -> {
+                for (int i = 0; i < 2_500; i++) telemetry.guessScored("NONE");
+            });
+        }
+        guessers.shutdown();
+        assertTrue(guessers.awaitTermination(10, TimeUnit.SECONDS));
+
+        now.addAndGet(1_000);
+        // 10,000 guesses in one second, averaged over the 10 s window
+        assertEquals(1000.0, telemetry.snapshot().guessesPerSecond());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("Timed out");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.feud.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GuessLogAggregatorTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSuggestSynonyms_attributesMissesToTheNextHit() throws Exception {
+        Files.writeString(dir.resolve("guesses-0000000000001-0000.log"), String.join("\n",
+                "1000\tG1\t7\t-\t10\tAutomobiles",
+                "2000\tG1\t7\t-\t10\tmotor car",
+                "3000\tG1\t7\t70\t10\tcar",
+                "4000\tG2\t7\t-\t10\tautomobile",
+                "5000\tG2\t7\t70\t10\tcar",
+                // Too long before the hit
+                "6000\tG3\t7\t-\t10\tvehicle",
+                "90000\tG3\t7\t70\t10\tcar",
+                // Never followed by a hit
+                "7000\tG4\t7\t-\t10\tautomobile",
+                "") );
+        // A segment that was not closed keeps its zero padding and may end in a partial line
+        byte[] tail = "8000\tG5\t7\t-\t10\tautomobile\n9000\tG5\t7\t70\t10\tcar\n10000\tG5\t7\t-\t10\tpartial".getBytes();
+        Files.write(dir.resolve("guesses-0000000000002-0001.log"), java.util.Arrays.copyOf(tail, tail.length + 64));
+
+        List<GuessLogAggregator.Suggestion> suggestions = GuessLogAggregator.suggestSynonyms(dir, 1, 30_000);
+
+        assertEquals(List.of(
+                new GuessLogAggregator.Suggestion(7, 70, "automobile", 3),
+                new GuessLogAggregator.Suggestion(7, 70, "motor car", 1)), suggestions);
+        assertEquals(List.of(new GuessLogAggregator.Suggestion(7, 70, "automobile", 3)),
+                GuessLogAggregator.suggestSynonyms(dir, 2, 30_000));
+    }
+}
@@ -0,0 +1,71 @@
+package com.feud.service;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GuessLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecord_writesLinesAndRollsSegments() throws Exception {
+        GuessLog guessLog = new GuessLog(true, dir.toString(), 4096, 10, 100_000);
+        for (int i = 0; i < 200; i++) {
+            guessLog.record("ABC123", 7L, "guess\tnumber " + i, i % 2 == 0 ? null : 3L, 1_500_000);
+        }
+        guessLog.close();
+
+        List<Path> segments = GuessLogAggregator.segments(dir);
+        assertTrue(segments.size() > 1);
+        List<String> lines = new java.util.ArrayList<>();
+        for (Path segment : segments) {
+            assertTrue(segment.toFile().length() <= 4096);
+            lines.addAll(GuessLogAggregator.lines(segment));
+        }
+        assertEquals(200, lines.size());
+        assertEquals(200, guessLog.written());
+        String[] first = lines.get(0).split("\t");
+        assertEquals(List.of("ABC123", "7", "-", "1500", "guess number 0"), List.of(first).subList(1, 6));
+        assertTrue(lines.get(199).endsWith("\t3\t1500\tguess number 199"));
+    }
+
+    @Test
+    void testRecord_dropsWhenQueueIsFull() throws Exception {
+        GuessLog guessLog = new GuessLog(false, dir.toString(), 4096, 10, 0);
+        guessLog.record("ABC123", 7L, "car", null, 0);
+        assertEquals(0, guessLog.dropped());
+
+        GuessLog full = new GuessLog(true, dir.resolve("full").toString(), 4096, 10, 0);
+        full.record("ABC123", 7L, "car", null, 0);
+        assertEquals(1, full.dropped());
+        full.close();
+    }
+
+    @Test
+    void testEnabledWithoutDirectory_staysOff() throws Exception {
+        GuessLog guessLog = new GuessLog(true, "", 4096, 10, 100);
+        guessLog.record("ABC123", 7L, "car", null, 0);
+        guessLog.close();
+
+        assertNull(guessLog.directory());
+        assertEquals(0, guessLog.written());
+        assertTrue(GuessLogAggregator.suggestSynonyms(guessLog.directory(), 1, 1000).isEmpty());
+    }
+
+    @Test
+    void testWriterWakesUpForEntriesAfterIdling() throws Exception {
+        GuessLog guessLog = new GuessLog(true, dir.toString(), 4096, 10, 100);
+        guessLog.record("ABC123", 7L, "car", null, 0);
+        Thread.sleep(50);
+        guessLog.record("ABC123", 7L, "bus", 3L, 0);
+        guessLog.close();
+
+        assertEquals(2, guessLog.written());
+    }
+}
@@ -0,0 +1,67 @@
+package com.feud.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class LeaderboardTest {
+    @Test
+    void testTopIsOrderedByScoreThenId() {
+        Leaderboard board = new Leaderboard();
+        board.raise("c", "carol", 50);
+        board.raise("b", "bob", 80);
+        board.raise("a", "alice", 50);
+        board.raise("d", "dave", 10);
+
+        assertEquals(List.of(new Leaderboard.Entry("b", "bob", 80), new Leaderboard.Entry("a", "alice", 50),
+                new Leaderboard.Entry("c", "carol", 50)), board.top(3));
+    }
+
+    @Test
+    void testRaise_movesPlayerAndNeverLowersScore() {
+        Leaderboard board = new Leaderboard();
+        board.raise("a", "alice", 10);
+        board.raise("b", "bob", 20);
+        board.raise("a", "alice", 30);
+        board.raise("a", "alice", 5);
+
+        assertEquals(2, board.size());
+        assertEquals(new Leaderboard.Entry("a", "alice", 30), board.top(1).get(0));
+    }
+
+    @Test
+    void testPlayersSharingANameAreRankedApart() {
+        Leaderboard board = new Leaderboard();
+        board.raise("b1", "Bob", 20);
+        board.raise("b2", "Bob", 40);
+
+        assertEquals(List.of(new Leaderboard.Entry("b2", "Bob", 40), new Leaderboard.Entry("b1", "Bob", 20)), board.top(5));
+    }
+
+    @Test
+    void testRaise_renamesAtAnEqualScore() {
+        Leaderboard board = new Leaderboard();
+        board.raise("a", "alice", 30);
+        board.raise("a", "Alice B.", 30);
+
+        assertEquals(List.of(new Leaderboard.Entry("a", "Alice B.", 30)), board.top(5));
+    }
+
+    @Test
+    void testTopNeverMissesAPlayerWhileTheirScoreMoves() throws InterruptedException {
+        Leaderboard board = new Leaderboard();
+        board.raise("a", "alice", 0);
+        Thread writer = new Thread(() -> {
+            for (long score = 1; score <= 20_000; score++) board.raise("a", "alice", score);
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            List<Leaderboard.Entry> top = board.top(5);
+            assertEquals(1, top.size());
+            assertEquals("a", top.get(0).id());
+        }
+        writer.join();
+        assertEquals(20_000, board.top(1).get(0).score());
+    }
+}
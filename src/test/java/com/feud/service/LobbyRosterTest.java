@@ -0,0 +1,54 @@
+package com.feud.service;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.feud.model.Game;
+import com.feud.model.GameStatus;
+import com.feud.model.Player;
+
+class LobbyRosterTest {
+    private final LobbyRoster lobbyRoster = new LobbyRoster();
+
+    private Game lobby() {
+        return Game.builder().id(1L).code("CODE").status(GameStatus.LOBBY).build();
+    }
+
+    @Test
+    void testLoad_existingPlayersReserveTheirNames() {
+        Player alice = Player.builder().name("Alice").build();
+        LobbyRoster.Roster roster = lobbyRoster.load(lobby(), List.of(alice));
+        assertFalse(roster.reserve("Alice"));
+        assertTrue(roster.reserve("Bob"));
+        assertSame(roster, lobbyRoster.load(lobby(), List.of()));
+    }
+
+    @Test
+    void testReserve_concurrentSameNameOnlyOneWins() throws Exception {
+        LobbyRoster.Roster roster = lobbyRoster.load(lobby(), List.of());
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            pool.submit(() -> {
+                start.await();
+                if (roster.reserve("Sam")) winners.incrementAndGet();
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, winners.get());
+    }
+}
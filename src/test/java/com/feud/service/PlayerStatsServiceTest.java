@@ -0,0 +1,105 @@
+package com.feud.service;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feud.model.Game;
+import com.feud.model.Player;
+import com.feud.model.PlayerProfile;
+import com.feud.model.Team;
+
+@DataJpaTest
+@Import({PlayerStatsService.class, PlayerStatsServiceTest.SameThread.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlayerStatsServiceTest {
+    @Autowired
+    private PlayerStatsService playerStatsService;
+
+    @TestConfiguration
+    static class SameThread {
+        @Bean
+        Executor backgroundExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    private static Game game(String code, String topic, int red, int blue, Team winner) {
+        return Game.builder().code(code).topic(topic).redScore(red).blueScore(blue).winner(winner).build();
+    }
+
+    private static Player player(String name, Team team) {
+        return player(name, name, team);
+    }
+
+    private static Player player(String id, String name, Team team) {
+        return Player.builder().profileId(id).name(name).team(team).build();
+    }
+
+    @Test
+    void testRecordGameEnd_accumulatesProfilesAcrossGames() {
+        playerStatsService.recordGuess("G1", Team.RED, true);
+        playerStatsService.recordGuess("G1", Team.RED, false);
+        playerStatsService.recordSteal("G1", Team.RED, 30);
+        playerStatsService.recordGameEnd(game("G1", "Food", 100, 40, Team.RED),
+                List.of(player("statsAnn", Team.RED), player("statsBen", Team.RED), player("statsCy", Team.BLUE)));
+
+        playerStatsService.recordGuess("G2", Team.BLUE, true);
+        playerStatsService.recordSteal("G2", Team.BLUE, 10);
+        playerStatsService.recordGameEnd(game("G2", "Food", 0, 60, Team.BLUE),
+                List.of(player("statsAnn", Team.BLUE)));
+
+        PlayerProfile ann = playerStatsService.getProfile("statsAnn");
+        assertEquals(2, ann.getGamesPlayed());
+        assertEquals(2, ann.getWins());
+        assertEquals(50 + 60, ann.getPointsContributed());
+        assertEquals(3, ann.getGuesses());
+        assertEquals(2.0 / 3, ann.getCorrectGuessRate(), 1e-9);
+        assertEquals(30, ann.getBestSteal());
+
+        PlayerProfile cy = playerStatsService.getProfile("statsCy");
+        assertEquals(1, cy.getGamesPlayed());
+        assertEquals(0, cy.getWins());
+        assertEquals(40, cy.getPointsContributed());
+    }
+
+    @Test
+    void testLeaderboards_followRecordedGames() {
+        playerStatsService.recordGameEnd(game("L1", "Sports", 90, 30, Team.RED),
+                List.of(player("boardDee", Team.RED), player("boardEd", Team.BLUE)));
+        playerStatsService.recordGameEnd(game("L2", "Movies", 10, 200, Team.BLUE),
+                List.of(player("boardEd", Team.BLUE)));
+
+        List<Leaderboard.Entry> sports = playerStatsService.top("Sports", 10);
+        assertEquals(List.of(new Leaderboard.Entry("boardDee", "boardDee", 90), new Leaderboard.Entry("boardEd", "boardEd", 30)), sports);
+        // Topics are matched case-insensitively
+        assertEquals(List.of(new Leaderboard.Entry("boardEd", "boardEd", 200)), playerStatsService.top("movies ", 10));
+        assertEquals(new Leaderboard.Entry("boardEd", "boardEd", 230), playerStatsService.top(null, 1).get(0));
+    }
+
+    @Test
+    void testPlayersSharingANameKeepTheirOwnProfiles() {
+        playerStatsService.recordGameEnd(game("N1", null, 30, 70, Team.BLUE),
+                List.of(player("bob-1", "Bob", Team.RED), player("bob-2", "Bob", Team.BLUE)));
+        playerStatsService.recordGameEnd(game("N2", null, 10, 0, Team.RED),
+                List.of(player("bob-1", "Bobby", Team.RED)));
+
+        PlayerProfile first = playerStatsService.getProfile("bob-1");
+        assertEquals(2, first.getGamesPlayed());
+        assertEquals(40, first.getPointsContributed());
+        assertEquals("Bobby", first.getName());
+        PlayerProfile second = playerStatsService.getProfile("bob-2");
+        assertEquals(1, second.getGamesPlayed());
+        assertEquals(70, second.getPointsContributed());
+        assertEquals("Bob", second.getName());
+    }
+}
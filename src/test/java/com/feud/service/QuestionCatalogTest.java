@@ -0,0 +1,198 @@
+package com.feud.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.feud.model.Answer;
+import com.feud.model.GameStatus;
+import com.feud.model.Question;
+import com.feud.repository.GameRepository;
+import com.feud.repository.QuestionRepository;
+
+class QuestionCatalogTest {
+    private QuestionRepository questionRepository;
+    private GameRepository gameRepository;
+    private QuestionPoolIndex questionPoolIndex;
+    private AnswerCheckerService answerCheckerService;
+    private QuestionCatalog catalog;
+    private Question original;
+
+    @BeforeEach
+    void setUp() {
+        questionRepository = Mockito.mock(QuestionRepository.class);
+        gameRepository = Mockito.mock(GameRepository.class);
+        questionPoolIndex = Mockito.mock(QuestionPoolIndex.class);
+        answerCheckerService = Mockito.mock(AnswerCheckerService.class);
+        catalog = new QuestionCatalog(questionRepository, gameRepository, questionPoolIndex, answerCheckerService,
+            Mockito.mock(EntityCacheService.class), Mockito.mock(PlatformTransactionManager.class));
+        original = question(1L, "Name a pet", "Dog");
+        Mockito.when(questionRepository.findCurrentWithAnswers()).thenReturn(new ArrayList<>(List.of(original)));
+        Mockito.when(questionRepository.findById(1L)).thenReturn(Optional.of(original));
+        AtomicLong ids = new AtomicLong(100);
+        Mockito.when(questionRepository.save(Mockito.any())).thenAnswer(invocation -> {
+            Question q = invocation.getArgument(0);
+            if (q.getId() == null) q.setId(ids.incrementAndGet());
+            return q;
+        });
+    }
+
+    private static Question question(Long id, String text, String answer) {
+        Question q = new Question();
+        q.setId(id);
+        q.setText(text);
+        q.setAnswers(new ArrayList<>(List.of(Answer.builder().id(id == null ? null : id * 10).text(answer).points(50).question(q).build())));
+        return q;
+    }
+
+    private static List<Long> ids(List<Question> questions) {
+        return questions.stream().map(Question::getId).toList();
+    }
+
+    @Test
+    void testSnapshotHoldsCopiesNotTheEntities() {
+        Question listed = catalog.current().get(1L);
+        assertNotSame(original, listed);
+        original.setText("Changed");
+        assertEquals("Name a pet", catalog.current().get(1L).getText());
+        assertThrows(UnsupportedOperationException.class, () -> listed.getAnswers().add(new Answer()));
+    }
+
+    @Test
+    void testPinnedVersionIsNotDeletedBeforeTheDrawingGameCompletes() {
+        catalog.current();
+        List<TransactionSynchronization> completions;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(catalog.pin(1L));
+            completions = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Deleted while a game that drew it has not committed: no running game points to it yet
+        assertTrue(catalog.delete(1L));
+        Mockito.verify(questionRepository, Mockito.never()).deleteById(1L);
+
+        // The game rolled back: the version goes, and later draws skip it
+        completions.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        Mockito.verify(questionRepository).deleteById(1L);
+        assertFalse(catalog.pin(1L));
+    }
+
+    @Test
+    void testIsRetiredLoadsTheCatalogFirst() {
+        Mockito.when(questionRepository.findRetiredIds()).thenReturn(List.of(7L));
+        Mockito.when(gameRepository.existsByCurrentQuestionIdAndStatusNot(7L, GameStatus.ENDED)).thenReturn(true);
+
+        assertTrue(catalog.isRetired(7L));
+    }
+
+    @Test
+    void testEditIsANewVersionAndTheOldOneStaysForItsGames() {
+        QuestionCatalog.Snapshot before = catalog.current();
+        Mockito.when(gameRepository.existsByCurrentQuestionIdAndStatusNot(1L, GameStatus.ENDED)).thenReturn(true);
+
+        Question next = catalog.replace(1L, question(null, "Name a pet", "Cat"));
+
+        // The old row and its answers are untouched, only retired
+        assertTrue(original.isRetired());
+        assertEquals("Dog", original.getAnswers().get(0).getText());
+        assertEquals(10L, original.getAnswers().get(0).getId());
+        Mockito.verify(questionRepository, Mockito.never()).deleteById(1L);
+        Mockito.verify(questionPoolIndex).replace(1L, next);
+
+        // The new version is a new row under the same logical id
+        assertEquals(1L, next.getLogicalId());
+        assertEquals(2, next.getVersion());
+        assertTrue(next.getId() != 1L);
+
+        // Readers holding the previous snapshot still see the old version; the new one has the new version only
+        assertEquals(1L, before.get(1L).getId());
+        assertEquals("Dog", before.get(1L).getAnswers().get(0).getText());
+        QuestionCatalog.Snapshot after = catalog.current();
+        assertTrue(after.version() > before.version());
+        assertEquals(next.getId(), after.get(1L).getId());
+        assertEquals(List.of(next.getId()), ids(after.list()));
+        assertTrue(after.retained().contains(1L));
+        assertTrue(catalog.isRetired(1L));
+
+        // The last running game leaves the old version: ended games let go of it and it is deleted
+        Mockito.when(gameRepository.existsByCurrentQuestionIdAndStatusNot(1L, GameStatus.ENDED)).thenReturn(false);
+        catalog.release(1L);
+        Mockito.verify(gameRepository).clearEndedGamesQuestion(1L);
+        Mockito.verify(questionRepository).deleteById(1L);
+        Mockito.verify(answerCheckerService).evict(1L);
+        assertFalse(catalog.current().retained().contains(1L));
+    }
+
+    @Test
+    void testEditsKeepTheIdClientsHave() {
+        catalog.current();
+        Question second = catalog.replace(1L, question(null, "Name a pet", "Cat"));
+        Mockito.when(questionRepository.findById(second.getId())).thenReturn(Optional.of(second));
+        Question third = catalog.replace(1L, question(null, "Name a pet", "Fish"));
+
+        assertEquals(1L, third.getLogicalId());
+        assertEquals(3, third.getVersion());
+        Mockito.verify(questionRepository).deleteById(second.getId());
+        assertEquals(List.of(third.getId()), ids(catalog.current().list()));
+    }
+
+    @Test
+    void testUnknownQuestionIsNotEdited() {
+        catalog.current();
+        assertNull(catalog.replace(2L, question(null, "Name a fruit", "Apple")));
+        assertFalse(catalog.delete(2L));
+        Mockito.verify(questionRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void testUnusedVersionIsDeletedRightAway() {
+        catalog.current();
+        assertTrue(catalog.delete(1L));
+
+        Mockito.verify(questionRepository).deleteById(1L);
+        Mockito.verify(questionPoolIndex).remove(1L);
+        assertTrue(catalog.current().list().isEmpty());
+        assertTrue(catalog.current().retained().isEmpty());
+        // Deleted: the next delete is a miss
+        assertFalse(catalog.delete(1L));
+    }
+
+    @Test
+    void testReleaseOfCurrentQuestionNeedsNoQuery() {
+        catalog.current();
+        catalog.release(1L);
+        catalog.release(null);
+        assertFalse(catalog.isRetired(1L));
+        Mockito.verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void testLoadDeletesRetiredVersionsNoRunningGameUses() {
+        Question current = question(2L, "Name a fruit", "Apple");
+        Mockito.when(questionRepository.findCurrentWithAnswers()).thenReturn(new ArrayList<>(List.of(current)));
+        Mockito.when(questionRepository.findRetiredIds()).thenReturn(List.of(1L));
+
+        assertEquals(List.of(2L), ids(catalog.current().list()));
+        Mockito.verify(gameRepository).existsByCurrentQuestionIdAndStatusNot(1L, GameStatus.ENDED);
+        Mockito.verify(questionRepository).deleteById(1L);
+        Mockito.verify(questionRepository, Mockito.never()).findAll();
+    }
+}
@@ -0,0 +1,99 @@
+package com.feud.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.feud.model.Question;
+import com.feud.repository.QuestionRepository;
+
+class QuestionPoolIndexTest {
+    private QuestionRepository mockQuestionRepository;
+    private QuestionPoolIndex index;
+
+    private static Question question(long id, String topic) {
+        Question question = new Question();
+        question.setId(id);
+        question.setTopic(topic);
+        return question;
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockQuestionRepository = Mockito.mock(QuestionRepository.class);
+        Mockito.when(mockQuestionRepository.findAll()).thenReturn(new ArrayList<>(List.of(
+                question(1, "Food"), question(2, "food "), question(3, "Sports"), question(4, null))));
+        index = new QuestionPoolIndex(mockQuestionRepository);
+    }
+
+    @Test
+    void testDraw_staysWithinTopicAndFallsBackToAllQuestions() {
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            long id = index.draw("FOOD", random.nextDouble());
+            assertTrue(id == 1 || id == 2);
+        }
+        assertEquals(3L, index.draw("Sports", random.nextDouble()));
+        assertEquals(4, index.size(null));
+        Map<Long, Integer> drawn = new HashMap<>();
+        for (int i = 0; i < 400; i++) {
+            drawn.merge(index.draw("Unknown topic", random.nextDouble()), 1, Integer::sum);
+        }
+        assertEquals(4, drawn.size());
+        Mockito.verify(mockQuestionRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    void testDraw_favorsLessPlayedQuestions() {
+        // Question 3 is drawn 9 times in its own topic, so it weighs 1/10 in the global pool
+        // while the other three catch up with it
+        for (int i = 0; i < 9; i++) index.draw("Sports", 0.5);
+        Random random = new Random(11);
+        int three = 0;
+        for (int i = 0; i < 27; i++) {
+            if (index.draw(null, random.nextDouble()) == 3L) three++;
+        }
+        assertTrue(three <= 4, "drawn " + three + " times");
+    }
+
+    @Test
+    void testPutAndRemove_updateThePoolsIncrementally() {
+        index.put(question(5, "Sports"));
+        index.put(question(3, "Movies"));
+        assertEquals(1, index.size("movies"));
+        assertEquals(5L, index.draw("Sports", 0.99));
+
+        index.remove(5L);
+        assertEquals(0, index.size("Sports"));
+        // An empty topic falls back to all questions
+        long id = index.draw("Sports", 0.0);
+        assertTrue(id != 5L);
+
+        index.clear();
+        Mockito.when(mockQuestionRepository.findAll()).thenReturn(List.of());
+        assertNull(index.draw(null, 0.3));
+    }
+
+    @Test
+    void testPool_samplesProportionallyToWeight() {
+        QuestionPoolIndex.Pool pool = new QuestionPoolIndex.Pool();
+        for (long id = 0; id < 100; id++) pool.set(id, id == 42 ? 100 : 1);
+        pool.remove(0);
+        assertEquals(198, pool.total(), 1e-9);
+        // Question 42 owns [41, 141) of the cumulative weight
+        assertEquals(42L, pool.sample(41.0 / 198));
+        assertEquals(42L, pool.sample(140.9 / 198));
+        assertEquals(43L, pool.sample(141.0 / 198));
+        assertEquals(1L, pool.sample(0.0));
+        assertEquals(99L, pool.sample(0.999999));
+    }
+}
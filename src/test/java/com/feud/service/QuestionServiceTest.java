@@ -21,7 +21,10 @@ class QuestionServiceTest {
     @BeforeEach
     void setUp() {
         mockRepo = Mockito.mock(QuestionRepository.class);
-        questionService = new QuestionService(mockRepo);
+        QuestionCatalog catalog = new QuestionCatalog(mockRepo, Mockito.mock(com.feud.repository.GameRepository.class),
+            Mockito.mock(QuestionPoolIndex.class), Mockito.mock(AnswerCheckerService.class),
+            Mockito.mock(EntityCacheService.class), Mockito.mock(org.springframework.transaction.PlatformTransactionManager.class));
+        questionService = new QuestionService(catalog);
     }
 
     @Test
@@ -35,27 +38,34 @@ class QuestionServiceTest {
     @Test
     void testGetAllQuestions() {
         Question q1 = new Question();
+        q1.setId(1L);
         Question q2 = new Question();
-        Mockito.when(mockRepo.findAll()).thenReturn(Arrays.asList(q1, q2));
+        q2.setId(2L);
+        Mockito.when(mockRepo.findCurrentWithAnswers()).thenReturn(Arrays.asList(q1, q2));
         List<Question> result = questionService.getAllQuestions();
-        assertEquals(2, result.size());
-        assertTrue(result.contains(q1));
-        assertTrue(result.contains(q2));
+        assertEquals(List.of(1L, 2L), result.stream().map(Question::getId).toList());
     }
 
     @Test
     void testGetQuestion_found() {
         Question q = new Question();
-        Mockito.when(mockRepo.findById(1L)).thenReturn(Optional.of(q));
+        q.setId(1L);
+        Mockito.when(mockRepo.findCurrentWithAnswers()).thenReturn(List.of(q));
         Optional<Question> result = questionService.getQuestion(1L);
         assertTrue(result.isPresent());
-        assertEquals(q, result.get());
+        assertEquals(1L, result.get().getId());
     }
 
     @Test
     void testGetQuestion_notFound() {
-        Mockito.when(mockRepo.findById(2L)).thenReturn(Optional.empty());
         Optional<Question> result = questionService.getQuestion(2L);
         assertFalse(result.isPresent());
     }
+
+    @Test
+    void testGetQuestion_retiredVersionIsNotServed() {
+        Mockito.when(mockRepo.findRetiredIds()).thenReturn(List.of(3L));
+        assertFalse(questionService.getQuestion(3L).isPresent());
+        Mockito.verify(mockRepo, Mockito.never()).findById(3L);
+    }
 }
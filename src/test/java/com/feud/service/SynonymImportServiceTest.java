@@ -0,0 +1,101 @@
+package com.feud.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.feud.model.SynonymDictionary;
+import com.feud.repository.SynonymDictionaryRepository;
+import com.feud.util.ThesaurusReader;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@Import(SynonymImportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SynonymImportServiceTest {
+    @Autowired
+    private SynonymImportService synonymImportService;
+    @Autowired
+    private SynonymDictionaryRepository synonymDictionaryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static ByteArrayInputStream file(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String synonymsOf(String canonical) {
+        // The import bypasses Hibernate, so cached entries are stale (the controller evicts them)
+        entityManagerFactory.getCache().evictAll();
+        return synonymDictionaryRepository.findById(canonical).map(SynonymDictionary::getSynonyms).orElse(null);
+    }
+
+    @Test
+    void testImportTsv_mergesIntoDictionary() throws Exception {
+        SynonymDictionary existing = new SynonymDictionary();
+        existing.setCanonical("sofa");
+        existing.setSynonyms("couch");
+        synonymDictionaryRepository.save(existing);
+
+        SynonymImportService.ImportResult result = synonymImportService.importThesaurus(file(
+                "# word\tsynonyms\n"
+                + "Sofa\tSettee,divan\n"
+                + "automobile\tcar,motorcar\tauto\n"
+                + "automobile\tcar\n"), ThesaurusReader.Format.TSV);
+
+        assertEquals(6, result.pairs());
+        assertEquals(2, result.entries());
+        assertEquals("couch,divan,settee", synonymsOf("sofa"));
+        assertEquals("auto,car,motorcar", synonymsOf("automobile"));
+    }
+
+    @Test
+    void testImportMyThes_skipsPartOfSpeechAndNotes() throws Exception {
+        SynonymImportService.ImportResult result = synonymImportService.importThesaurus(file(
+                "UTF-8\n"
+                + "kettle|2\n"
+                + "(noun)|boiler|teakettle\n"
+                + "(noun)|pot (generic term)|kettle\n"
+                + "oven|1\n"
+                + "(noun)|stove|kitchen appliance (generic term)\n"), ThesaurusReader.Format.MYTHES);
+
+        assertEquals(5, result.pairs());
+        assertEquals("boiler,pot,teakettle", synonymsOf("kettle"));
+        assertTrue(synonymsOf("oven").contains("kitchen appliance"));
+    }
+
+    @Test
+    void testReimport_keepsEachSynonymOnce() throws Exception {
+        SynonymDictionary existing = new SynonymDictionary();
+        existing.setCanonical("lamp");
+        existing.setSynonyms("light, lantern");
+        synonymDictionaryRepository.save(existing);
+
+        synonymImportService.importThesaurus(file("lamp\tlantern,torch\n"), ThesaurusReader.Format.TSV);
+        synonymImportService.importThesaurus(file("lamp\tlantern,torch\n"), ThesaurusReader.Format.TSV);
+
+        assertEquals("lantern,light,torch", synonymsOf("lamp"));
+    }
+
+    @Test
+    void testImport_cutsAnOverlongListAfterTheLastWholeSynonym() throws Exception {
+        StringBuilder line = new StringBuilder("word\t");
+        for (int i = 0; i < 1000; i++) line.append(i == 0 ? "" : ",").append("synonym").append(1000 + i);
+        synonymImportService.importThesaurus(file(line.append('\n').toString()), ThesaurusReader.Format.TSV);
+
+        String synonyms = synonymsOf("word");
+        assertTrue(synonyms.length() <= SynonymDictionary.SYNONYMS_MAX_LENGTH);
+        // Each entry is "synonym" plus four digits: nothing was cut in the middle of one
+        for (String synonym : synonyms.split(",")) assertTrue(synonym.matches("synonym\\d{4}"), synonym);
+        assertEquals(SynonymDictionary.SYNONYMS_MAX_LENGTH / 12, synonyms.split(",").length);
+    }
+}
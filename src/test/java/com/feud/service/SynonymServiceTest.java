@@ -1,5 +1,7 @@
 package com.feud.service;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Set;
 
@@ -15,12 +17,29 @@ import com.feud.repository.SynonymDictionaryRepository;
 
 class SynonymServiceTest {
     private SynonymDictionaryRepository mockRepo;
+    private SynonymSnapshotService mockSnapshots;
     private SynonymService synonymService;
 
     @BeforeEach
     void setUp() {
         mockRepo = Mockito.mock(SynonymDictionaryRepository.class);
-        synonymService = new SynonymService(mockRepo);
+        mockSnapshots = Mockito.mock(SynonymSnapshotService.class);
+        synonymService = new SynonymService(mockRepo, mockSnapshots);
+    }
+
+    @Test
+    void testGetAllSynonyms_fromSnapshot() throws Exception {
+        Path file = Files.createTempFile("synonyms", ".snap");
+        try {
+            new SynonymSnapshot.Builder().add("car", "auto,vehicle").writeTo(file);
+            Mockito.when(mockSnapshots.current()).thenReturn(SynonymSnapshot.open(file));
+            Set<String> result = synonymService.getAllSynonyms("car");
+            assertEquals(Set.of("car", "auto", "vehicle"), result);
+            assertEquals(Set.of("plane"), synonymService.getAllSynonyms("plane"));
+            Mockito.verifyNoInteractions(mockRepo);
+        } finally {
+            Files.deleteIfExists(file);
+        }
     }
 
     @Test
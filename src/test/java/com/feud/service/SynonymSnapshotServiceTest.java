@@ -0,0 +1,77 @@
+package com.feud.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.feud.util.GuessNormalizer;
+
+class SynonymSnapshotServiceTest {
+    @TempDir
+    Path dir;
+
+    private final DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:snapshot-service;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void dictionary() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS synonym_dictionary (canonical varchar(255) primary key, synonyms varchar(8192))");
+        jdbc.update("DELETE FROM synonym_dictionary");
+        jdbc.update("INSERT INTO synonym_dictionary VALUES ('car', 'auto,vehicle'), ('dog', 'puppy')");
+    }
+
+    private SynonymSnapshotService service(Path file) {
+        return new SynonymSnapshotService(file.toString(), dataSource, Runnable::run, 0);
+    }
+
+    @Test
+    void testFileOfAnOlderDictionaryIsRebuiltAtStartup() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        // Same row count, edited synonyms
+        new SynonymSnapshot.Builder().add("car", "auto,vehicle").add("dog", "hound").writeTo(file);
+
+        SynonymSnapshotService service = service(file);
+        service.load();
+
+        assertEquals(List.of(GuessNormalizer.normalize("puppy")), service.current().synonymsOf("dog"));
+    }
+
+    @Test
+    void testFileMatchingTheDictionaryIsMappedAsIs() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        new SynonymSnapshot.Builder().add("dog", "puppy").add("car", "auto,vehicle").writeTo(file);
+        Object fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+
+        SynonymSnapshotService service = service(file);
+        service.load();
+
+        assertNotNull(service.current());
+        assertEquals(fileKey, Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+    }
+
+    @Test
+    void testFileReplacedByAnotherProcessIsMappedAgain() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        SynonymSnapshotService service = service(file);
+        service.load();
+        assertEquals(2, service.current().entryCount());
+
+        Path other = dir.resolve("other.tmp");
+        new SynonymSnapshot.Builder().add("car", "auto").add("dog", "puppy").add("cat", "kitten").writeTo(other);
+        Files.move(other, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        service.remapIfReplaced();
+
+        assertEquals(3, service.current().entryCount());
+    }
+}
@@ -0,0 +1,99 @@
+package com.feud.service;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.feud.util.GuessNormalizer;
+
+class SynonymSnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEntriesWithNormalizedSynonyms() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        new SynonymSnapshot.Builder()
+            .add("car", "Automobile, vehicles,auto")
+            .add("dog", "puppy,hound")
+            .add("auto", "car")
+            .writeTo(file);
+
+        SynonymSnapshot snapshot = SynonymSnapshot.open(file);
+
+        assertEquals(3, snapshot.entryCount());
+        assertEquals(List.of(norm("Automobile"), norm("vehicles"), norm("auto")), snapshot.synonymsOf("car"));
+        assertEquals(List.of(norm("puppy"), norm("hound")), snapshot.synonymsOf("dog"));
+        assertEquals(List.of(norm("car")), snapshot.synonymsOf("auto"));
+    }
+
+    @Test
+    void missingKeysAndSynonymOnlyTermsHaveNoEntry() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        new SynonymSnapshot.Builder().add("car", "vehicle").writeTo(file);
+
+        SynonymSnapshot snapshot = SynonymSnapshot.open(file);
+
+        assertNull(snapshot.synonymsOf("boat"));
+        assertNull(snapshot.synonymsOf("vehicle"));
+        assertNull(snapshot.synonymsOf(""));
+    }
+
+    @Test
+    void findsNonAsciiKeys() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        new SynonymSnapshot.Builder()
+            .add("zebra", "stripes")
+            .add("éclair", "pastry")
+            .add("日本", "japan")
+            .add("apple", "fruit")
+            .writeTo(file);
+
+        SynonymSnapshot snapshot = SynonymSnapshot.open(file);
+
+        assertEquals(List.of(norm("pastry")), snapshot.synonymsOf("éclair"));
+        assertEquals(List.of(norm("japan")), snapshot.synonymsOf("日本"));
+        assertEquals(List.of(norm("fruit")), snapshot.synonymsOf("apple"));
+        assertEquals(List.of(norm("stripes")), snapshot.synonymsOf("zebra"));
+    }
+
+    @Test
+    void emptyDictionaryHasNoEntries() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        new SynonymSnapshot.Builder().writeTo(file);
+
+        SynonymSnapshot snapshot = SynonymSnapshot.open(file);
+
+        assertEquals(0, snapshot.entryCount());
+        assertNull(snapshot.synonymsOf("car"));
+        assertTrue(snapshot.sizeBytes() > 0);
+    }
+
+    @Test
+    void recordsTheDictionaryVersionWhateverTheRowOrder() throws Exception {
+        Path file = dir.resolve("synonyms.snap");
+        new SynonymSnapshot.Builder().add("car", "auto").add("dog", "puppy").writeTo(file);
+        SynonymSnapshot.DictionaryVersion.Tally reordered = new SynonymSnapshot.DictionaryVersion.Tally();
+        reordered.add("dog", "puppy");
+        reordered.add("car", "auto");
+        SynonymSnapshot.DictionaryVersion.Tally edited = new SynonymSnapshot.DictionaryVersion.Tally();
+        edited.add("car", "autos");
+        edited.add("dog", "puppy");
+
+        SynonymSnapshot.DictionaryVersion version = SynonymSnapshot.open(file).dictionaryVersion();
+
+        assertEquals(2, version.rows());
+        assertEquals(reordered.version(), version);
+        assertNotEquals(edited.version(), version);
+    }
+
+    private static String norm(String text) {
+        return GuessNormalizer.normalize(text);
+    }
+}
@@ -17,7 +17,7 @@ class SynonymSyncServiceTest {
     void setUp() {
         mockQuestionRepo = Mockito.mock(QuestionRepository.class);
         mockSynonymRepo = Mockito.mock(SynonymDictionaryRepository.class);
-        synonymSyncService = new SynonymSyncService(mockQuestionRepo, mockSynonymRepo);
+        synonymSyncService = new SynonymSyncService(mockQuestionRepo, mockSynonymRepo, Runnable::run);
     }
 
     @Test
@@ -0,0 +1,122 @@
+package com.feud.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.mockito.ArgumentMatchers.any;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.model.Answer;
+import com.feud.model.Question;
+import com.feud.repository.QuestionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WarmupServiceTest {
+    private QuestionRepository mockQuestionRepository;
+    private QuestionCatalog mockQuestionCatalog;
+    private SynonymService mockSynonymService;
+    private ApplicationEventPublisher mockPublisher;
+    private AnswerCheckerService answerCheckerService;
+    private QuestionPoolIndex questionPoolIndex;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mockQuestionRepository = Mockito.mock(QuestionRepository.class);
+        mockQuestionCatalog = Mockito.mock(QuestionCatalog.class);
+        mockSynonymService = Mockito.mock(SynonymService.class);
+        mockPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        answerCheckerService = new AnswerCheckerService(mockSynonymService, mockQuestionRepository, 0.75);
+        questionPoolIndex = new QuestionPoolIndex(mockQuestionRepository);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private WarmupService warmup(boolean enabled) {
+        return new WarmupService(mockQuestionCatalog, questionPoolIndex, answerCheckerService, new ObjectMapper(),
+                mockPublisher, meterRegistry, enabled, 100);
+    }
+
+    private void catalog(Question... questions) {
+        Map<Long, Question> current = new HashMap<>();
+        for (Question question : questions) current.put(question.getLogicalId(), question);
+        Mockito.when(mockQuestionCatalog.current()).thenReturn(new QuestionCatalog.Snapshot(1, current, Set.of()));
+    }
+
+    private static Question question(long id) {
+        Question question = new Question();
+        question.setId(id);
+        question.setText("Name a fruit");
+        Answer apple = Answer.builder().id(1L).text("apple").points(40).question(question).build();
+        Answer banana = Answer.builder().id(2L).text("banana split").points(20).question(question).build();
+        question.setAnswers(new ArrayList<>(List.of(apple, banana)));
+        return question;
+    }
+
+    @Test
+    void testRun_preloadsIndexesAndRecordsDuration() {
+        Question question = question(7L);
+        catalog(question);
+        WarmupService warmup = warmup(true);
+
+        warmup.run(null);
+
+        assertNotNull(warmup.lastDuration());
+        assertEquals(1, meterRegistry.get("feud.warmup.duration").timer().count());
+        // The warm-up built the index (looking up the answers' synonyms); live traffic gets it from the cache
+        Mockito.verify(mockSynonymService).getAllSynonyms("apple");
+        Mockito.clearInvocations(mockSynonymService);
+        AnswerIndex index = answerCheckerService.indexFor(question);
+        assertSame(index, answerCheckerService.indexFor(question));
+        Mockito.verifyNoInteractions(mockSynonymService);
+        Mockito.verify(mockPublisher).publishEvent(any(AvailabilityChangeEvent.class));
+    }
+
+    @Test
+    void testRun_warmsTheCurrentVersionsOnly() {
+        Question current = question(8L);
+        current.setLogicalId(7L);
+        Question retired = question(7L);
+        retired.setRetired(true);
+        catalog(current);
+        Mockito.when(mockQuestionRepository.findAll()).thenReturn(List.of(retired, current));
+
+        warmup(true).run(null);
+
+        // The pools were built by the warm-up (not reloaded by the draw), without the retired version
+        assertEquals(1, questionPoolIndex.size(null));
+        assertEquals(8L, questionPoolIndex.draw(null, 0.5));
+        Mockito.verify(mockQuestionRepository).findAll();
+        // Only the current version was indexed
+        Mockito.verify(mockSynonymService, Mockito.times(1)).getAllSynonyms("apple");
+    }
+
+    @Test
+    void testRun_emptyCatalogStillCompletes() {
+        catalog();
+        WarmupService warmup = warmup(true);
+        warmup.run(null);
+        assertNotNull(warmup.lastDuration());
+    }
+
+    @Test
+    void testRun_disabled() {
+        WarmupService warmup = warmup(false);
+        warmup.run(null);
+        assertNull(warmup.lastDuration());
+        Mockito.verifyNoInteractions(mockQuestionCatalog, mockQuestionRepository);
+    }
+}
@@ -0,0 +1,56 @@
+package com.feud.support;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maximum number of statements of each kind one request may send. {@link #check} fails with the
+ * counts and every distinct statement (with how often it ran), so an N+1 shows up as one SELECT
+ * repeated N times.
+ */
+public record QueryBudget(int selects, int inserts, int updates, int deletes) {
+
+    public static QueryBudget of(int selects, int inserts, int updates, int deletes) {
+        return new QueryBudget(selects, inserts, updates, deletes);
+    }
+
+    /**
+     * Throws an AssertionError if the statements exceed the budget.
+     */
+    public void check(String endpoint, List<String> statements) {
+        int[] counts = new int[4];
+        for (String sql : statements) {
+            int kind = kind(sql);
+            if (kind >= 0) counts[kind]++;
+        }
+        if (counts[0] <= selects && counts[1] <= inserts && counts[2] <= updates && counts[3] <= deletes) return;
+        StringBuilder message = new StringBuilder()
+            .append(endpoint).append(" exceeded its query budget: ")
+            .append(column("SELECT", counts[0], selects)).append(", ")
+            .append(column("INSERT", counts[1], inserts)).append(", ")
+            .append(column("UPDATE", counts[2], updates)).append(", ")
+            .append(column("DELETE", counts[3], deletes));
+        Map<String, Integer> distinct = new LinkedHashMap<>();
+        for (String sql : statements) distinct.merge(sql.replaceAll("\\s+", " ").trim(), 1, Integer::sum);
+        distinct.forEach((sql, times) -> message.append("\n  ").append(times).append(" x ").append(sql));
+        throw new AssertionError(message.toString());
+    }
+
+    private static String column(String kind, int count, int budget) {
+        return kind + " " + count + "/" + budget + (count > budget ? " (over)" : "");
+    }
+
+    /**
+     * 0 select, 1 insert, 2 update (merge counts as one), 3 delete, -1 anything else.
+     */
+    private static int kind(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (head.startsWith("select") || head.startsWith("with")) return 0;
+        if (head.startsWith("insert")) return 1;
+        if (head.startsWith("update") || head.startsWith("merge")) return 2;
+        if (head.startsWith("delete")) return 3;
+        return -1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.feud.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector recording the SQL each thread sends while a recording is open.
+ * Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector; only
+ * the recording thread's statements are kept, so background work (broadcasts, timers, warm-up)
+ * does not count against a request.
+ */
+public class QueryRecorder implements StatementInspector {
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.feud.support.QueryRecorder";
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) statements.add(sql);
+        return sql;
+    }
+
+    /**
+     * Runs the action on the calling thread and returns the statements it sent.
+     */
+    public static List<String> record(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,38 @@
+package com.feud.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class GuessNormalizerTest {
+
+    @Test
+    void testNormalize_articlesAndPlurals() {
+        assertEquals("dog", GuessNormalizer.normalize("The Dogs"));
+        assertEquals(GuessNormalizer.normalize("dog"), GuessNormalizer.normalize("the dogs"));
+    }
+
+    @Test
+    void testNormalize_diacriticsAndPunctuation() {
+        assertEquals("cafe", GuessNormalizer.normalize("  Café!! "));
+        assertEquals("creme brulee", GuessNormalizer.normalize("Crème-Brûlée"));
+    }
+
+    @Test
+    void testNormalize_ingForms() {
+        assertEquals(GuessNormalizer.normalize("brush teeth"), GuessNormalizer.normalize("Brushing your teeth"));
+        assertEquals(GuessNormalizer.normalize("run"), GuessNormalizer.normalize("running"));
+        assertEquals(GuessNormalizer.normalize("take"), GuessNormalizer.normalize("taking"));
+        assertEquals("spring", GuessNormalizer.normalize("spring"));
+    }
+
+    @Test
+    void testNormalize_onlyStopwordsKept() {
+        assertEquals("who", GuessNormalizer.normalize("The Who"));
+        assertEquals("the", GuessNormalizer.normalize("The"));
+    }
+
+    @Test
+    void testFold_keepsWordsUnstemmed() {
+        assertEquals("the dogs", GuessNormalizer.fold("The  DOGS"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.feud.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyStoreTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void repeatedKeyReturnsTheStoredResponse() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(10, 10, 60 * SECOND);
+        IdempotencyStore.Claim first = store.claim("G1", "k", "POST /games/G1/guess", 0);
+        assertTrue(first.owner());
+        IdempotencyStore.Claim repeat = store.claim("G1", "k", "POST /games/G1/guess", SECOND);
+        assertFalse(repeat.owner());
+        assertFalse(repeat.entry().response().isDone());
+
+        IdempotencyStore.Response response = new IdempotencyStore.Response(200, "application/json", "true".getBytes());
+        store.complete(first.entry(), response);
+        assertSame(response, repeat.entry().response().get());
+        assertTrue(store.claim("G2", "k", "POST /games/G2/guess", SECOND).owner());
+    }
+
+    @Test
+    void failedRequestReleasesItsKey() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(10, 10, 60 * SECOND);
+        IdempotencyStore.Claim first = store.claim("G1", "k", "POST /games/G1/next-round", 0);
+        IdempotencyStore.Claim waiting = store.claim("G1", "k", "POST /games/G1/next-round", 0);
+        store.abandon("G1", first.entry());
+        assertNull(waiting.entry().response().get());
+        assertTrue(store.claim("G1", "k", "POST /games/G1/next-round", 0).owner());
+    }
+
+    @Test
+    void keysExpireAndAreBoundedPerScope() {
+        IdempotencyStore store = new IdempotencyStore(2, 10, 60 * SECOND);
+        store.claim("G1", "a", "f", 0);
+        store.claim("G1", "b", "f", SECOND);
+        store.claim("G1", "c", "f", 2 * SECOND);
+        assertTrue(store.claim("G1", "a", "f", 3 * SECOND).owner(), "oldest key dropped over the bound");
+        assertFalse(store.claim("G1", "c", "f", 3 * SECOND).owner());
+        assertTrue(store.claim("G1", "c", "f", 63 * SECOND).owner(), "key expired after the TTL");
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsAMismatch() {
+        IdempotencyStore store = new IdempotencyStore(10, 10, 60 * SECOND);
+        store.claim("G1", "k", "POST /games/G1/guess?guess=dog", 0);
+        assertTrue(store.claim("G1", "k", "POST /games/G1/guess?guess=cat", 0).mismatch());
+    }
+}
@@ -0,0 +1,32 @@
+package com.feud.util;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+class ProfileTokensTest {
+    private final ProfileTokens tokens = new ProfileTokens("secret".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void testIssuedTokenProvesItsProfile() {
+        String id = tokens.issue();
+
+        assertEquals(id, tokens.verify(tokens.token(id)));
+        assertNotEquals(id, tokens.issue());
+    }
+
+    @Test
+    void testBareOrForgedTokensProveNothing() {
+        String id = tokens.issue();
+        ProfileTokens other = new ProfileTokens("another".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(tokens.verify(id));
+        assertNull(tokens.verify(null));
+        assertNull(tokens.verify(id + "."));
+        assertNull(tokens.verify(other.token(id)));
+        assertNull(tokens.verify("someone-else" + tokens.token(id).substring(id.length())));
+    }
+}
@@ -0,0 +1,99 @@
+package com.feud.util;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testBurstThenSteadyRate() {
+        RateLimiter limiter = new RateLimiter(100);
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("k", 2, 5, now));
+        }
+        long wait = limiter.tryAcquire("k", 2, 5, now);
+        assertEquals(SECOND / 2, wait);
+        assertTrue(limiter.tryAcquire("k", 2, 5, now + SECOND / 2 - 1) > 0);
+        assertEquals(0, limiter.tryAcquire("k", 2, 5, now + SECOND / 2));
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        RateLimiter limiter = new RateLimiter(100);
+        assertEquals(0, limiter.tryAcquire("a", 1, 1, 0));
+        assertTrue(limiter.tryAcquire("a", 1, 1, 0) > 0);
+        assertEquals(0, limiter.tryAcquire("b", 1, 1, 0));
+    }
+
+    @Test
+    void testRejectedRequestIsNotChargedToTheOtherBuckets() {
+        RateLimiter limiter = new RateLimiter(100);
+        List<RateLimiter.Bucket> buckets = List.of(new RateLimiter.Bucket("player", 1, 1), new RateLimiter.Bucket("game", 1, 1));
+        assertEquals(0, limiter.tryAcquire("game", 1, 1, 0));
+
+        RateLimiter.Rejection rejection = limiter.tryAcquireAll(buckets, 0);
+        assertEquals(1, rejection.bucket());
+        assertEquals(SECOND, rejection.waitNanos());
+        // The player still has its token
+        assertEquals(0, limiter.tryAcquire("player", 1, 1, 0));
+        assertNull(limiter.tryAcquireAll(buckets, SECOND));
+    }
+
+    @Test
+    void testIdleKeysArePrunedWhenFull() {
+        RateLimiter limiter = new RateLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("k" + i, 100, 1, 0);
+        }
+        limiter.tryAcquire("new", 100, 1, 10 * SECOND);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testNewKeysWaitWhileEveryTrackedKeyIsLive() {
+        RateLimiter limiter = new RateLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("k" + i, 1, 1, 0);
+        }
+        // Nothing to prune: the table does not grow past its bound
+        assertEquals(SECOND, limiter.tryAcquire("new", 1, 1, 0));
+        assertEquals(10, limiter.size());
+        assertEquals(0, limiter.tryAcquire("new", 1, 1, SECOND));
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedBurst() throws Exception {
+        RateLimiter limiter = new RateLimiter(100);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        long now = System.nanoTime();
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("game", 0.001, 50, now) == 0) admitted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(50, admitted.get());
+    }
+}
@@ -0,0 +1,63 @@
+package com.feud.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+    // Tiny wheel so the timeouts below wrap around it several times
+    private final TimingWheel wheel = new TimingWheel("test-wheel", 5, TimeUnit.MILLISECONDS, 4, Runnable::run);
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        wheel.stop();
+    }
+
+    @Test
+    void firesInDeadlineOrderAcrossWheelTurns() throws Exception {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long started = System.nanoTime();
+        wheel.schedule(() -> { fired.add("c"); done.countDown(); }, 120, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> { fired.add("a"); done.countDown(); }, 10, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> { fired.add("b"); done.countDown(); }, 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "b", "c"), fired);
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(120));
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws Exception {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch later = new CountDownLatch(1);
+        TimingWheel.Timeout cancelledBeforeTransfer = wheel.schedule(() -> fired.add("x"), 30, TimeUnit.MILLISECONDS);
+        TimingWheel.Timeout cancelledInBucket = wheel.schedule(() -> fired.add("y"), 80, TimeUnit.MILLISECONDS);
+        assertTrue(cancelledBeforeTransfer.cancel());
+        Thread.sleep(20);
+        assertTrue(cancelledInBucket.cancel());
+        assertFalse(cancelledInBucket.cancel());
+        wheel.schedule(later::countDown, 120, TimeUnit.MILLISECONDS);
+
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertTrue(fired.isEmpty());
+        assertTrue(cancelledInBucket.isCancelled());
+    }
+
+    @Test
+    void expiredTimeoutCannotBeCancelled() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = wheel.schedule(done::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+}
@@ -0,0 +1,81 @@
+package com.feud.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.feud.dto.PlayersJoinedEvent;
+
+class GameEventLogTest {
+    private static void append(GameEventLog log, String type, String payload) {
+        log.append("CODE", type, payload.getBytes(StandardCharsets.UTF_8), event -> { });
+    }
+
+    private static List<Long> versions(GameEventLog.Resume resume) {
+        return resume.events().stream().map(GameEventLog.Event::version).toList();
+    }
+
+    @Test
+    void testSince_returnsOnlyMissedEvents() {
+        GameEventLog log = new GameEventLog(8, () -> 0);
+        append(log, GameEventLog.GAME_STATE, "{\"s\":1}");
+        append(log, PlayersJoinedEvent.TYPE, "{\"j\":2}");
+        append(log, PlayersJoinedEvent.TYPE, "{\"j\":3}");
+
+        assertEquals(List.of(2L, 3L), versions(log.since("CODE", 1)));
+        assertTrue(log.since("CODE", 3).events().isEmpty());
+        assertEquals(3, log.since("CODE", 3).version());
+    }
+
+    @Test
+    void testSince_startsAtNewestMissedGameState() {
+        GameEventLog log = new GameEventLog(8, () -> 0);
+        append(log, GameEventLog.GAME_STATE, "{\"s\":1}");
+        append(log, PlayersJoinedEvent.TYPE, "{\"j\":2}");
+        append(log, GameEventLog.GAME_STATE, "{\"s\":3}");
+        append(log, PlayersJoinedEvent.TYPE, "{\"j\":4}");
+
+        assertEquals(List.of(3L, 4L), versions(log.since("CODE", 0)));
+        assertEquals("{\"s\":3}", log.since("CODE", 1).events().get(0).payloadJson());
+    }
+
+    @Test
+    void testSince_clientThatFellOffTheBufferGetsNull() {
+        GameEventLog log = new GameEventLog(4, () -> 0);
+        for (int i = 1; i <= 10; i++) {
+            append(log, PlayersJoinedEvent.TYPE, "{\"j\":" + i + "}");
+        }
+        assertEquals(List.of(7L, 8L, 9L, 10L), versions(log.since("CODE", 6)));
+        assertNull(log.since("CODE", 5));
+        assertNull(log.since("OTHER1", 0));
+        assertEquals(10, log.latestVersion("CODE"));
+    }
+
+    @Test
+    void testSince_versionFromAnotherEpochGetsNull() {
+        GameEventLog before = new GameEventLog(8, () -> 1000);
+        for (int i = 1; i <= 40; i++) append(before, GameEventLog.GAME_STATE, "{}");
+        long seen = before.latestVersion("CODE");
+
+        // Restarted instance: a new epoch, and a few frames already sent
+        GameEventLog after = new GameEventLog(8, () -> 5000);
+        for (int i = 1; i <= 3; i++) append(after, GameEventLog.GAME_STATE, "{}");
+        assertNull(after.since("CODE", seen));
+        assertNull(after.since("CODE", after.latestVersion("CODE") + 1));
+        assertNull(after.since("CODE", 0));
+        assertEquals(List.of(5003L), versions(after.since("CODE", 5002)));
+    }
+
+    @Test
+    void testClose_dropsTheBuffer() {
+        GameEventLog log = new GameEventLog(8, () -> 0);
+        append(log, GameEventLog.GAME_STATE, "{}");
+        log.close("CODE");
+        assertNull(log.since("CODE", 1));
+        assertEquals(0, log.latestVersion("CODE"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.feud.websocket;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.dto.PlayersJoinedEvent;
+import com.feud.model.Game;
+import com.feud.model.Player;
+
+class GameWebSocketBroadcasterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpMessagingTemplate template = Mockito.mock(SimpMessagingTemplate.class);
+    private final GameEventLog eventLog = new GameEventLog(16, () -> 0);
+
+    private GameWebSocketBroadcaster broadcaster(long lobbyBatchMillis) {
+        return new GameWebSocketBroadcaster(template, objectMapper, lobbyBatchMillis, Mockito.mock(SpectatorFeed.class), eventLog, 4, 1024);
+    }
+
+    private JsonNode payload(Message<?> message) throws Exception {
+        return objectMapper.readTree((byte[]) message.getPayload());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBroadcastPlayerJoined_batchesJoinsIntoOneEvent() throws Exception {
+        GameWebSocketBroadcaster broadcaster = broadcaster(50);
+        for (int i = 0; i < 40; i++) {
+            broadcaster.broadcastPlayerJoined("CODE", Player.builder().name("P" + i).build());
+        }
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(template, Mockito.timeout(2000).times(1)).send(Mockito.eq("/topic/game/CODE"), sent.capture());
+        JsonNode event = payload(sent.getValue());
+        assertEquals(PlayersJoinedEvent.TYPE, event.get("type").asText());
+        assertEquals(40, event.get("players").size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCloseLobby_flushesPendingJoinsImmediately() throws Exception {
+        GameWebSocketBroadcaster broadcaster = broadcaster(60_000);
+        broadcaster.broadcastPlayerJoined("CODE", Player.builder().name("Alice").build());
+        broadcaster.closeLobby("CODE");
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(template, Mockito.timeout(2000)).send(Mockito.eq("/topic/game/CODE"), sent.capture());
+        List<String> names = new java.util.ArrayList<>();
+        payload(sent.getValue()).get("players").forEach(p -> names.add(p.get("name").asText()));
+        assertEquals(List.of("Alice"), names);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBroadcastGameState_sendsVersionedFramesAndRecordsThem() throws Exception {
+        GameWebSocketBroadcaster broadcaster = broadcaster(50);
+        Game game = new Game();
+        game.setCode("CODE");
+        broadcaster.broadcastGameState(game);
+        // The frame is copied on the caller's thread: the same entity can change right away
+        game.setRedScore(10);
+        broadcaster.broadcastGameState(game);
+        game.setRedScore(99);
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(template, Mockito.timeout(2000).times(2)).send(Mockito.eq("/topic/game/CODE"), sent.capture());
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(sent.getAllValues().get(1));
+        assertEquals("2", headers.getFirstNativeHeader(GameEventLog.VERSION_HEADER));
+        assertEquals(10, payload(sent.getAllValues().get(1)).get("redScore").asInt());
+
+        GameEventLog.Resume resume = eventLog.since("CODE", 1);
+        assertEquals(2, resume.version());
+        assertEquals(1, resume.events().size());
+        assertEquals(10, objectMapper.readTree(resume.events().get(0).payload()).get("redScore").asInt());
+    }
+
+    @Test
+    void testBroadcastGameState_endedGameDropsItsResumeBuffer() throws Exception {
+        GameWebSocketBroadcaster broadcaster = broadcaster(50);
+        Game game = new Game();
+        game.setCode("CODE");
+        broadcaster.broadcastGameState(game);
+        Game ended = new Game();
+        ended.setCode("CODE");
+        ended.setStatus(com.feud.model.GameStatus.ENDED);
+        broadcaster.broadcastGameState(ended);
+
+        Mockito.verify(template, Mockito.timeout(2000).times(2)).send(Mockito.eq("/topic/game/CODE"), Mockito.any(Message.class));
+        for (int i = 0; i < 100 && eventLog.latestVersion("CODE") != 0; i++) Thread.sleep(20);
+        assertEquals(0, eventLog.latestVersion("CODE"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBroadcastGameState_keepsPerGameOrderAcrossDispatchers() throws Exception {
+        GameWebSocketBroadcaster broadcaster = broadcaster(50);
+        List<String> codes = List.of("AAAAAA", "BBBBBB", "CCCCCC", "DDDDDD", "EEEEEE");
+        for (int score = 1; score <= 50; score++) {
+            for (String code : codes) {
+                Game game = new Game();
+                game.setCode(code);
+                game.setRedScore(score);
+                broadcaster.broadcastGameState(game);
+            }
+        }
+        for (String code : codes) {
+            ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+            Mockito.verify(template, Mockito.timeout(5000).times(50)).send(Mockito.eq("/topic/game/" + code), sent.capture());
+            for (int i = 0; i < 50; i++) {
+                Message<?> message = sent.getAllValues().get(i);
+                assertEquals(Integer.toString(i + 1), SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(GameEventLog.VERSION_HEADER));
+                assertEquals(i + 1, payload(message).get("redScore").asInt());
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBroadcastGameState_holdsTheNewestFrameWhenDispatcherIsBackedUp() throws Exception {
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.CountDownLatch sending = new java.util.concurrent.CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(template).send(Mockito.anyString(), Mockito.any(Message.class));
+        GameWebSocketBroadcaster broadcaster = new GameWebSocketBroadcaster(template, objectMapper, 50,
+                Mockito.mock(SpectatorFeed.class), eventLog, 1, 1);
+        Game game = new Game();
+        game.setCode("CODE");
+        broadcaster.broadcastGameState(game);
+        assertTrue(sending.await(2, java.util.concurrent.TimeUnit.SECONDS));
+        game.setRedScore(1);
+        broadcaster.broadcastGameState(game);
+        assertEquals(1, broadcaster.backlog());
+
+        // The queue is full: the call returns at once, and the newest state replaces the held one
+        game.setRedScore(2);
+        broadcaster.broadcastGameState(game);
+        game.setRedScore(3);
+        game.setStatus(com.feud.model.GameStatus.ENDED);
+        broadcaster.broadcastGameState(game);
+        assertEquals(2, broadcaster.backlog());
+        release.countDown();
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(template, Mockito.timeout(2000).times(3)).send(Mockito.anyString(), sent.capture());
+        Thread.sleep(100);
+        Mockito.verify(template, Mockito.times(3)).send(Mockito.anyString(), Mockito.any(Message.class));
+        JsonNode last = payload(sent.getAllValues().get(2));
+        assertEquals(3, last.get("redScore").asInt());
+        assertEquals("ENDED", last.get("status").asText());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBroadcastPlayerJoined_isNeverDroppedWhenDispatcherIsBackedUp() throws Exception {
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.CountDownLatch sending = new java.util.concurrent.CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(template).send(Mockito.anyString(), Mockito.any(Message.class));
+        GameWebSocketBroadcaster broadcaster = new GameWebSocketBroadcaster(template, objectMapper, 60_000,
+                Mockito.mock(SpectatorFeed.class), eventLog, 1, 1);
+        Game game = new Game();
+        game.setCode("CODE");
+        broadcaster.broadcastGameState(game);
+        assertTrue(sending.await(2, java.util.concurrent.TimeUnit.SECONDS));
+        broadcaster.broadcastGameState(game);
+        broadcaster.broadcastPlayerJoined("CODE", Player.builder().name("Alice").build());
+        broadcaster.closeLobby("CODE");
+        broadcaster.broadcastPlayerJoined("CODE", Player.builder().name("Bob").build());
+        broadcaster.closeLobby("CODE");
+        release.countDown();
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(template, Mockito.timeout(2000).times(4)).send(Mockito.anyString(), sent.capture());
+        assertEquals("Alice", payload(sent.getAllValues().get(2)).get("players").get(0).get("name").asText());
+        assertEquals("Bob", payload(sent.getAllValues().get(3)).get("players").get(0).get("name").asText());
+    }
+}
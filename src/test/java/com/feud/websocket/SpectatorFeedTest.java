@@ -0,0 +1,132 @@
+package com.feud.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feud.dto.GameStateView;
+import com.feud.model.Answer;
+import com.feud.model.Game;
+import com.feud.model.GameStatus;
+import com.feud.model.Player;
+import com.feud.model.Question;
+import com.feud.model.Team;
+
+class SpectatorFeedTest {
+    private final SimpMessagingTemplate template = Mockito.mock(SimpMessagingTemplate.class);
+
+    private static GameStateView game(GameStatus status, int redScore) {
+        Question question = new Question();
+        question.setText("Name a fruit");
+        question.setAnswers(new ArrayList<>(List.of(
+                Answer.builder().id(1L).text("apple").points(40).build(),
+                Answer.builder().id(2L).text("banana").points(30).build())));
+        Game game = new Game();
+        game.setCode("ABC123");
+        game.setStatus(status);
+        game.setCurrentQuestion(question);
+        game.setRevealedAnswerIds(new java.util.HashSet<>(Set.of(2L)));
+        game.setRedScore(redScore);
+        game.setRedFaceoffAnswer("secret");
+        game.setPlayers(List.of(Player.builder().id(11L).name("Alice").team(Team.RED).build()));
+        return GameStateView.of(game);
+    }
+
+    private static void watch(SpectatorFeed feed, String session) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        headers.setSessionId(session);
+        headers.setSubscriptionId("sub-0");
+        headers.setDestination(SpectatorFeed.destination("ABC123"));
+        feed.onSubscribe(new SessionSubscribeEvent(feed, MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPublish_coalescesUpdatesWithinInterval() throws Exception {
+        SpectatorFeed feed = new SpectatorFeed(template, new ObjectMapper(), 500);
+        watch(feed, "s1");
+        // The first update goes out at once; the ones after it wait for the end of the interval
+        feed.publish(game(GameStatus.IN_PROGRESS, 1));
+        Mockito.verify(template, Mockito.timeout(2000).times(1)).send(Mockito.anyString(), Mockito.any(Message.class));
+        for (int score = 2; score <= 20; score++) {
+            feed.publish(game(GameStatus.IN_PROGRESS, score));
+        }
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(template, Mockito.timeout(2000).times(2)).send(Mockito.eq("/topic/game/ABC123/spectate"), sent.capture());
+        Thread.sleep(600);
+        Mockito.verify(template, Mockito.times(2)).send(Mockito.anyString(), Mockito.any(Message.class));
+
+        SpectatorFeed.Frame frame = feed.latestFrame("ABC123");
+        assertEquals(20, frame.version());
+        assertSame(frame.payload(), sent.getValue().getPayload());
+        String json = new String(frame.payload());
+        assertTrue(json.contains("\"redScore\":20"));
+        assertTrue(json.contains("\"banana\""));
+        assertFalse(json.contains("apple"));
+        assertFalse(json.contains("secret"));
+        assertFalse(json.contains("\"id\""));
+    }
+
+    @Test
+    void testPublish_endedStateIsSentImmediatelyAndDropsTheFeed() throws Exception {
+        SpectatorFeed feed = new SpectatorFeed(template, new ObjectMapper(), 60_000);
+        watch(feed, "s1");
+        feed.publish(game(GameStatus.IN_PROGRESS, 1));
+        Mockito.verify(template, Mockito.timeout(2000).times(1)).send(Mockito.anyString(), Mockito.any(Message.class));
+        assertNotNull(feed.latestFrame("ABC123"));
+        feed.publish(game(GameStatus.ENDED, 2));
+        Mockito.verify(template, Mockito.timeout(2000).times(2)).send(Mockito.anyString(), Mockito.any(Message.class));
+
+        for (int i = 0; i < 100 && feed.latestFrame("ABC123") != null; i++) Thread.sleep(20);
+        assertNull(feed.latestFrame("ABC123"));
+    }
+
+    @Test
+    void testPublish_unwatchedGameSendsNothingButStillServesItsLatestFrame() throws Exception {
+        SpectatorFeed feed = new SpectatorFeed(template, new ObjectMapper(), 0);
+        for (int score = 1; score <= 5; score++) feed.publish(game(GameStatus.IN_PROGRESS, score));
+        Thread.sleep(100);
+        Mockito.verifyNoInteractions(template);
+
+        SpectatorFeed.Frame frame = feed.latestFrame("ABC123");
+        assertEquals(5, frame.version());
+        assertTrue(new String(frame.payload()).contains("\"redScore\":5"));
+        Mockito.verifyNoInteractions(template);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSubscribe_sendsTheStatePublishedWhileUnwatchedUntilTheSpectatorLeaves() throws Exception {
+        SpectatorFeed feed = new SpectatorFeed(template, new ObjectMapper(), 0);
+        feed.publish(game(GameStatus.IN_PROGRESS, 3));
+        watch(feed, "s1");
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(template, Mockito.timeout(2000).times(1)).send(Mockito.eq("/topic/game/ABC123/spectate"), sent.capture());
+        assertTrue(new String(sent.getValue().getPayload()).contains("\"redScore\":3"));
+
+        feed.onDisconnect(new SessionDisconnectEvent(feed, MessageBuilder.createMessage(new byte[0],
+                StompHeaderAccessor.create(StompCommand.DISCONNECT).getMessageHeaders()), "s1", CloseStatus.NORMAL));
+        feed.publish(game(GameStatus.IN_PROGRESS, 4));
+        Thread.sleep(100);
+        Mockito.verify(template, Mockito.times(1)).send(Mockito.anyString(), Mockito.any(Message.class));
+    }
+}